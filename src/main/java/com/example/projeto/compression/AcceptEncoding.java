@@ -0,0 +1,36 @@
+package com.example.projeto.compression;
+
+//leitura mínima do Accept-Encoding: a codificação (ou "*") precisa estar na lista sem q=0
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    public static boolean aceita(String acceptEncoding, String codificacao) {
+        return aceita(acceptEncoding, codificacao, true);
+    }
+
+    //com curinga=false só vale a codificação nomeada; usado para codecs que nem todo cliente com "*" entende
+    public static boolean aceita(String acceptEncoding, String codificacao, boolean curinga) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.trim().split(";");
+            String nome = partes[0].trim();
+            if (!nome.equalsIgnoreCase(codificacao) && !(curinga && nome.equals("*"))) {
+                continue;
+            }
+            boolean recusado = false;
+            for (int i = 1; i < partes.length; i++) {
+                if (partes[i].trim().replace(" ", "").matches("q=0(\\.0*)?")) {
+                    recusado = true;
+                }
+            }
+            if (!recusado) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.projeto.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import com.github.luben.zstd.util.Native;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+public enum Codec {
+
+    GZIP("gzip") {
+        @Override
+        public OutputStream envolver(OutputStream destino, int nivel) throws IOException {
+            return new GZIPOutputStream(destino, 8192) {
+                {
+                    def.setLevel(nivel);
+                }
+            };
+        }
+    },
+
+    ZSTD("zstd") {
+        @Override
+        public OutputStream envolver(OutputStream destino, int nivel) throws IOException {
+            return new ZstdOutputStream(destino, nivel);
+        }
+    };
+
+    private static final boolean ZSTD_DISPONIVEL = carregarZstd();
+
+    private final String codificacao;
+
+    Codec(String codificacao) {
+        this.codificacao = codificacao;
+    }
+
+    //valor do Content-Encoding
+    public String getCodificacao() {
+        return codificacao;
+    }
+
+    //o stream devolvido precisa ser fechado para terminar o quadro comprimido
+    public abstract OutputStream envolver(OutputStream destino, int nivel) throws IOException;
+
+    public static boolean zstdDisponivel() {
+        return ZSTD_DISPONIVEL;
+    }
+
+    //zstd-jni traz bibliotecas nativas para as plataformas comuns; em outra plataforma fica só o gzip
+    private static boolean carregarZstd() {
+        try {
+            Native.load();
+            return true;
+        } catch (Throwable e) {
+            log.warn("zstd indisponível, respostas serão comprimidas só com gzip: {}", e.toString());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.projeto.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.List;
+
+//segura o corpo até min-response-size; ao passar do limite (ou no fim da resposta, se não passar) decide
+//uma única vez entre comprimir e repassar como está. O Content-Length declarado pela aplicação é retido
+//até a decisão: com compressão ele deixa de valer e a resposta vai em chunked.
+//Quando a resposta não vai ser comprimida de qualquer jeito (@SemCompressao, tipo fora da lista ou
+//requisição assíncrona, como SSE) a decisão sai já na primeira escrita ou flush e os bytes passam direto.
+//Como no Tomcat e no mod_deflate, o ETag forte da aplicação vira fraco na resposta comprimida: são outros bytes,
+//e um validador forte não pode valer para as duas. O If-None-Match compara fraco, então o 304 continua saindo.
+final class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private final CompressionProperties properties;
+    private final Codec codec;
+
+    private SaidaComprimida saida;
+    private PrintWriter writer;
+    private boolean streamEntregue;
+    private long tamanhoDeclarado = -1;
+    private boolean decidido;
+    private boolean comprimido;
+
+    CompressingResponseWrapper(HttpServletRequest request, HttpServletResponse response,
+                               CompressionProperties properties, Codec codec) {
+        super(response);
+        this.request = request;
+        this.properties = properties;
+        this.codec = codec;
+    }
+
+    boolean isComprimido() {
+        return comprimido;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() já foi chamado nesta resposta");
+        }
+        streamEntregue = true;
+        return saida();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (streamEntregue) {
+                throw new IllegalStateException("getOutputStream() já foi chamado nesta resposta");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(saida(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (decidido && !comprimido) {
+            super.setContentLengthLong(len);
+        } else if (!decidido) {
+            tamanhoDeclarado = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value == null ? -1 : Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    //enquanto o corpo está abaixo do limite o flush não vai para o cliente: decidir cedo faria
+    //toda resposta pequena que dá flush sair sem compressão e toda grande perder o Content-Length.
+    //Se a resposta já é sabidamente sem compressão, o flush decide e vai direto (e envia os headers).
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (!decidido && repassarDireto()) {
+            saida().descarregar(false);
+        }
+        if (decidido) {
+            saida().flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (saida != null && !decidido) {
+            saida.buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (saida != null && !decidido) {
+            saida.buffer.reset();
+        }
+        tamanhoDeclarado = -1;
+    }
+
+    //termina o quadro comprimido; chamado pelo filtro depois da cadeia (ou ao fim do processamento assíncrono)
+    void finalizar() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (saida != null) {
+            saida.finalizar();
+        } else if (!decidido) {
+            //sem corpo: só os headers, sem abrir o stream do container
+            decidido = true;
+            if (compressivel((HttpServletResponse) getResponse())) {
+                super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            if (tamanhoDeclarado >= 0) {
+                super.setContentLengthLong(tamanhoDeclarado);
+            }
+            //o 304 repete o validador na forma que o cliente guardou (fraco se veio de uma resposta comprimida)
+            if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED && etagFracoNoPedido()) {
+                enfraquecerEtag((HttpServletResponse) getResponse());
+            }
+        }
+    }
+
+    private SaidaComprimida saida() {
+        if (saida == null) {
+            saida = new SaidaComprimida();
+        }
+        return saida;
+    }
+
+    private OutputStream decidir(boolean acimaDoLimite) throws IOException {
+        decidido = true;
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        boolean compressivel = compressivel(response);
+        if (compressivel) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        comprimido = compressivel && acimaDoLimite && codec != null;
+        if (comprimido) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, codec.getCodificacao());
+            enfraquecerEtag(response);
+            int nivel = codec == Codec.ZSTD ? properties.getZstdLevel() : properties.getGzipLevel();
+            return codec.envolver(response.getOutputStream(), nivel);
+        }
+        if (tamanhoDeclarado >= 0) {
+            response.setContentLengthLong(tamanhoDeclarado);
+        }
+        return response.getOutputStream();
+    }
+
+    private static void enfraquecerEtag(HttpServletResponse response) {
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+    }
+
+    private boolean etagFracoNoPedido() {
+        String etag = getHeader(HttpHeaders.ETAG);
+        if (etag == null || etag.startsWith("W/")) {
+            return false;
+        }
+        for (String valor : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            if (valor.contains("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //nada a ganhar segurando o corpo: a decisão já seria não comprimir, ou a resposta é um stream
+    //(assíncrona/SSE) que precisa chegar ao cliente a cada flush
+    private boolean repassarDireto() {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        return request.getAttribute(CompressionConfig.SEM_COMPRESSAO) != null
+                || request.isAsyncStarted()
+                || (response.getContentType() != null && !compressivel(response));
+    }
+
+    private boolean compressivel(HttpServletResponse response) {
+        int status = response.getStatus();
+        if (status < 200 || status == HttpServletResponse.SC_NO_CONTENT
+                || status == HttpServletResponse.SC_NOT_MODIFIED || "HEAD".equals(request.getMethod())) {
+            return false;
+        }
+        if (request.getAttribute(CompressionConfig.SEM_COMPRESSAO) != null
+                || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        return tipoCompressivel(response.getContentType(), properties.getMimeTypes());
+    }
+
+    static boolean tipoCompressivel(String contentType, List<String> mimeTypes) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType tipo = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().map(MediaType::parseMediaType).anyMatch(m -> m.includes(tipo));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private final class SaidaComprimida extends ServletOutputStream {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream destino;
+        private boolean finalizada;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (finalizada) {
+                throw new IOException("Resposta já finalizada");
+            }
+            if (destino != null) {
+                destino.write(b, off, len);
+                return;
+            }
+            if (repassarDireto()) {
+                descarregar(false);
+                destino.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (buffer.size() >= properties.getMinResponseSize()) {
+                descarregar(true);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (destino == null && repassarDireto()) {
+                descarregar(false);
+            }
+            if (destino != null) {
+                destino.flush();
+            }
+        }
+
+        //close() da aplicação vale como fim do corpo, como no stream do container
+        @Override
+        public void close() throws IOException {
+            finalizar();
+        }
+
+        void finalizar() throws IOException {
+            if (finalizada) {
+                return;
+            }
+            if (destino == null) {
+                descarregar(false);
+            }
+            finalizada = true;
+            if (comprimido) {
+                //fecha o compressor para escrever o rodapé; fecha junto o stream do container, o que só acontece no fim
+                destino.close();
+            } else {
+                destino.flush();
+            }
+        }
+
+        private void descarregar(boolean acimaDoLimite) throws IOException {
+            destino = decidir(acimaDoLimite);
+            buffer.writeTo(destino);
+            buffer.reset();
+        }
+
+        @Override
+        public boolean isReady() {
+            return destino == null || comprimido || container().isReady();
+        }
+
+        //escrita não bloqueante só existe em requisição assíncrona, que não é comprimida: decide pelo repasse
+        //e entrega o listener ao stream do container
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (destino == null) {
+                try {
+                    descarregar(false);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Não foi possível iniciar a resposta", e);
+                }
+            }
+            container().setWriteListener(writeListener);
+        }
+
+        private ServletOutputStream container() {
+            try {
+                return getResponse().getOutputStream();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.projeto.compression;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+//marca a requisição quando o handler tem @SemCompressao; o CompressionFilter lê a marca ao decidir
+@Configuration
+public class CompressionConfig implements WebMvcConfigurer {
+
+    static final String SEM_COMPRESSAO = CompressionConfig.class.getName() + ".SEM_COMPRESSAO";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SemCompressaoInterceptor());
+    }
+
+    static class SemCompressaoInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                 @NonNull Object handler) {
+            if (handler instanceof HandlerMethod metodo
+                    && (metodo.hasMethodAnnotation(SemCompressao.class)
+                    || AnnotatedElementUtils.hasAnnotation(metodo.getBeanType(), SemCompressao.class))) {
+                request.setAttribute(SEM_COMPRESSAO, Boolean.TRUE);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.projeto.compression;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//comprime as respostas (zstd ou gzip, conforme o Accept-Encoding) acima de app.compression.min-response-size.
+//no lugar do server.compression do Tomcat porque aquele não tem nível configurável, não fala zstd e não
+//permite desligar por endpoint. Fica logo depois do QueryStatsFilter para que o tempo de compressão
+//apareça no tempo da requisição.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final CompressionProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public CompressionFilter(CompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getExcludedPaths().stream().anyMatch(padrao -> pathMatcher.match(padrao, caminho));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        CompressingResponseWrapper resposta = new CompressingResponseWrapper(
+                request, response, properties, escolherCodec(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+        boolean assincrono = false;
+        try {
+            filterChain.doFilter(request, resposta);
+            assincrono = request.isAsyncStarted();
+        } finally {
+            if (assincrono) {
+                //a resposta continua sendo escrita depois deste retorno; só termina o stream quando o async acabar
+                request.getAsyncContext().addListener(new FinalizarAoConcluir(resposta));
+            } else {
+                resposta.finalizar();
+            }
+        }
+    }
+
+    //zstd quando habilitado, carregado e pedido pelo nome; senão gzip; null quando o cliente não aceita nenhum dos dois
+    Codec escolherCodec(String acceptEncoding) {
+        if (properties.isZstd() && Codec.zstdDisponivel()
+                && AcceptEncoding.aceita(acceptEncoding, Codec.ZSTD.getCodificacao(), false)) {
+            return Codec.ZSTD;
+        }
+        if (AcceptEncoding.aceita(acceptEncoding, Codec.GZIP.getCodificacao())) {
+            return Codec.GZIP;
+        }
+        return null;
+    }
+
+    private record FinalizarAoConcluir(CompressingResponseWrapper resposta) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            resposta.finalizar();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.projeto.compression;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//compressão das respostas (prefixo app.compression)
+@Data
+@ConfigurationProperties(prefix = "app.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    //respostas menores que isto saem sem compressão (o corpo é segurado até chegar a este tamanho)
+    private int minResponseSize = 2048;
+
+    //1 (mais rápido) a 9 (menor); acima de 3 o tempo cresce muito mais que o ganho (ver CompressaoBenchmark)
+    private int gzipLevel = 3;
+
+    //usa zstd quando o cliente aceita e a biblioteca nativa carrega; senão, gzip
+    private boolean zstd = true;
+
+    //1 a 19; nos níveis baixos comprime ~3x mais rápido que gzip 3 com o mesmo tamanho
+    private int zstdLevel = 1;
+
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "application/cbor",
+            "application/x-jackson-smile", "text/plain", "text/csv"));
+
+    //padrões de caminho (estilo Ant) que nunca são comprimidos; para um endpoint específico use @SemCompressao
+    private List<String> excludedPaths = new ArrayList<>();
+}
@@ -0,0 +1,12 @@
+package com.example.projeto.compression;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//desliga a compressão das respostas do método (ou de todos os métodos do controller)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SemCompressao {
+}
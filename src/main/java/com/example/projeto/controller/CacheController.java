@@ -0,0 +1,28 @@
+package com.example.projeto.controller;
+
+import com.example.projeto.dto.CacheRegionStatsDTO;
+import com.example.projeto.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @Operation(summary = "Estatísticas das regiões do cache de segundo nível")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStatsDTO>> listar() {
+        return ResponseEntity.ok(cacheStatsService.findAllRegioes());
+    }
+}
@@ -1,17 +1,29 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.dto.CategoriaResumoDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.ProdutoResumoDTO;
 import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Categoria;
+import com.example.projeto.serialization.FormatosBinarios;
+import com.example.projeto.service.CatalogoSnapshot;
+import com.example.projeto.service.CatalogoVersao;
 import com.example.projeto.service.CategoriaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/categorias")
@@ -19,17 +31,85 @@ import java.util.List;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final CatalogoVersao catalogoVersao;
+    private final CatalogoSnapshot catalogoSnapshot;
 
-    @Operation(summary = "Lista todas as categorias")
+    @Operation(summary = "Lista todas as categorias (aceita If-None-Match com o ETag do catálogo)")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Categoria.class))),
+            @Content(mediaType = "application/cbor", array = @ArraySchema(schema = @Schema(implementation = Categoria.class))),
+            @Content(mediaType = FormatosBinarios.SMILE_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = Categoria.class)))})
     @GetMapping
-    public ResponseEntity<List<Categoria>> listar() {
-        return ResponseEntity.ok(categoriaService.findAll());
+    public ResponseEntity<byte[]> listar(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CatalogoVersao.Versao versao = catalogoVersao.atual();
+        if (CatalogoSnapshot.variante(versao, accept, acceptEncoding).naoModificado(request)) {
+            return null;
+        }
+        return catalogoSnapshot.categorias().responder(versao, accept, acceptEncoding);
+    }
+
+    @Operation(summary = "Lista todas as categorias só com os campos pedidos (ex.: fields=id,nome)")
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> listarCampos(
+            @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        CatalogoVersao.Versao versao = catalogoVersao.atual().formato(accept);
+        if (versao.naoModificado(request)) {
+            return null;
+        }
+        return versao.ok().body(categoriaService.findAllParcial(fields));
+    }
+
+    @Operation(summary = "Lista as categorias com a quantidade de produtos de cada uma")
+    @GetMapping("/resumo")
+    public ResponseEntity<List<CategoriaResumoDTO>> listarResumos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        CatalogoVersao.Versao versao = catalogoVersao.atual().formato(accept);
+        if (versao.naoModificado(request)) {
+            return null;
+        }
+        return versao.ok().body(categoriaService.findResumos());
     }
 
     @Operation(summary = "Busca categoria por ID")
     @GetMapping("/{id}")
-    public ResponseEntity<Categoria> buscarPorId(@PathVariable Integer id) {
-        return ResponseEntity.ok(categoriaService.findById(id));
+    public ResponseEntity<Categoria> buscarPorId(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Categoria categoria = categoriaService.findById(id);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (categoria.getVersao() != null) {
+            //o Spring responde 304 sozinho quando o If-None-Match bate com este ETag
+            resposta.eTag(FormatosBinarios.etag("categoria-" + id + "-" + categoria.getVersao(), accept));
+        }
+        return resposta.body(categoria);
+    }
+
+    @Operation(summary = "Busca categoria por ID só com os campos pedidos (ex.: fields=id,nome)")
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposPorId(@PathVariable Integer id, @RequestParam String fields) {
+        return ResponseEntity.ok(categoriaService.findByIdParcial(id, fields));
+    }
+
+    @Operation(summary = "Lista os produtos de uma categoria, paginados por cursor")
+    @GetMapping("/{id}/produtos")
+    public ResponseEntity<PaginaDTO<ProdutoResumoDTO>> listarProdutos(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        CatalogoVersao.Versao versao = catalogoVersao.atual().formato(accept);
+        if (versao.naoModificado(request)) {
+            return null;
+        }
+        return versao.ok().body(categoriaService.findProdutos(id, cursor, tamanho));
     }
 
     @Operation(summary = "Cria uma nova categoria")
@@ -49,6 +129,17 @@ public class CategoriaController {
         return ResponseEntity.ok(categoriaService.update(id, categoria));
     }
 
+    @Operation(summary = "Altera só os campos enviados de uma categoria num único UPDATE, com a versão atual "
+            + "em If-Match ou no campo versao; responde 204 com o novo ETag ou 409 se a versão estiver desatualizada")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> alterar(@PathVariable Integer id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestBody Map<String, Object> alteracoes) {
+        long versao = categoriaService.patch(id, ifMatch, alteracoes);
+        return ResponseEntity.noContent().eTag("categoria-" + id + "-" + versao).build();
+    }
+
     @Operation(summary = "Deleta uma categoria existente")
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
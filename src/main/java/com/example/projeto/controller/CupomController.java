@@ -1,6 +1,7 @@
 package com.example.projeto.controller;
 
 import com.example.projeto.dto.CupomDTO;
+import com.example.projeto.dto.LoteDTO;
 import com.example.projeto.exception.BusinessException;
 import com.example.projeto.service.CupomService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +11,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cupons")
@@ -24,6 +26,12 @@ public class CupomController {
         return ResponseEntity.ok(cupomService.findAllAtivos());
     }
 
+    @Operation(summary = "Lista os cupons ativos só com os campos pedidos (ex.: fields=codigo,valor)")
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> listarAtivosCampos(@RequestParam String fields) {
+        return ResponseEntity.ok(cupomService.findAllAtivosParcial(fields));
+    }
+
     @Operation(summary = "Busca cupom por ID")
     @GetMapping("/{id}")
     public ResponseEntity<CupomDTO> buscarPorId(@PathVariable Integer id) {
@@ -32,6 +40,29 @@ public class CupomController {
                 .orElseThrow(() -> new BusinessException("CUP001", "Cupom não encontrado."));
     }
 
+    @Operation(summary = "Busca vários cupons por ID numa só chamada (corpo: [1, 2, 3]); "
+            + "os ids inexistentes vêm em naoEncontrados")
+    @PostMapping("/lote")
+    public ResponseEntity<LoteDTO<CupomDTO>> buscarLote(@RequestBody List<Integer> ids) {
+        return ResponseEntity.ok(cupomService.findLote(ids));
+    }
+
+    @Operation(summary = "Busca cupom por ID só com os campos pedidos (ex.: fields=codigo,valor)")
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposPorId(@PathVariable Integer id, @RequestParam String fields) {
+        return cupomService.findByIdParcial(id, fields)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new BusinessException("CUP001", "Cupom não encontrado."));
+    }
+
+    @Operation(summary = "Busca cupom pelo código")
+    @GetMapping("/codigo/{codigo}")
+    public ResponseEntity<CupomDTO> buscarPorCodigo(@PathVariable String codigo) {
+        return cupomService.findByCodigo(codigo)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new BusinessException("CUP001", "Cupom não encontrado."));
+    }
+
     @Operation(summary = "Cria um novo cupom")
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
@@ -0,0 +1,27 @@
+package com.example.projeto.controller;
+
+import com.example.projeto.exception.BusinessException;
+import com.example.projeto.security.AuthService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/logout")
+@AllArgsConstructor
+public class LogoutController {
+
+    private final AuthService authService;
+
+    @Operation(summary = "Revoga o token JWT atual antes da expiração")
+    @PostMapping
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        if (!authHeader.startsWith("Bearer ")) {
+            throw new BusinessException("AUTH001", "Token JWT ausente ou inválido.");
+        }
+        authService.logout(authHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.PedidoDTO;
 import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Cupom;
 import com.example.projeto.model.Pedido;
@@ -10,12 +13,16 @@ import com.example.projeto.service.ProdutoService;
 import com.example.projeto.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/pedidos")
@@ -32,12 +39,53 @@ public class PedidoController {
         return ResponseEntity.ok(pedidoService.findAll());
     }
 
+    @Operation(summary = "Lista todos os pedidos só com os campos pedidos (ex.: fields=id,status ou "
+            + "fields=id,cliente.nome,produtos.nome); associações não pedidas não são consultadas")
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> listarCampos(@RequestParam String fields) {
+        return ResponseEntity.ok(pedidoService.findAllParcial(fields));
+    }
+
+    @Operation(summary = "Exporta todos os pedidos em formato resumido")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/exportacao")
+    public ResponseEntity<List<PedidoDTO>> exportar() {
+        return ResponseEntity.ok(pedidoService.findAllParaExportacao());
+    }
+
+    @Operation(summary = "Lista os pedidos do usuário autenticado, mais recentes primeiro, paginados por cursor")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/meus")
+    public ResponseEntity<PaginaDTO<PedidoDTO>> meusPedidos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @CurrentSecurityContext(expression = "authentication") Authentication authentication) {
+        User cliente = userService.findByEmail(authentication.getName());
+        if (cliente == null) {
+            throw new BusinessException("USR001", "Usuário não encontrado.");
+        }
+        return ResponseEntity.ok(pedidoService.findPaginaDoCliente(cliente.getId(), cursor, tamanho));
+    }
+
     @Operation(summary = "Busca pedido por ID")
     @GetMapping("/{id}")
     public ResponseEntity<Pedido> buscarPorId(@PathVariable Integer id) {
         return ResponseEntity.ok(pedidoService.findById(id));
     }
 
+    @Operation(summary = "Busca pedido por ID só com os campos pedidos (ex.: fields=id,status)")
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposPorId(@PathVariable Integer id, @RequestParam String fields) {
+        return ResponseEntity.ok(pedidoService.findByIdParcial(id, fields));
+    }
+
+    @Operation(summary = "Busca vários pedidos por ID numa só chamada (corpo: [1, 2, 3]); "
+            + "os ids inexistentes vêm em naoEncontrados")
+    @PostMapping("/lote")
+    public ResponseEntity<LoteDTO<Pedido>> buscarLote(@RequestBody List<Integer> ids) {
+        return ResponseEntity.ok(pedidoService.findLote(ids));
+    }
+
     @Operation(summary = "Cria um novo pedido")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @PostMapping
@@ -74,6 +122,17 @@ public class PedidoController {
         return ResponseEntity.ok(pedidoService.update(id, pedido));
     }
 
+    @Operation(summary = "Altera só os campos enviados de um pedido (status, data) num único UPDATE, com a versão "
+            + "atual em If-Match ou no campo versao; responde 204 com o novo ETag ou 409 se a versão estiver desatualizada")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> alterar(@PathVariable Integer id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestBody Map<String, Object> alteracoes) {
+        long versao = pedidoService.patch(id, ifMatch, alteracoes);
+        return ResponseEntity.noContent().eTag("pedido-" + id + "-" + versao).build();
+    }
+
     @Operation(summary = "Deleta um pedido existente")
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
@@ -1,17 +1,42 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.compression.SemCompressao;
+import com.example.projeto.dto.CatalogoFacetadoDTO;
+import com.example.projeto.dto.ImportacaoDTO;
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.dto.ProdutoBuscaDTO;
+import com.example.projeto.dto.SugestaoDTO;
 import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Categoria;
 import com.example.projeto.model.Produto;
+import com.example.projeto.search.FaixaPreco;
+import com.example.projeto.serialization.FormatosBinarios;
+import com.example.projeto.service.CatalogoAlteracoes;
+import com.example.projeto.service.CatalogoSnapshot;
+import com.example.projeto.service.CatalogoVersao;
 import com.example.projeto.service.CategoriaService;
+import com.example.projeto.service.ProdutoBuscaService;
+import com.example.projeto.service.ProdutoImportacaoService;
 import com.example.projeto.service.ProdutoService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/produtos")
@@ -20,17 +45,109 @@ public class ProdutoController {
 
     private final ProdutoService produtoService;
     private final CategoriaService categoriaService;
+    private final ProdutoBuscaService produtoBuscaService;
+    private final CatalogoVersao catalogoVersao;
+    private final CatalogoSnapshot catalogoSnapshot;
+    private final ProdutoImportacaoService produtoImportacaoService;
+    private final CatalogoAlteracoes catalogoAlteracoes;
 
-    @Operation(summary = "Lista todos os produtos")
+    @Operation(summary = "Lista todos os produtos (aceita If-None-Match com o ETag do catálogo)")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Produto.class))),
+            @Content(mediaType = "application/cbor", array = @ArraySchema(schema = @Schema(implementation = Produto.class))),
+            @Content(mediaType = FormatosBinarios.SMILE_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = Produto.class)))})
     @GetMapping
-    public ResponseEntity<List<Produto>> listar() {
-        return ResponseEntity.ok(produtoService.findAll());
+    public ResponseEntity<byte[]> listar(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CatalogoVersao.Versao versao = catalogoVersao.atual();
+        if (CatalogoSnapshot.variante(versao, accept, acceptEncoding).naoModificado(request)) {
+            return null;
+        }
+        return catalogoSnapshot.produtos().responder(versao, accept, acceptEncoding);
+    }
+
+    @Operation(summary = "Lista todos os produtos só com os campos pedidos (ex.: fields=id,nome,preco); "
+            + "as demais colunas e associações não são consultadas")
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> listarCampos(
+            @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        CatalogoVersao.Versao versao = catalogoVersao.atual().formato(accept);
+        if (versao.naoModificado(request)) {
+            return null;
+        }
+        return versao.ok().body(produtoService.findAllParcial(fields));
+    }
+
+    @Operation(summary = "Busca produtos por texto no nome e na descrição, com filtros de categoria e preço")
+    @GetMapping("/busca")
+    public ResponseEntity<List<ProdutoBuscaDTO>> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer categoriaId,
+            @RequestParam(required = false) Double precoMin,
+            @RequestParam(required = false) Double precoMax,
+            @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(produtoBuscaService.buscar(q, categoriaId, precoMin, precoMax, limite));
+    }
+
+    @Operation(summary = "Sugere nomes de produtos que começam com o texto digitado, os mais pedidos primeiro")
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<SugestaoDTO>> sugerir(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(produtoBuscaService.sugerir(prefixo, limite));
+    }
+
+    @Operation(summary = "Feed de alterações de produtos e categorias (Server-Sent Events). Ao reconectar, "
+            + "Last-Event-ID (ou desde) traz o que foi perdido; o evento reset pede para recarregar o catálogo")
+    @SemCompressao
+    @GetMapping(value = "/alteracoes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter alteracoes(
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoId,
+            @RequestParam(required = false) String desde) {
+        return catalogoAlteracoes.assinar(ultimoId != null ? ultimoId : desde);
+    }
+
+    @Operation(summary = "Navega pelo catálogo filtrando por categoria, faixa de preço e estoque, com a contagem de cada faceta")
+    @GetMapping("/navegacao")
+    public ResponseEntity<CatalogoFacetadoDTO> navegar(
+            @RequestParam(required = false) List<Integer> categoriaId,
+            @RequestParam(required = false) List<FaixaPreco> faixaPreco,
+            @RequestParam(required = false) Boolean emEstoque,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        return ResponseEntity.ok(produtoBuscaService.navegar(categoriaId, faixaPreco, emEstoque, cursor, tamanho));
     }
 
     @Operation(summary = "Busca produto por ID")
     @GetMapping("/{id}")
-    public ResponseEntity<Produto> buscarPorId(@PathVariable Integer id) {
-        return ResponseEntity.ok(produtoService.findById(id));
+    public ResponseEntity<Produto> buscarPorId(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Produto produto = produtoService.findById(id);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (produto.getVersao() != null) {
+            //o Spring responde 304 sozinho quando o If-None-Match bate com este ETag
+            resposta.eTag(FormatosBinarios.etag("produto-" + id + "-" + produto.getVersao(), accept));
+        }
+        return resposta.body(produto);
+    }
+
+    @Operation(summary = "Busca produto por ID só com os campos pedidos (ex.: fields=id,nome,preco)")
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> buscarCamposPorId(@PathVariable Integer id, @RequestParam String fields) {
+        return ResponseEntity.ok(produtoService.findByIdParcial(id, fields));
+    }
+
+    @Operation(summary = "Busca vários produtos por ID numa só chamada (corpo: [1, 2, 3]); "
+            + "os ids inexistentes vêm em naoEncontrados")
+    @PostMapping("/lote")
+    public ResponseEntity<LoteDTO<Produto>> buscarLote(@RequestBody List<Integer> ids) {
+        return ResponseEntity.ok(produtoService.findLote(ids));
     }
 
     @Operation(summary = "Cria um novo produto")
@@ -47,6 +164,25 @@ public class ProdutoController {
         return ResponseEntity.ok(produtoService.save(produto));
     }
 
+    @Operation(summary = "Importa produtos em massa de um array JSON, lido em streaming; grava em blocos e "
+            + "devolve o erro de cada linha rejeitada")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportacaoDTO> importarJson(InputStream corpo) {
+        return ResponseEntity.ok(produtoImportacaoService.importarJson(corpo));
+    }
+
+    @Operation(summary = "Importa produtos em massa de um CSV com cabeçalho (nome,preco,descricao,estoque,categoriaId; "
+            + "aceita ';' como separador); grava em blocos e devolve o erro de cada linha rejeitada")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ImportacaoDTO> importarCsv(
+            InputStream corpo,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return ResponseEntity.ok(produtoImportacaoService.importarCsv(corpo, charset));
+    }
+
     @Operation(summary = "Atualiza um produto existente")
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
@@ -54,6 +190,17 @@ public class ProdutoController {
         return ResponseEntity.ok(produtoService.update(id, produto));
     }
 
+    @Operation(summary = "Altera só os campos enviados de um produto num único UPDATE, com a versão atual "
+            + "em If-Match ou no campo versao; responde 204 com o novo ETag ou 409 se a versão estiver desatualizada")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> alterar(@PathVariable Integer id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestBody Map<String, Object> alteracoes) {
+        long versao = produtoService.patch(id, ifMatch, alteracoes);
+        return ResponseEntity.noContent().eTag("produto-" + id + "-" + versao).build();
+    }
+
     @Operation(summary = "Deleta um produto existente")
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
@@ -0,0 +1,39 @@
+package com.example.projeto.controller;
+
+import com.example.projeto.dto.SqlStatsDTO;
+import com.example.projeto.observability.QueryStatsListener;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/sql")
+@RequiredArgsConstructor
+public class SqlStatsController {
+
+    private final QueryStatsListener queryStatsListener;
+
+    @Operation(summary = "Totais de comandos SQL e comandos lentos recentes")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<SqlStatsDTO> estatisticas() {
+        SqlStatsDTO dto = new SqlStatsDTO();
+        dto.setTotalComandos(queryStatsListener.getTotalStatements());
+        dto.setTempoTotalMs(queryStatsListener.getTotalNanos() / 1_000_000.0);
+        dto.setTotalLentos(queryStatsListener.getTotalLentas());
+        dto.setLentosRecentes(queryStatsListener.getLentasRecentes().stream()
+                .map(lenta -> {
+                    SqlStatsDTO.ComandoLento comando = new SqlStatsDTO.ComandoLento();
+                    comando.setSql(lenta.sql());
+                    comando.setMillis(lenta.millis());
+                    comando.setTimestamp(lenta.timestamp());
+                    return comando;
+                })
+                .toList());
+        return ResponseEntity.ok(dto);
+    }
+}
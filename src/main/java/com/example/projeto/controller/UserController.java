@@ -1,17 +1,25 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.PedidoDTO;
 import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.User;
+import com.example.projeto.service.PedidoService;
 import com.example.projeto.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.CurrentSecurityContext;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -19,6 +27,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final PedidoService pedidoService;
 
     @Operation(summary = "Lista todos os usuários")
     @ApiResponses({
@@ -44,6 +53,29 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @Operation(summary = "Lista os pedidos de um usuário, mais recentes primeiro, paginados por cursor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de pedidos retornada com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado")
+    })
+    @GetMapping("/{id}/pedidos")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<PaginaDTO<PedidoDTO>> listarPedidos(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanho,
+            @CurrentSecurityContext(expression = "authentication") Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (!admin) {
+            User logado = userService.findByEmail(authentication.getName());
+            if (logado == null || !logado.getId().equals(id)) {
+                throw new AccessDeniedException("Pedidos de outro usuário.");
+            }
+        }
+        return ResponseEntity.ok(pedidoService.findPaginaDoCliente(id, cursor, tamanho));
+    }
+
     @Operation(summary = "Cria um novo usuário")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Usuário criado com sucesso"),
@@ -64,6 +96,22 @@ public class UserController {
         return ResponseEntity.ok(userService.update(id, user));
     }
 
+    @Operation(summary = "Altera só os campos enviados de um usuário (nome, email, role) num único UPDATE, com a "
+            + "versão atual em If-Match ou no campo versao; responde 204 com o novo ETag ou 409 se a versão estiver "
+            + "desatualizada")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Usuário alterado"),
+            @ApiResponse(responseCode = "409", description = "Versão desatualizada")
+    })
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> alterar(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestBody Map<String, Object> alteracoes) {
+        long versao = userService.patch(id, ifMatch, alteracoes);
+        return ResponseEntity.noContent().eTag("usuario-" + id + "-" + versao).build();
+    }
+
     @Operation(summary = "Deleta usuário existente")
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
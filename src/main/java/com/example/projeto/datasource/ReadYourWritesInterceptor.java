@@ -0,0 +1,65 @@
+package com.example.projeto.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+//define a preferência de roteamento por requisição: escritas (POST/PUT/PATCH/DELETE) ficam inteiras no primário
+//e, quando dão certo, o usuário fica fixado no primário por read-your-writes-ms, para que o GET seguinte
+//enxergue o que ele acabou de gravar mesmo que a réplica ainda não tenha recebido.
+//a fixação é por instância; com várias instâncias atrás de um balanceador ela vale para a instância que recebeu a escrita.
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> METODOS_DE_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final RoutingProperties properties;
+    private final Map<String, Long> fixadosAte = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(RoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        boolean leitura = METODOS_DE_LEITURA.contains(request.getMethod());
+        RoutingContext.definir(leitura && !fixado(usuario(request))
+                ? RoutingContext.Preferencia.LEITURA
+                : RoutingContext.Preferencia.PRIMARIO);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        try {
+            String usuario = usuario(request);
+            if (usuario != null && !METODOS_DE_LEITURA.contains(request.getMethod())
+                    && ex == null && response.getStatus() < 400) {
+                long agora = System.currentTimeMillis();
+                fixadosAte.values().removeIf(ate -> ate <= agora);
+                fixadosAte.put(usuario, agora + properties.getReadYourWritesMs());
+            }
+        } finally {
+            RoutingContext.limpar();
+        }
+    }
+
+    boolean fixado(String usuario) {
+        if (usuario == null) {
+            return false;
+        }
+        Long ate = fixadosAte.get(usuario);
+        return ate != null && ate > System.currentTimeMillis();
+    }
+
+    private static String usuario(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? principal.getName() : null;
+    }
+}
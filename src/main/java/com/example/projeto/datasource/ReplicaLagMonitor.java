@@ -0,0 +1,92 @@
+package com.example.projeto.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+//mede periodicamente o atraso da réplica e decide se ela pode receber leituras.
+//com heartbeat o primário grava o instante atual em replica_heartbeat (criada pela migração V7) e a réplica
+//é lida em seguida: o atraso é a idade do valor que já chegou nela. Começa indisponível até a primeira medição.
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primario;
+    private final JdbcTemplate replica;
+    private final RoutingProperties properties;
+
+    private volatile boolean disponivel;
+    private volatile long atrasoMs = -1;
+
+    public ReplicaLagMonitor(DataSource primario, DataSource replica, RoutingProperties properties, MeterRegistry registry) {
+        this.primario = new JdbcTemplate(primario);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+        Gauge.builder("datasource.replica.lag", this, ReplicaLagMonitor::getAtrasoMs)
+                .description("Atraso medido da réplica em ms (-1 quando inacessível)")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("datasource.replica.disponivel", this, m -> m.isDisponivel() ? 1 : 0)
+                .description("1 quando a réplica está recebendo leituras")
+                .register(registry);
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    public long getAtrasoMs() {
+        return atrasoMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.check-interval-ms:2000}",
+            initialDelayString = "${app.datasource.routing.check-interval-ms:2000}")
+    public synchronized void verificar() {
+        if (properties.isHeartbeat()) {
+            gravarHeartbeat();
+        }
+        try {
+            registrar(properties.isHeartbeat() ? medirHeartbeat() : medirConexao());
+        } catch (DataAccessException e) {
+            if (disponivel) {
+                log.warn("Réplica inacessível, leituras voltam para o primário: {}", e.getMessage());
+            }
+            atrasoMs = -1;
+            disponivel = false;
+        }
+    }
+
+    synchronized void registrar(long atraso) {
+        boolean dentroDoLimite = atraso <= properties.getMaxLagMs();
+        if (disponivel && !dentroDoLimite) {
+            log.warn("Réplica com {} ms de atraso (limite {} ms), leituras voltam para o primário", atraso, properties.getMaxLagMs());
+        }
+        atrasoMs = atraso;
+        disponivel = dentroDoLimite;
+    }
+
+    private void gravarHeartbeat() {
+        try {
+            long agora = System.currentTimeMillis();
+            if (primario.update("update replica_heartbeat set atualizado_em = ? where id = 1", agora) == 0) {
+                primario.update("insert into replica_heartbeat (id, atualizado_em) values (1, ?)", agora);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar heartbeat no primário: {}", e.getMessage());
+        }
+    }
+
+    private long medirHeartbeat() {
+        Long gravadoEm = replica.queryForObject("select atualizado_em from replica_heartbeat where id = 1", Long.class);
+        return Math.max(0, System.currentTimeMillis() - gravadoEm);
+    }
+
+    private long medirConexao() {
+        replica.queryForObject("select 1", Integer.class);
+        return 0;
+    }
+}
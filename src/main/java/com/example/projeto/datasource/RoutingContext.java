@@ -0,0 +1,27 @@
+package com.example.projeto.datasource;
+
+//preferência de destino da requisição atual, definida pelo ReadYourWritesInterceptor.
+//LEITURA deixa o acesso fora de transação (lazy loading na serialização) ir para a réplica;
+//PRIMARIO fixa tudo no primário (requisições de escrita e leituras logo depois de uma escrita).
+public final class RoutingContext {
+
+    public enum Preferencia { PADRAO, LEITURA, PRIMARIO }
+
+    private static final ThreadLocal<Preferencia> ATUAL = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static Preferencia atual() {
+        Preferencia preferencia = ATUAL.get();
+        return preferencia != null ? preferencia : Preferencia.PADRAO;
+    }
+
+    public static void definir(Preferencia preferencia) {
+        ATUAL.set(preferencia);
+    }
+
+    public static void limpar() {
+        ATUAL.remove();
+    }
+}
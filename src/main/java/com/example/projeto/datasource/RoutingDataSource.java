@@ -0,0 +1,40 @@
+package com.example.projeto.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+//escolhe o pool a cada conexão física: transações readOnly vão para a réplica, o resto para o primário.
+//precisa ficar atrás de um LazyConnectionDataSourceProxy, senão a conexão é obtida no início da
+//transação, antes de o Spring marcar a transação como somente leitura.
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private final ReplicaLagMonitor monitor;
+
+    public RoutingDataSource(DataSource primario, DataSource replica, ReplicaLagMonitor monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return destino();
+    }
+
+    Destino destino() {
+        RoutingContext.Preferencia preferencia = RoutingContext.atual();
+        if (preferencia == RoutingContext.Preferencia.PRIMARIO || !monitor.isDisponivel()) {
+            return Destino.PRIMARIO;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Destino.REPLICA : Destino.PRIMARIO;
+        }
+        return preferencia == RoutingContext.Preferencia.LEITURA ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+}
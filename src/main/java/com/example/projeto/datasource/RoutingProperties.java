@@ -0,0 +1,22 @@
+package com.example.projeto.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+//roteamento primário/réplica (prefixo app.datasource.routing); só vale com app.datasource.replica.jdbc-url definido
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class RoutingProperties {
+
+    //atraso máximo aceito na réplica; acima disso as leituras voltam para o primário
+    private long maxLagMs = 5000;
+
+    //intervalo entre as medições de atraso (também o atraso até a primeira medição)
+    private long checkIntervalMs = 2000;
+
+    //mede o atraso pela tabela replica_heartbeat; sem ela a réplica só precisa responder a um select 1
+    private boolean heartbeat = true;
+
+    //depois de uma escrita, as leituras do mesmo usuário ficam no primário por este tempo
+    private long readYourWritesMs = 5000;
+}
@@ -0,0 +1,12 @@
+package com.example.projeto.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStatsDTO {
+    private String regiao;
+    private long acertos;
+    private long falhas;
+    private long insercoes;
+    private long elementosEmMemoria;
+}
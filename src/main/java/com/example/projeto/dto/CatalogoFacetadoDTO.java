@@ -0,0 +1,19 @@
+package com.example.projeto.dto;
+
+import com.example.projeto.search.FaixaPreco;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+//página da navegação facetada; as contagens de cada faceta consideram os filtros das outras facetas
+@Data
+public class CatalogoFacetadoDTO {
+    private List<ProdutoResumoDTO> itens;
+    private String proximoCursor;
+    private int total;
+    private Map<Integer, Integer> categorias;
+    private Map<FaixaPreco, Integer> faixasPreco;
+    private int emEstoque;
+    private int semEstoque;
+}
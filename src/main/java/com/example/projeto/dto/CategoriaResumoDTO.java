@@ -0,0 +1,15 @@
+package com.example.projeto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoriaResumoDTO {
+    private Integer id;
+    private String nome;
+    private String descricao;
+    private long quantidadeProdutos;
+}
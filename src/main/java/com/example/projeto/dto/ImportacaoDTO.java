@@ -0,0 +1,30 @@
+package com.example.projeto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//resultado de uma importação em massa. linha é a linha do arquivo no CSV (o cabeçalho é a 1)
+//e a posição do item, a partir de 1, no array JSON.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoDTO {
+    private int linhas;
+    private int importados;
+    private int rejeitados;
+    //true quando a leitura parou num erro de formato do corpo; o que vinha depois não foi lido
+    private boolean interrompida;
+    //só os primeiros erros; rejeitados tem o total
+    private List<ErroLinha> erros;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private int linha;
+        private String mensagem;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.projeto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//resultado de uma busca por lista de ids: os encontrados na ordem pedida e os ids que não existem
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteDTO<T> {
+    private List<T> itens;
+    private List<Integer> naoEncontrados;
+}
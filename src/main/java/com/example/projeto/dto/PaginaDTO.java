@@ -0,0 +1,16 @@
+package com.example.projeto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//página de uma listagem por cursor; proximoCursor é nulo na última página
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> itens;
+    private String proximoCursor;
+}
@@ -0,0 +1,14 @@
+package com.example.projeto.dto;
+
+import lombok.Data;
+
+@Data
+public class ProdutoBuscaDTO {
+    private Integer id;
+    private String nome;
+    private String descricao;
+    private Double preco;
+    private Integer estoque;
+    private Integer categoriaId;
+    private double relevancia;
+}
@@ -0,0 +1,12 @@
+package com.example.projeto.dto;
+
+import lombok.Data;
+
+@Data
+public class ProdutoResumoDTO {
+    private Integer id;
+    private String nome;
+    private Double preco;
+    private Integer estoque;
+    private Integer categoriaId;
+}
@@ -0,0 +1,20 @@
+package com.example.projeto.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SqlStatsDTO {
+    private long totalComandos;
+    private double tempoTotalMs;
+    private long totalLentos;
+    private List<ComandoLento> lentosRecentes;
+
+    @Data
+    public static class ComandoLento {
+        private String sql;
+        private long millis;
+        private long timestamp;
+    }
+}
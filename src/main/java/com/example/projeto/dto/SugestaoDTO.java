@@ -0,0 +1,13 @@
+package com.example.projeto.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugestaoDTO {
+    private Integer id;
+    private String nome;
+}
@@ -0,0 +1,22 @@
+package com.example.projeto.event;
+
+import com.example.projeto.model.Categoria;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//publicado pelo CategoriaService a cada criação, alteração ou exclusão de categoria.
+//campos traz os valores gravados (todos numa criação ou PUT, só os enviados num PATCH); é nulo na exclusão.
+public record CategoriaAlteradaEvent(Integer categoriaId, Map<String, Object> campos) {
+
+    public static CategoriaAlteradaEvent salva(Categoria categoria) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        campos.put("nome", categoria.getNome());
+        campos.put("descricao", categoria.getDescricao());
+        return new CategoriaAlteradaEvent(categoria.getId(), campos);
+    }
+
+    public static CategoriaAlteradaEvent removida(Integer categoriaId) {
+        return new CategoriaAlteradaEvent(categoriaId, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.projeto.event;
+
+import java.util.List;
+
+//publicado pelo PedidoService quando um pedido é gravado; produtoIds repete o id se o produto aparece mais de uma vez
+public record PedidoCriadoEvent(Integer pedidoId, List<Integer> produtoIds) {
+}
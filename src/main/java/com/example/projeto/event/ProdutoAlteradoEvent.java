@@ -0,0 +1,18 @@
+package com.example.projeto.event;
+
+import com.example.projeto.model.Produto;
+
+//publicado pelo ProdutoService a cada gravação ou exclusão; os ouvintes reagem depois do commit.
+//produto é nulo quando tipo == REMOVIDO.
+public record ProdutoAlteradoEvent(Tipo tipo, Integer produtoId, Produto produto) {
+
+    public enum Tipo { SALVO, REMOVIDO }
+
+    public static ProdutoAlteradoEvent salvo(Produto produto) {
+        return new ProdutoAlteradoEvent(Tipo.SALVO, produto.getId(), produto);
+    }
+
+    public static ProdutoAlteradoEvent removido(Integer produtoId) {
+        return new ProdutoAlteradoEvent(Tipo.REMOVIDO, produtoId, null);
+    }
+}
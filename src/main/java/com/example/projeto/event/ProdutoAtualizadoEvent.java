@@ -0,0 +1,8 @@
+package com.example.projeto.event;
+
+import java.util.Map;
+
+//publicado pelo PATCH de produto, que grava sem carregar a entidade: leva só os campos alterados
+//(nome, preco, descricao, estoque, categoriaId) e os ouvintes aplicam sobre a cópia que já têm.
+public record ProdutoAtualizadoEvent(Integer produtoId, Map<String, Object> campos) {
+}
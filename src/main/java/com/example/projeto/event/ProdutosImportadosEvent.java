@@ -0,0 +1,10 @@
+package com.example.projeto.event;
+
+import com.example.projeto.model.Produto;
+
+import java.util.List;
+
+//publicado pela importação em massa uma vez por bloco gravado, em vez de um ProdutoAlteradoEvent por produto:
+//os ouvintes atualizam índices e versão do catálogo de uma vez, depois do commit do bloco.
+public record ProdutosImportadosEvent(List<Produto> produtos) {
+}
@@ -1,7 +1,11 @@
 package com.example.projeto.model;
 
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.ToString;
 
@@ -10,6 +14,10 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "categorias")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categorias")
+//a listagem pode devolver proxies já presentes na sessão (referenciados por produtos)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Categoria {
 
     @Id
@@ -21,8 +29,23 @@ public class Categoria {
 
     private String descricao;
 
+    @Version
+    private Long versao;
+
+    //não vai para o JSON: os produtos de uma categoria são listados paginados em /api/categorias/{id}/produtos
     @OneToMany(mappedBy = "categoria")
-    @JsonManagedReference
+    @BatchSize(size = 100)
+    @JsonIgnore
     @ToString.Exclude
     private List<Produto> produtos;
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Categoria outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Categoria.class.hashCode();
+    }
 }
@@ -1,15 +1,24 @@
 package com.example.projeto.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "cupons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cupons")
 public class Cupom {
 
     @Id
@@ -31,6 +40,7 @@ public class Cupom {
     private boolean ativo;
 
     @OneToMany(mappedBy = "cupom")
+    @JsonIgnore
     @ToString.Exclude
     private List<Pedido> pedidos;
 
@@ -41,4 +51,14 @@ public class Cupom {
         this.minimoCompra = minimoCompra;
         this.ativo = validade.isAfter(LocalDate.now());
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Cupom outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Cupom.class.hashCode();
+    }
 }
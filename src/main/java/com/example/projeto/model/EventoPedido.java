@@ -0,0 +1,53 @@
+package com.example.projeto.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+//linha do outbox de pedidos: payload é o JSON do evento, entregue ao destino pelo OutboxRelay
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_pedidos")
+public class EventoPedido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer pedidoId;
+
+    @Column(nullable = false, length = 40)
+    private String tipo;
+
+    //sem limite de tamanho: um pedido com muitos produtos não pode falhar por causa do evento
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+
+    //envios recusados; a linha fica no outbox até o destino aceitar ou ser estacionada (app.outbox.maximo-tentativas)
+    private int tentativas;
+
+    public EventoPedido(Integer pedidoId, String tipo, String payload, Instant criadoEm) {
+        this.pedidoId = pedidoId;
+        this.tipo = tipo;
+        this.payload = payload;
+        this.criadoEm = criadoEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof EventoPedido outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return EventoPedido.class.hashCode();
+    }
+}
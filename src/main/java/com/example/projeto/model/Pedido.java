@@ -3,6 +3,8 @@ package com.example.projeto.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
 import lombok.ToString;
 
@@ -11,30 +13,45 @@ import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate
 @Table(name = "pedidos")
+@NamedEntityGraph(name = "Pedido.detalhe", attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("cupom"),
+        @NamedAttributeNode("produtos")
+})
+@NamedEntityGraph(name = "Pedido.exportacao", attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("produtos")
+})
 public class Pedido {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    @Column(nullable = false)
     private LocalDate data;
 
     @Column(nullable = false)
     private String status; // EM_ANDAMENTO, ENTREGUE, CANCELADO
 
-    @ManyToOne
+    @Version
+    private Long versao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cupom_id")
     @ToString.Exclude
     private Cupom cupom;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @ToString.Exclude
     private User cliente;
 
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "pedido_produto",
             joinColumns = @JoinColumn(name = "pedido_id"),
@@ -43,4 +60,14 @@ public class Pedido {
 
     @ToString.Exclude
     private List<Produto> produtos;
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Pedido outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Pedido.class.hashCode();
+    }
 }
@@ -1,13 +1,19 @@
 package com.example.projeto.model;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
 import lombok.ToString;
 
 @Data
 @Entity
+@DynamicUpdate
 @Table(name = "produtos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produtos")
 public class Produto {
 
     @Id
@@ -24,9 +30,24 @@ public class Produto {
 
     private Integer estoque;
 
-    @ManyToOne
+    @Version
+    private Long versao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "categoria_id", nullable = false)
-    @JsonBackReference
+    //só o id da categoria entra no JSON, que é o que a criação e a atualização recebem; ler o id não inicializa o proxy
+    @JsonIncludeProperties("id")
     @ToString.Exclude
     private Categoria categoria;
+
+    //igualdade pelo id: não inicializa proxies nem coleções lazy, e o hash fica o mesmo antes e depois do persist
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Produto outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Produto.class.hashCode();
+    }
 }
@@ -0,0 +1,26 @@
+package com.example.projeto.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "tokens_revogados", indexes = @Index(name = "idx_tokens_revogados_expiracao", columnList = "expiracao"))
+public class TokenRevogado {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiracao;
+
+    public TokenRevogado(String jti, Instant expiracao) {
+        this.jti = jti;
+        this.expiracao = expiracao;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.projeto.model;
 
 import com.example.projeto.security.Role;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -31,7 +32,21 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
 
+    @Version
+    private Long versao;
+
     @OneToMany(mappedBy = "cliente")
+    @JsonIgnore
     @ToString.Exclude
     private List<Pedido> pedidos;
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof User outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
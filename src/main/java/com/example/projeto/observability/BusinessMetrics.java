@@ -0,0 +1,66 @@
+package com.example.projeto.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+//contadores de resultado de negócio; registrados na criação para aparecerem zerados no /actuator/prometheus
+@Component
+public class BusinessMetrics {
+
+    public static final String CUPOM_NAO_ENCONTRADO = "nao_encontrado";
+    public static final String LOGIN_USUARIO_NAO_ENCONTRADO = "usuario_nao_encontrado";
+    public static final String LOGIN_SENHA_INCORRETA = "senha_incorreta";
+
+    private final Counter pedidosCriados;
+    private final Counter cuponsNaoEncontrados;
+    private final Counter loginUsuarioNaoEncontrado;
+    private final Counter loginSenhaIncorreta;
+    private final Counter eventosEstacionados;
+
+    public BusinessMetrics(MeterRegistry registry) {
+        this.pedidosCriados = Counter.builder("pedidos.criados")
+                .description("Pedidos gravados com sucesso")
+                .register(registry);
+        this.cuponsNaoEncontrados = cupomRejeitado(registry, CUPOM_NAO_ENCONTRADO);
+        this.loginUsuarioNaoEncontrado = loginFalhou(registry, LOGIN_USUARIO_NAO_ENCONTRADO);
+        this.loginSenhaIncorreta = loginFalhou(registry, LOGIN_SENHA_INCORRETA);
+        this.eventosEstacionados = Counter.builder("outbox.pedidos.estacionados")
+                .description("Eventos de pedido tirados das rodadas do outbox depois do máximo de tentativas")
+                .register(registry);
+    }
+
+    public void pedidoCriado() {
+        pedidosCriados.increment();
+    }
+
+    public void cupomNaoEncontrado() {
+        cuponsNaoEncontrados.increment();
+    }
+
+    public void loginUsuarioNaoEncontrado() {
+        loginUsuarioNaoEncontrado.increment();
+    }
+
+    public void loginSenhaIncorreta() {
+        loginSenhaIncorreta.increment();
+    }
+
+    public void eventoEstacionado() {
+        eventosEstacionados.increment();
+    }
+
+    private static Counter cupomRejeitado(MeterRegistry registry, String motivo) {
+        return Counter.builder("cupons.rejeitados")
+                .description("Cupons recusados ao montar um pedido")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    private static Counter loginFalhou(MeterRegistry registry, String motivo) {
+        return Counter.builder("login.falhas")
+                .description("Tentativas de login recusadas")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.projeto.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+//envolve o DataSource da aplicação num proxy que reporta cada comando ao QueryStatsListener.
+//o proxy repassa unwrap() ao pool original, então quem precisa do HikariDataSource continua encontrando-o.
+//só o bean "dataSource" é envolvido: com réplica ele é o roteador, e os pools por trás dele não contam em dobro.
+@Configuration
+public class DataSourceProxyConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryStatsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource) && DATA_SOURCE.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
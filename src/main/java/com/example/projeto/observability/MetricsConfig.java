@@ -0,0 +1,18 @@
+package com.example.projeto.observability;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//habilita @Timed nos services (métrica "servico", com tags class e method)
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICO = "servico";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.projeto.observability;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Objects;
+
+//saturação do pool Hikari (conexões ativas / máximo), para alertar antes de haver fila por conexão.
+//complementa hikaricp.connections.pending e os timers acquire/usage publicados pelo Spring Boot.
+//com réplica há um pool por destino; cada um recebe seu gauge pela tag pool.
+@Component
+public class PoolMetrics implements MeterBinder {
+
+    private final ObjectProvider<DataSource> dataSources;
+
+    public PoolMetrics(ObjectProvider<DataSource> dataSources) {
+        this.dataSources = dataSources;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        dataSources.orderedStream()
+                .map(PoolMetrics::unwrap)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(hikari -> Gauge.builder("hikaricp.connections.saturation", hikari, PoolMetrics::saturacao)
+                        .description("Fração do pool em uso (ativas / máximo)")
+                        .tag("pool", hikari.getPoolName())
+                        .register(registry));
+    }
+
+    static double saturacao(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null || hikari.getMaximumPoolSize() <= 0) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / hikari.getMaximumPoolSize();
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.projeto.observability;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+//contadores de SQL do escopo atual (uma requisição ou um trecho medido em teste), presos à thread.
+//escopos podem ser aninhados: cada comando é contado no escopo atual e em todos os que o envolvem.
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> ATUAL = new ThreadLocal<>();
+
+    private final QueryStats anterior;
+    private int statements;
+    private long nanos;
+    private List<String> lentas = Collections.emptyList();
+
+    private QueryStats(QueryStats anterior) {
+        this.anterior = anterior;
+    }
+
+    public static QueryStats iniciar() {
+        QueryStats stats = new QueryStats(ATUAL.get());
+        ATUAL.set(stats);
+        return stats;
+    }
+
+    public static QueryStats atual() {
+        return ATUAL.get();
+    }
+
+    public void encerrar() {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+
+    static void registrar(int quantidade, long nanos, String sqlLenta) {
+        for (QueryStats stats = ATUAL.get(); stats != null; stats = stats.anterior) {
+            stats.statements += quantidade;
+            stats.nanos += nanos;
+            if (sqlLenta != null) {
+                if (stats.lentas.isEmpty()) {
+                    stats.lentas = new ArrayList<>();
+                }
+                stats.lentas.add(sqlLenta);
+            }
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+
+    public List<String> getLentas() {
+        return Collections.unmodifiableList(lentas);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.projeto.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+//abre um escopo de QueryStats por requisição; com observability.sql.response-headers=true
+//os totais vão nos headers X-Query-Count / X-Query-Time-Ms, gravados quando a resposta é confirmada.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    static final String HEADER_COUNT = "X-Query-Count";
+    static final String HEADER_TIME = "X-Query-Time-Ms";
+
+    private final SqlProperties properties;
+    private final SqlMetrics metrics;
+
+    public QueryStatsFilter(SqlProperties properties, SqlMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.iniciar();
+        HttpServletResponse resposta = properties.isResponseHeaders()
+                ? new QueryStatsResponseWrapper(response, stats)
+                : response;
+        try {
+            filterChain.doFilter(request, resposta);
+        } finally {
+            stats.encerrar();
+            metrics.registrarRequisicao(stats);
+            if (properties.isResponseHeaders() && !response.isCommitted()) {
+                escreverHeaders(response, stats);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("{} {}: {} comandos SQL em {} ms", request.getMethod(), request.getRequestURI(),
+                        stats.getStatements(), String.format(Locale.ROOT, "%.2f", stats.getMillis()));
+            }
+        }
+    }
+
+    private static void escreverHeaders(HttpServletResponse response, QueryStats stats) {
+        response.setHeader(HEADER_COUNT, Integer.toString(stats.getStatements()));
+        response.setHeader(HEADER_TIME, String.format(Locale.ROOT, "%.2f", stats.getMillis()));
+    }
+
+    private static final class QueryStatsResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final QueryStats stats;
+
+        QueryStatsResponseWrapper(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            escreverHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+}
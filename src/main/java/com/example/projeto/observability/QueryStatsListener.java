@@ -0,0 +1,90 @@
+package com.example.projeto.observability;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+//recebe cada execução JDBC do DataSource instrumentado: alimenta o escopo da thread (QueryStats)
+//e os totais da aplicação, e guarda os comandos lentos mais recentes.
+@Slf4j
+@Component
+public class QueryStatsListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> INICIO = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final SqlProperties properties;
+    private final long slowThresholdNanos;
+    private final LongAdder totalStatements = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder totalLentas = new LongAdder();
+    private final Deque<SlowQuery> lentasRecentes = new ArrayDeque<>();
+
+    public QueryStatsListener(SqlProperties properties) {
+        this.properties = properties;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        INICIO.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - INICIO.get()[0];
+        int quantidade = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : Math.max(queryInfoList.size(), 1);
+
+        totalStatements.add(quantidade);
+        totalNanos.add(nanos);
+
+        String sqlLenta = null;
+        if (nanos >= slowThresholdNanos) {
+            sqlLenta = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            registrarLenta(sqlLenta, nanos);
+        }
+        QueryStats.registrar(quantidade, nanos, sqlLenta);
+    }
+
+    private void registrarLenta(String sql, long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        totalLentas.increment();
+        log.warn("SQL lento ({} ms): {}", millis, sql);
+        synchronized (lentasRecentes) {
+            if (lentasRecentes.size() >= properties.getSlowHistorySize()) {
+                lentasRecentes.removeFirst();
+            }
+            lentasRecentes.addLast(new SlowQuery(sql, millis, System.currentTimeMillis()));
+        }
+    }
+
+    public long getTotalStatements() {
+        return totalStatements.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getTotalLentas() {
+        return totalLentas.sum();
+    }
+
+    public List<SlowQuery> getLentasRecentes() {
+        synchronized (lentasRecentes) {
+            return new ArrayList<>(lentasRecentes);
+        }
+    }
+
+    public record SlowQuery(String sql, long millis, long timestamp) {
+    }
+}
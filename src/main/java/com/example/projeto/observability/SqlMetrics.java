@@ -0,0 +1,47 @@
+package com.example.projeto.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+//publica os totais do QueryStatsListener e a distribuição de comandos SQL por requisição
+@Component
+public class SqlMetrics implements MeterBinder {
+
+    private final QueryStatsListener listener;
+    private volatile DistributionSummary comandosPorRequisicao;
+
+    public SqlMetrics(QueryStatsListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jdbc.statements", listener, QueryStatsListener::getTotalStatements)
+                .description("Comandos SQL executados")
+                .register(registry);
+        FunctionCounter.builder("jdbc.statements.time", listener,
+                        l -> l.getTotalNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("Tempo total gasto em comandos SQL")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("jdbc.statements.slow", listener, QueryStatsListener::getTotalLentas)
+                .description("Comandos SQL acima do limite de lentidão")
+                .register(registry);
+        comandosPorRequisicao = DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("Comandos SQL por requisição HTTP")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    void registrarRequisicao(QueryStats stats) {
+        DistributionSummary summary = comandosPorRequisicao;
+        if (summary != null) {
+            summary.record(stats.getStatements());
+        }
+    }
+}
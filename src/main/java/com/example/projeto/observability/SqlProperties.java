@@ -0,0 +1,19 @@
+package com.example.projeto.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+//instrumentação de SQL (prefixo observability.sql)
+@Data
+@ConfigurationProperties(prefix = "observability.sql")
+public class SqlProperties {
+
+    //comandos acima deste tempo são registrados como lentos
+    private long slowThresholdMs = 200;
+
+    //adiciona X-Query-Count e X-Query-Time-Ms às respostas
+    private boolean responseHeaders = false;
+
+    //quantidade de comandos lentos recentes mantidos para consulta
+    private int slowHistorySize = 50;
+}
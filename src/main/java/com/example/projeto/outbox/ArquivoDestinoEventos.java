@@ -0,0 +1,53 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.EventoPedido;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+//acrescenta cada evento como uma linha JSON no arquivo e força a gravação em disco antes de retornar,
+//para o relay só apagar do outbox o que já está no arquivo
+public class ArquivoDestinoEventos implements DestinoEventos {
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+
+    public ArquivoDestinoEventos(Path arquivo, ObjectMapper objectMapper) {
+        this.arquivo = arquivo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void enviar(List<EventoPedido> eventos) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        for (EventoPedido evento : eventos) {
+            ObjectNode linha = objectMapper.createObjectNode();
+            linha.put("id", evento.getId());
+            linha.put("tipo", evento.getTipo());
+            linha.put("pedidoId", evento.getPedidoId());
+            linha.put("criadoEm", evento.getCriadoEm().toString());
+            linha.set("payload", objectMapper.readTree(evento.getPayload()));
+            linhas.append(objectMapper.writeValueAsString(linha)).append('\n');
+        }
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        if (pasta != null) {
+            Files.createDirectories(pasta);
+        }
+        try (FileChannel canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                canal.write(bytes);
+            }
+            canal.force(false);
+        }
+    }
+}
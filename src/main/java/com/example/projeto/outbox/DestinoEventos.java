@@ -0,0 +1,14 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.EventoPedido;
+
+import java.io.IOException;
+import java.util.List;
+
+//para onde o OutboxRelay entrega os eventos de pedido. Recebe um lote na ordem do outbox e só retorna depois
+//de aceitar todos; numa exceção o relay reenvia o lote evento a evento para achar o recusado. A entrega é
+//pelo menos uma vez (o envio pode se repetir), então o consumidor descarta repetidos pelo id.
+public interface DestinoEventos {
+
+    void enviar(List<EventoPedido> eventos) throws IOException;
+}
@@ -0,0 +1,25 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.EventoPedido;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+//guarda os eventos recebidos em memória (app.outbox.destino=memoria), para testes e desenvolvimento
+public class MemoriaDestinoEventos implements DestinoEventos {
+
+    private final List<EventoPedido> recebidos = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void enviar(List<EventoPedido> eventos) {
+        recebidos.addAll(eventos);
+    }
+
+    public List<EventoPedido> recebidos() {
+        return List.copyOf(recebidos);
+    }
+
+    public void limpar() {
+        recebidos.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.projeto.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+//destino do outbox escolhido por app.outbox.destino, a menos que a aplicação declare o seu DestinoEventos
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.destino", havingValue = "memoria")
+    public MemoriaDestinoEventos memoriaDestinoEventos() {
+        return new MemoriaDestinoEventos();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(DestinoEventos.class)
+    public ArquivoDestinoEventos arquivoDestinoEventos(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new ArquivoDestinoEventos(Path.of(properties.getArquivo()), objectMapper);
+    }
+}
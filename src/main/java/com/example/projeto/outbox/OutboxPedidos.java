@@ -0,0 +1,46 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.EventoPedido;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.EventoPedidoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//grava o evento no outbox dentro da transação de quem chama: o pedido e o evento são confirmados juntos
+//ou nenhum dos dois. Quem consome recebe depois, pelo OutboxRelay, sem pesar no tempo de criação do pedido.
+@Component
+@RequiredArgsConstructor
+public class OutboxPedidos {
+
+    public static final String PEDIDO_CRIADO = "PEDIDO_CRIADO";
+
+    private final EventoPedidoRepository eventoPedidoRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void pedidoCriado(Pedido pedido) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("pedidoId", pedido.getId());
+        payload.put("clienteId", pedido.getCliente().getId());
+        payload.put("data", pedido.getData() == null ? null : pedido.getData().toString());
+        payload.put("status", pedido.getStatus());
+        payload.put("cupomId", pedido.getCupom() == null ? null : pedido.getCupom().getId());
+        payload.put("produtoIds", pedido.getProdutos().stream().map(Produto::getId).toList());
+        try {
+            eventoPedidoRepository.save(new EventoPedido(pedido.getId(), PEDIDO_CRIADO,
+                    objectMapper.writeValueAsString(payload), Instant.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento do pedido " + pedido.getId() + " não pôde ser serializado", e);
+        }
+    }
+}
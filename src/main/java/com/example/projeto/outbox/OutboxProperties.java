@@ -0,0 +1,26 @@
+package com.example.projeto.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+//outbox de eventos de pedido (prefixo app.outbox)
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    //intervalo entre as rodadas do relay; cada rodada drena o outbox inteiro, lote a lote
+    private long intervaloMs = 1000;
+
+    //eventos por transação do relay (um SELECT travado, um envio e um DELETE)
+    private int lote = 100;
+
+    //recusas seguidas até o evento ser estacionado: fica na tabela, fora das rodadas, para não travar os seguintes.
+    //Volta para a fila com update outbox_pedidos set tentativas = 0
+    private int maximoTentativas = 20;
+
+    //arquivo ou memoria; um bean DestinoEventos da aplicação substitui os dois
+    private String destino = "arquivo";
+
+    //JSON Lines, um evento por linha, só acrescentado
+    private String arquivo = "outbox/pedidos.jsonl";
+}
@@ -0,0 +1,105 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.EventoPedido;
+import com.example.projeto.observability.BusinessMetrics;
+import com.example.projeto.repository.EventoPedidoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+//drena o outbox de pedidos para o DestinoEventos em segundo plano. Cada lote é uma transação no primário:
+//trava os eventos mais antigos (pulando os que outra instância já travou), envia e apaga.
+//Se o destino recusar o lote, ele é reenviado evento a evento na ordem: os anteriores ao recusado são entregues,
+//o recusado ganha uma tentativa e a rodada para. Com maximoTentativas recusas ele é estacionado e sai das
+//rodadas, para um evento que o destino nunca aceita não travar o outbox.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final EventoPedidoRepository eventoPedidoRepository;
+
+    private final DestinoEventos destino;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxProperties properties;
+
+    private final BusinessMetrics businessMetrics;
+
+    private record Lote(int entregues, boolean recusado) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-ms:1000}")
+    public void agendado() {
+        drenar();
+    }
+
+    //devolve quantos eventos foram entregues nesta rodada
+    public int drenar() {
+        int entregues = 0;
+        while (true) {
+            Lote lote = transactionTemplate.execute(status -> enviarLote());
+            entregues += lote.entregues();
+            if (lote.recusado() || lote.entregues() < properties.getLote()) {
+                return entregues;
+            }
+        }
+    }
+
+    private Lote enviarLote() {
+        List<EventoPedido> eventos = eventoPedidoRepository.findPendentes(properties.getMaximoTentativas(),
+                Limit.of(properties.getLote()));
+        if (eventos.isEmpty()) {
+            return new Lote(0, false);
+        }
+        try {
+            destino.enviar(eventos);
+            eventoPedidoRepository.deleteByIds(eventos.stream().map(EventoPedido::getId).toList());
+            return new Lote(eventos.size(), false);
+        } catch (IOException | RuntimeException e) {
+            if (eventos.size() == 1) {
+                recusar(eventos.get(0), e);
+                return new Lote(0, true);
+            }
+            log.debug("Destino do outbox recusou {} eventos de pedido, reenviando um a um: {}",
+                    eventos.size(), e.getMessage());
+        }
+        List<Long> entregues = new ArrayList<>(eventos.size());
+        boolean recusado = false;
+        for (EventoPedido evento : eventos) {
+            try {
+                destino.enviar(List.of(evento));
+                entregues.add(evento.getId());
+            } catch (IOException | RuntimeException e) {
+                recusar(evento, e);
+                recusado = true;
+                break;
+            }
+        }
+        if (!entregues.isEmpty()) {
+            eventoPedidoRepository.deleteByIds(entregues);
+        }
+        return new Lote(entregues.size(), recusado);
+    }
+
+    private void recusar(EventoPedido evento, Exception e) {
+        eventoPedidoRepository.incrementarTentativas(List.of(evento.getId()));
+        int tentativas = evento.getTentativas() + 1;
+        if (tentativas >= properties.getMaximoTentativas()) {
+            log.error("Evento {} do pedido {} estacionado no outbox depois de {} tentativas: {}",
+                    evento.getId(), evento.getPedidoId(), tentativas, e.getMessage());
+            businessMetrics.eventoEstacionado();
+        } else {
+            log.warn("Destino do outbox recusou o evento {} do pedido {} (tentativa {} de {}): {}",
+                    evento.getId(), evento.getPedidoId(), tentativas, properties.getMaximoTentativas(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.projeto.projection;
+
+import com.example.projeto.exception.BusinessException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+//campos pedidos em ?fields=, validados contra os que o endpoint expõe.
+//"nome" é um atributo da entidade; "categoria.nome" é um atributo da associação. O nome sozinho de uma
+//associação vale como "<associação>.id", o mesmo formato que ela tem na representação completa.
+public final class CamposParciais {
+
+    private final List<String> caminhos;
+
+    private CamposParciais(List<String> caminhos) {
+        this.caminhos = caminhos;
+    }
+
+    public static CamposParciais de(String fields, Set<String> permitidos) {
+        if (fields == null || fields.isBlank()) {
+            throw new BusinessException("CMP001", "Informe ao menos um campo em fields.");
+        }
+        Set<String> caminhos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            String caminho = campo.trim();
+            if (caminho.isEmpty()) {
+                continue;
+            }
+            if (!permitidos.contains(caminho) && permitidos.contains(caminho + ".id")) {
+                caminho = caminho + ".id";
+            }
+            if (!permitidos.contains(caminho)) {
+                throw new BusinessException("CMP002", "Campo " + campo.trim() + " não disponível. Use: "
+                        + String.join(", ", new TreeSet<>(permitidos)) + ".");
+            }
+            caminhos.add(caminho);
+        }
+        if (caminhos.isEmpty()) {
+            throw new BusinessException("CMP001", "Informe ao menos um campo em fields.");
+        }
+        return new CamposParciais(List.copyOf(caminhos));
+    }
+
+    //na ordem pedida, sem repetição
+    public List<String> caminhos() {
+        return caminhos;
+    }
+
+    //atributos da própria entidade ou de uma associação; o que vem antes do ponto
+    static String associacao(String caminho) {
+        int ponto = caminho.indexOf('.');
+        return ponto < 0 ? caminho : caminho.substring(0, ponto);
+    }
+
+    static String atributo(String caminho) {
+        int ponto = caminho.indexOf('.');
+        return ponto < 0 ? null : caminho.substring(ponto + 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", caminhos);
+    }
+}
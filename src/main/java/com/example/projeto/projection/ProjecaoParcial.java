@@ -0,0 +1,154 @@
+package com.example.projeto.projection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.ManagedType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//consulta só as colunas dos CamposParciais e devolve mapas na ordem pedida, sem montar entidades.
+//atributo.id de uma associação vem da chave estrangeira (sem join); outros atributos dela usam left join;
+//coleções saem numa segunda consulta (uma para cada coleção pedida), agrupadas pelo id da entidade.
+//precisa de transação aberta pelo chamador, como os repositórios.
+@Component
+@RequiredArgsConstructor
+public class ProjecaoParcial {
+
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    @FunctionalInterface
+    public interface Filtro {
+        Predicate aplicar(CriteriaBuilder cb, Root<?> raiz);
+    }
+
+    public List<Map<String, Object>> listar(Class<?> entidade, CamposParciais campos, Filtro filtro) {
+        return consultar(entidade, campos, filtro);
+    }
+
+    public Optional<Map<String, Object>> buscar(Class<?> entidade, Object id, CamposParciais campos) {
+        return consultar(entidade, campos, (cb, raiz) -> cb.equal(raiz.get(ID), id)).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> consultar(Class<?> entidade, CamposParciais campos, Filtro filtro) {
+        ManagedType<?> tipo = entityManager.getMetamodel().managedType(entidade);
+        List<String> singulares = new ArrayList<>();
+        Map<String, List<String>> colecoes = new LinkedHashMap<>();
+        for (String caminho : campos.caminhos()) {
+            String associacao = CamposParciais.associacao(caminho);
+            if (tipo.getAttribute(associacao).isCollection()) {
+                colecoes.computeIfAbsent(associacao, a -> new ArrayList<>()).add(CamposParciais.atributo(caminho));
+            } else {
+                singulares.add(caminho);
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> raiz = consulta.from(entidade);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selecoes = new ArrayList<>();
+        selecoes.add(raiz.get(ID));
+        for (String caminho : singulares) {
+            selecoes.add(expressao(raiz, joins, caminho));
+        }
+        consulta.multiselect(selecoes).orderBy(cb.asc(raiz.get(ID)));
+        if (filtro != null) {
+            consulta.where(filtro.aplicar(cb, raiz));
+        }
+
+        Map<Object, Map<String, Object>> porId = new LinkedHashMap<>();
+        for (Tuple linha : entityManager.createQuery(consulta).getResultList()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            int coluna = 1;
+            for (String caminho : campos.caminhos()) {
+                String associacao = CamposParciais.associacao(caminho);
+                if (colecoes.containsKey(associacao)) {
+                    item.putIfAbsent(associacao, new ArrayList<Map<String, Object>>());
+                } else {
+                    colocar(item, caminho, linha.get(coluna++));
+                }
+            }
+            anularAssociacoesVazias(item);
+            porId.put(linha.get(0), item);
+        }
+        if (!porId.isEmpty()) {
+            colecoes.forEach((colecao, atributos) -> carregarColecao(entidade, colecao, atributos, filtro, porId));
+        }
+        return new ArrayList<>(porId.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void carregarColecao(Class<?> entidade, String colecao, List<String> atributos, Filtro filtro,
+                                 Map<Object, Map<String, Object>> porId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> raiz = consulta.from(entidade);
+        Join<?, ?> join = raiz.join(colecao);
+        List<Selection<?>> selecoes = new ArrayList<>();
+        selecoes.add(raiz.get(ID));
+        atributos.forEach(atributo -> selecoes.add(join.get(atributo)));
+        consulta.multiselect(selecoes).orderBy(cb.asc(raiz.get(ID)), cb.asc(join.get(ID)));
+        if (filtro != null) {
+            consulta.where(filtro.aplicar(cb, raiz));
+        }
+        for (Tuple linha : entityManager.createQuery(consulta).getResultList()) {
+            Map<String, Object> dono = porId.get(linha.get(0));
+            if (dono == null) {
+                continue;
+            }
+            Map<String, Object> elemento = new LinkedHashMap<>();
+            for (int i = 0; i < atributos.size(); i++) {
+                elemento.put(atributos.get(i), linha.get(i + 1));
+            }
+            ((List<Map<String, Object>>) dono.get(colecao)).add(elemento);
+        }
+    }
+
+    private static Path<?> expressao(Root<?> raiz, Map<String, Join<?, ?>> joins, String caminho) {
+        String atributo = CamposParciais.atributo(caminho);
+        if (atributo == null) {
+            return raiz.get(caminho);
+        }
+        String associacao = CamposParciais.associacao(caminho);
+        if (ID.equals(atributo)) {
+            return raiz.get(associacao).get(ID);
+        }
+        From<?, ?> join = joins.computeIfAbsent(associacao, a -> raiz.join(a, JoinType.LEFT));
+        return join.get(atributo);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void colocar(Map<String, Object> item, String caminho, Object valor) {
+        String atributo = CamposParciais.atributo(caminho);
+        if (atributo == null) {
+            item.put(caminho, valor);
+            return;
+        }
+        ((Map<String, Object>) item.computeIfAbsent(CamposParciais.associacao(caminho), a -> new LinkedHashMap<>()))
+                .put(atributo, valor);
+    }
+
+    //associação nula (left join sem par): null no lugar de um objeto com todos os campos nulos
+    private static void anularAssociacoesVazias(Map<String, Object> item) {
+        item.replaceAll((nome, valor) -> valor instanceof Map<?, ?> associacao
+                && associacao.values().stream().allMatch(v -> v == null) ? null : valor);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.projeto.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+//UPDATE só das colunas informadas, com a checagem otimista de versão no próprio WHERE:
+//  update <tabela> set c1 = ?, c2 = ?, versao = versao + 1 where id = ? and versao = ?
+//Um comando, sem SELECT antes. Vai direto no JDBC porque um UPDATE em JPQL faz o Hibernate esvaziar a
+//região inteira da entidade no cache de segundo nível; aqui só o id alterado sai do cache, agora e depois
+//do commit (para não ficar a cópia que outra transação leia nesse meio-tempo).
+@Repository
+@RequiredArgsConstructor
+public class AtualizacaoParcialRepository {
+
+    public enum Resultado { ATUALIZADO, NAO_ENCONTRADO, VERSAO_DESATUALIZADA }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    //as colunas vêm das listas fixas dos serviços, nunca do cliente; precisa de transação
+    public Resultado atualizar(Class<?> entidade, Object id, long versao, Map<String, Object> colunas) {
+        String tabela = entidade.getAnnotation(Table.class).name();
+        StringBuilder sql = new StringBuilder("update ").append(tabela).append(" set ");
+        List<Object> parametros = new ArrayList<>(colunas.size() + 2);
+        colunas.forEach((coluna, valor) -> {
+            sql.append(coluna).append(" = ?, ");
+            parametros.add(valor);
+        });
+        sql.append("versao = versao + 1 where id = ? and versao = ?");
+        parametros.add(id);
+        parametros.add(versao);
+
+        if (jdbcTemplate.update(sql.toString(), parametros.toArray()) == 0) {
+            //só no caminho de erro: separa id inexistente de versão desatualizada
+            Integer existe = jdbcTemplate.queryForObject("select count(*) from " + tabela + " where id = ?",
+                    Integer.class, id);
+            return existe != null && existe > 0 ? Resultado.VERSAO_DESATUALIZADA : Resultado.NAO_ENCONTRADO;
+        }
+        despejarDoCache(entidade, id);
+        return Resultado.ATUALIZADO;
+    }
+
+    private void despejarDoCache(Class<?> entidade, Object id) {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        cache.evict(entidade, id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(entidade, id);
+            }
+        });
+    }
+}
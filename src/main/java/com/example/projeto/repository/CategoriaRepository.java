@@ -1,9 +1,31 @@
 package com.example.projeto.repository;
 
+import com.example.projeto.dto.CategoriaResumoDTO;
 import com.example.projeto.model.Categoria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, Integer> {
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "consulta.categorias")
+    })
+    List<Categoria> findAll();
+
+    //contagem agregada no banco, pelo índice idx_produtos_categoria, sem carregar os produtos
+    @Query("""
+            select new com.example.projeto.dto.CategoriaResumoDTO(c.id, c.nome, c.descricao, count(p.id))
+            from Categoria c left join c.produtos p
+            group by c.id, c.nome, c.descricao
+            order by c.nome, c.id""")
+    List<CategoriaResumoDTO> findResumos();
 }
@@ -0,0 +1,34 @@
+package com.example.projeto.repository;
+
+import com.example.projeto.model.EventoPedido;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EventoPedidoRepository extends JpaRepository<EventoPedido, Long> {
+
+    //os mais antigos primeiro, travados até o fim da transação; linhas já travadas por outra instância
+    //do relay ficam de fora (lock timeout -2 = SKIP LOCKED), então duas instâncias não enviam o mesmo lote.
+    //Eventos que já chegaram ao máximo de tentativas estão estacionados e também ficam de fora
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EventoPedido e where e.tentativas < :maximoTentativas order by e.id")
+    List<EventoPedido> findPendentes(int maximoTentativas, Limit limit);
+
+    @Modifying
+    @Query("delete from EventoPedido e where e.id in :ids")
+    int deleteByIds(List<Long> ids);
+
+    @Modifying
+    @Query("update EventoPedido e set e.tentativas = e.tentativas + 1 where e.id in :ids")
+    int incrementarTentativas(List<Long> ids);
+}
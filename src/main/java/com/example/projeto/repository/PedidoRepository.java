@@ -1,9 +1,53 @@
 package com.example.projeto.repository;
 
 import com.example.projeto.model.Pedido;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Integer> {
+
+    @Override
+    @EntityGraph("Pedido.detalhe")
+    List<Pedido> findAll();
+
+    @Override
+    @EntityGraph("Pedido.detalhe")
+    Optional<Pedido> findById(Integer id);
+
+    @EntityGraph("Pedido.detalhe")
+    List<Pedido> findByIdIn(Collection<Integer> ids);
+
+    @EntityGraph("Pedido.exportacao")
+    @Query("select p from Pedido p order by p.id")
+    List<Pedido> findAllParaExportacao();
+
+    //paginação por cursor sobre idx_pedidos_user_data (user_id, data, id), percorrido do fim para o início
+    @Query("select p from Pedido p where p.cliente.id = :clienteId order by p.data desc, p.id desc")
+    List<Pedido> findPrimeiraPaginaDoCliente(Long clienteId, Limit limit);
+
+    @Query("""
+            select p from Pedido p
+            where p.cliente.id = :clienteId
+              and (p.data < :data or (p.data = :data and p.id < :id))
+            order by p.data desc, p.id desc""")
+    List<Pedido> findPaginaDoClienteApos(Long clienteId, LocalDate data, Integer id, Limit limit);
+
+    //popularidade dos produtos para o autocomplete
+    @Query("select pr.id as produtoId, count(distinct p.id) as pedidos from Pedido p join p.produtos pr group by pr.id")
+    List<PedidosPorProduto> contarPedidosPorProduto();
+
+    interface PedidosPorProduto {
+        Integer getProdutoId();
+
+        Long getPedidos();
+    }
 }
@@ -0,0 +1,67 @@
+package com.example.projeto.repository;
+
+import com.example.projeto.model.Produto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+//INSERT de produtos em lote direto no JDBC. Com id IDENTITY o Hibernate grava um produto por comando,
+//porque precisa do id gerado de cada um antes de seguir; aqui o bloco inteiro vai num só executeBatch
+//(que o driver do MySQL reescreve num INSERT multi-linha, ver rewriteBatchedStatements) e os ids voltam
+//do getGeneratedKeys. Precisa de transação: a conexão é a mesma do EntityManager.
+@Repository
+@RequiredArgsConstructor
+public class ProdutoImportacaoRepository {
+
+    private static final String INSERT = "insert into produtos (nome, preco, descricao, estoque, categoria_id, versao) "
+            + "values (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //preenche id e versao dos produtos gravados
+    public void inserir(List<Produto> produtos) {
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(conexao -> conexao.prepareStatement(INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Produto produto = produtos.get(i);
+                        ps.setString(1, produto.getNome());
+                        ps.setDouble(2, produto.getPreco());
+                        ps.setString(3, produto.getDescricao());
+                        if (produto.getEstoque() == null) {
+                            ps.setNull(4, Types.INTEGER);
+                        } else {
+                            ps.setInt(4, produto.getEstoque());
+                        }
+                        ps.setInt(5, produto.getCategoria().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return produtos.size();
+                    }
+                }, chaves);
+
+        List<Map<String, Object>> geradas = chaves.getKeyList();
+        if (geradas.size() != produtos.size()) {
+            throw new IllegalStateException("O banco devolveu " + geradas.size() + " ids para "
+                    + produtos.size() + " produtos inseridos.");
+        }
+        for (int i = 0; i < produtos.size(); i++) {
+            //o nome da coluna muda com o driver (ID no H2, GENERATED_KEY no MySQL)
+            Number id = (Number) geradas.get(i).values().iterator().next();
+            produtos.get(i).setId(id.intValue());
+            produtos.get(i).setVersao(0L);
+        }
+    }
+}
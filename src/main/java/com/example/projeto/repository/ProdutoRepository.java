@@ -1,9 +1,15 @@
 package com.example.projeto.repository;
 
 import com.example.projeto.model.Produto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Integer> {
+
+    //paginação por cursor (id) sobre idx_produtos_categoria
+    List<Produto> findByCategoriaIdAndIdGreaterThanOrderById(Integer categoriaId, Integer id, Limit limit);
 }
@@ -0,0 +1,20 @@
+package com.example.projeto.repository;
+
+import com.example.projeto.model.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    List<TokenRevogado> findByExpiracaoAfter(Instant instante);
+
+    @Modifying
+    @Query("delete from TokenRevogado t where t.expiracao <= :instante")
+    int deleteExpirados(Instant instante);
+}
@@ -0,0 +1,313 @@
+package com.example.projeto.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//trie compactada (radix) sobre os nomes normalizados dos produtos, indexando cada nome também a partir de
+//cada palavra ("mochila para notebook" entra como "mochila para notebook" e "notebook").
+//cada nó guarda os ids dos K produtos mais populares da sua subárvore, então uma sugestão é só descer pelo
+//prefixo e copiar a lista do nó. Alterações recalculam essa lista só nos nós do caminho até a raiz,
+//juntando as listas dos filhos (que já contêm o top-K de cada subárvore). Não é thread-safe.
+public class AutocompleteTrie {
+
+    private static final int[] VAZIO = new int[0];
+    private static final int MAX_PALAVRAS = 8;
+
+    private final int k;
+    private final No raiz = new No("", null);
+    private final Map<Integer, Entrada> entradas = new HashMap<>();
+
+    public AutocompleteTrie(int k) {
+        this.k = k;
+    }
+
+    public record Sugestao(int id, String nome, long popularidade) {
+    }
+
+    private static final class No {
+        String rotulo;
+        No pai;
+        final Map<Character, No> filhos = new HashMap<>(4);
+        int[] terminais = VAZIO;
+        int[] top = VAZIO;
+
+        No(String rotulo, No pai) {
+            this.rotulo = rotulo;
+            this.pai = pai;
+        }
+    }
+
+    private static final class Entrada {
+        final int id;
+        final String nome;
+        final String ordem;
+        long popularidade;
+        final List<No> nos = new ArrayList<>();
+
+        Entrada(int id, String nome, long popularidade) {
+            this.id = id;
+            this.nome = nome;
+            this.ordem = TextNormalizer.normalizar(nome);
+            this.popularidade = popularidade;
+        }
+    }
+
+    public int tamanho() {
+        return entradas.size();
+    }
+
+    public long popularidade(int id) {
+        Entrada entrada = entradas.get(id);
+        return entrada != null ? entrada.popularidade : 0;
+    }
+
+    //insere ou substitui o produto
+    public void inserir(int id, String nome, long popularidade) {
+        remover(id);
+        if (nome == null || nome.isBlank()) {
+            return;
+        }
+        Entrada entrada = new Entrada(id, nome, popularidade);
+        entradas.put(id, entrada);
+        for (String chave : chaves(nome)) {
+            No no = inserirChave(chave, id);
+            if (!entrada.nos.contains(no)) {
+                entrada.nos.add(no);
+            }
+        }
+        entrada.nos.forEach(no -> promover(no, id));
+    }
+
+    public void remover(int id) {
+        Entrada entrada = entradas.remove(id);
+        if (entrada == null) {
+            return;
+        }
+        for (No no : entrada.nos) {
+            no.terminais = semId(no.terminais, id);
+        }
+        for (No no : entrada.nos) {
+            //uma chave pode ser prefixo de outra do mesmo nome ("vinho tinto vinho" e "vinho"): a poda da
+            //mais funda já pode ter tirado ou fundido o nó da outra, e o caminho dele já foi recalculado
+            if (no == raiz || no.pai != null) {
+                recalcularCaminho(podar(no));
+            }
+        }
+    }
+
+    public void somarPopularidade(int id, long delta) {
+        Entrada entrada = entradas.get(id);
+        if (entrada == null || delta == 0) {
+            return;
+        }
+        entrada.popularidade += delta;
+        if (delta > 0) {
+            entrada.nos.forEach(no -> promover(no, id));
+        } else {
+            entrada.nos.forEach(this::recalcularCaminho);
+        }
+    }
+
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        No no = localizar(TextNormalizer.compactar(prefixo));
+        if (no == null || limite <= 0) {
+            return List.of();
+        }
+        int quantidade = Math.min(limite, no.top.length);
+        List<Sugestao> sugestoes = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Entrada entrada = entradas.get(no.top[i]);
+            sugestoes.add(new Sugestao(entrada.id, entrada.nome, entrada.popularidade));
+        }
+        return sugestoes;
+    }
+
+    static List<String> chaves(String nome) {
+        String[] palavras = TextNormalizer.compactar(nome).split(" ");
+        List<String> chaves = new ArrayList<>();
+        int limite = Math.min(palavras.length, MAX_PALAVRAS);
+        for (int i = 0; i < limite; i++) {
+            if (palavras[i].isEmpty() || (i > 0 && TextNormalizer.palavraVazia(palavras[i]))) {
+                continue;
+            }
+            chaves.add(String.join(" ", Arrays.copyOfRange(palavras, i, palavras.length)));
+        }
+        return chaves;
+    }
+
+    //nó cuja subárvore contém todas as chaves que começam com o prefixo (o prefixo pode terminar no meio de um rótulo)
+    private No localizar(String prefixo) {
+        No no = raiz;
+        int i = 0;
+        while (i < prefixo.length()) {
+            No filho = no.filhos.get(prefixo.charAt(i));
+            if (filho == null) {
+                return null;
+            }
+            String rotulo = filho.rotulo;
+            int comum = prefixoComum(rotulo, prefixo, i);
+            if (comum < rotulo.length() && i + comum < prefixo.length()) {
+                return null;
+            }
+            no = filho;
+            i += comum;
+        }
+        return no;
+    }
+
+    private No inserirChave(String chave, int id) {
+        No no = raiz;
+        int i = 0;
+        while (i < chave.length()) {
+            char c = chave.charAt(i);
+            No filho = no.filhos.get(c);
+            if (filho == null) {
+                No folha = new No(chave.substring(i), no);
+                no.filhos.put(c, folha);
+                no = folha;
+                break;
+            }
+            String rotulo = filho.rotulo;
+            int comum = prefixoComum(rotulo, chave, i);
+            if (comum < rotulo.length()) {
+                //divide a aresta: o nó intermediário herda o top-K do filho, que é a subárvore inteira dele
+                No meio = new No(rotulo.substring(0, comum), no);
+                meio.top = filho.top;
+                no.filhos.put(c, meio);
+                filho.rotulo = rotulo.substring(comum);
+                filho.pai = meio;
+                meio.filhos.put(filho.rotulo.charAt(0), filho);
+                filho = meio;
+            }
+            no = filho;
+            i += comum;
+        }
+        no.terminais = comId(no.terminais, id);
+        return no;
+    }
+
+    //sobe a partir de um nó que perdeu terminais, removendo nós vazios e juntando nós com um único filho
+    private No podar(No no) {
+        No atual = no;
+        while (atual != raiz && atual.terminais.length == 0 && atual.filhos.isEmpty()) {
+            No pai = atual.pai;
+            pai.filhos.remove(atual.rotulo.charAt(0));
+            atual.pai = null;
+            atual = pai;
+        }
+        if (atual != raiz && atual.terminais.length == 0 && atual.filhos.size() == 1) {
+            No filho = atual.filhos.values().iterator().next();
+            filho.rotulo = atual.rotulo + filho.rotulo;
+            filho.pai = atual.pai;
+            atual.pai.filhos.put(filho.rotulo.charAt(0), filho);
+            atual.pai = null;
+            atual = filho.pai;
+        }
+        return atual;
+    }
+
+    //o produto entrou ou subiu de posição: em cada nó do caminho ele só pode subir na lista, e se não entra
+    //no top-K de um nó também não entra no dos ancestrais, cujo K-ésimo colocado é pelo menos tão bom
+    private void promover(No no, int id) {
+        for (No atual = no; atual != null; atual = atual.pai) {
+            int[] top = atual.top;
+            int posicao = indice(top, id);
+            if (posicao < 0) {
+                if (top.length == k && comparar(id, top[k - 1]) >= 0) {
+                    return;
+                }
+                top = Arrays.copyOf(top, Math.min(top.length + 1, k));
+                posicao = top.length - 1;
+                top[posicao] = id;
+            } else {
+                top = top.clone();
+            }
+            while (posicao > 0 && comparar(id, top[posicao - 1]) < 0) {
+                top[posicao] = top[posicao - 1];
+                top[--posicao] = id;
+            }
+            atual.top = top;
+        }
+    }
+
+    //remoções e quedas de popularidade refazem a lista a partir dos filhos, porque o substituto pode estar em qualquer um
+    private void recalcularCaminho(No no) {
+        for (No atual = no; atual != null; atual = atual.pai) {
+            atual.top = calcularTop(atual);
+        }
+    }
+
+    private int[] calcularTop(No no) {
+        int tamanho = no.terminais.length;
+        for (No filho : no.filhos.values()) {
+            tamanho += filho.top.length;
+        }
+        int[] candidatos = new int[tamanho];
+        int n = 0;
+        for (int id : no.terminais) {
+            candidatos[n++] = id;
+        }
+        for (No filho : no.filhos.values()) {
+            for (int id : filho.top) {
+                candidatos[n++] = id;
+            }
+        }
+        //numa remoção, filhos fora do caminho sendo recalculado ainda podem citar o id removido
+        Integer[] ordenados = Arrays.stream(candidatos, 0, n).distinct().filter(entradas::containsKey)
+                .boxed().toArray(Integer[]::new);
+        Arrays.sort(ordenados, this::comparar);
+        int quantidade = Math.min(k, ordenados.length);
+        int[] top = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            top[i] = ordenados[i];
+        }
+        return top;
+    }
+
+    private int comparar(int a, int b) {
+        Entrada ea = entradas.get(a);
+        Entrada eb = entradas.get(b);
+        int porPopularidade = Long.compare(eb.popularidade, ea.popularidade);
+        if (porPopularidade != 0) {
+            return porPopularidade;
+        }
+        int porNome = ea.ordem.compareTo(eb.ordem);
+        return porNome != 0 ? porNome : Integer.compare(a, b);
+    }
+
+    private static int prefixoComum(String rotulo, String texto, int inicio) {
+        int limite = Math.min(rotulo.length(), texto.length() - inicio);
+        int i = 0;
+        while (i < limite && rotulo.charAt(i) == texto.charAt(inicio + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indice(int[] ids, int id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] comId(int[] ids, int id) {
+        for (int existente : ids) {
+            if (existente == id) {
+                return ids;
+            }
+        }
+        int[] novo = Arrays.copyOf(ids, ids.length + 1);
+        novo[ids.length] = id;
+        return novo;
+    }
+
+    private static int[] semId(int[] ids, int id) {
+        return Arrays.stream(ids).filter(existente -> existente != id).toArray();
+    }
+}
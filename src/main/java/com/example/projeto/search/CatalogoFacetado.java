@@ -0,0 +1,308 @@
+package com.example.projeto.search;
+
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.event.ProdutosImportadosEvent;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//navegação do catálogo por categoria, faixa de preço e disponibilidade em estoque.
+//cada valor de faceta é um BitSet indexado pelo id do produto, com a contagem mantida a cada alteração:
+//sem filtros as contagens saem direto dos contadores, com filtros são cardinalidades de interseções de
+//bitsets, sem percorrer os produtos. Dentro de uma faceta os valores escolhidos se somam (OU) e entre
+//facetas se restringem (E); a contagem de cada faceta ignora o próprio filtro, para mostrar as alternativas.
+@Slf4j
+@Component
+public class CatalogoFacetado {
+
+    private final ProdutoRepository produtoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, ProdutoIndexado> produtos = new HashMap<>();
+    private final Faceta todos = new Faceta();
+    private final Faceta emEstoque = new Faceta();
+    private final Map<Integer, Faceta> porCategoria = new HashMap<>();
+    private final Faceta[] porFaixa = new Faceta[FaixaPreco.values().length];
+
+    public CatalogoFacetado(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+        for (int i = 0; i < porFaixa.length; i++) {
+            porFaixa[i] = new Faceta();
+        }
+    }
+
+    public record Filtro(Collection<Integer> categoriaIds, Collection<FaixaPreco> faixas, Boolean emEstoque) {
+    }
+
+    public record Resultado(List<ProdutoIndexado> itens, Integer proximoAposId, int total,
+                            Map<Integer, Integer> categorias, Map<FaixaPreco, Integer> faixas,
+                            int emEstoque, int semEstoque) {
+    }
+
+    private static final class Faceta {
+        final BitSet membros = new BitSet();
+        int quantidade;
+
+        void adicionar(int id) {
+            membros.set(id);
+            quantidade++;
+        }
+
+        void retirar(int id) {
+            membros.clear(id);
+            quantidade--;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<ProdutoIndexado> lista = produtoRepository.findAll().stream().map(ProdutoIndexado::de).toList();
+        reconstruir(lista);
+        log.info("Catálogo facetado carregado com {} produtos", lista.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent event) {
+        if (event.tipo() == ProdutoAlteradoEvent.Tipo.REMOVIDO) {
+            remover(event.produtoId());
+        } else {
+            indexar(ProdutoIndexado.de(event.produto()));
+        }
+    }
+
+    //sem a cópia no catálogo não há sobre o que aplicar; ela volta na próxima carga
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarProduto(ProdutoAtualizadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            ProdutoIndexado atual = produtos.get(event.produtoId());
+            if (atual != null) {
+                retirar(event.produtoId());
+                adicionar(atual.com(event.campos()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //o bloco inteiro entra sob uma única trava de escrita
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportarProdutos(ProdutosImportadosEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Produto produto : event.produtos()) {
+                ProdutoIndexado indexado = ProdutoIndexado.de(produto);
+                retirar(indexado.id());
+                adicionar(indexado);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void reconstruir(Collection<ProdutoIndexado> lista) {
+        lock.writeLock().lock();
+        try {
+            List.copyOf(produtos.keySet()).forEach(this::retirar);
+            lista.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(ProdutoIndexado produto) {
+        lock.writeLock().lock();
+        try {
+            retirar(produto.id());
+            adicionar(produto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer produtoId) {
+        lock.writeLock().lock();
+        try {
+            retirar(produtoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //itens em ordem de id, a partir do primeiro id maior que aposId
+    public Resultado navegar(Filtro filtro, Integer aposId, int tamanho) {
+        lock.readLock().lock();
+        try {
+            BitSet categorias = uniaoCategorias(filtro.categoriaIds());
+            BitSet faixas = uniaoFaixas(filtro.faixas());
+            BitSet estoque = filtroEstoque(filtro.emEstoque());
+
+            BitSet selecionados = interseccao(categorias, faixas, estoque);
+            BitSet base = selecionados != null ? selecionados : todos.membros;
+
+            List<ProdutoIndexado> itens = new ArrayList<>(tamanho);
+            int id = base.nextSetBit(aposId == null ? 0 : aposId + 1);
+            while (id >= 0 && itens.size() < tamanho) {
+                itens.add(produtos.get(id));
+                id = base.nextSetBit(id + 1);
+            }
+            Integer proximoAposId = id >= 0 ? itens.get(itens.size() - 1).id() : null;
+
+            BitSet paraCategorias = interseccao(faixas, estoque);
+            BitSet paraFaixas = interseccao(categorias, estoque);
+            BitSet paraEstoque = interseccao(categorias, faixas);
+            int disponiveis = contar(emEstoque, paraEstoque);
+            int totalParaEstoque = paraEstoque != null ? paraEstoque.cardinality() : todos.quantidade;
+            return new Resultado(itens, proximoAposId, base.cardinality(),
+                    contagensPorCategoria(paraCategorias), contagensPorFaixa(paraFaixas),
+                    disponiveis, totalParaEstoque - disponiveis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return todos.quantidade;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Integer> contagensPorCategoria(BitSet filtro) {
+        Map<Integer, Integer> contagens = new TreeMap<>();
+        porCategoria.forEach((categoriaId, faceta) -> {
+            int quantidade = contar(faceta, filtro);
+            if (quantidade > 0) {
+                contagens.put(categoriaId, quantidade);
+            }
+        });
+        return contagens;
+    }
+
+    private Map<FaixaPreco, Integer> contagensPorFaixa(BitSet filtro) {
+        Map<FaixaPreco, Integer> contagens = new EnumMap<>(FaixaPreco.class);
+        for (FaixaPreco faixa : FaixaPreco.values()) {
+            contagens.put(faixa, contar(porFaixa[faixa.ordinal()], filtro));
+        }
+        return contagens;
+    }
+
+    private static int contar(Faceta faceta, BitSet filtro) {
+        if (filtro == null) {
+            return faceta.quantidade;
+        }
+        BitSet interseccao = (BitSet) faceta.membros.clone();
+        interseccao.and(filtro);
+        return interseccao.cardinality();
+    }
+
+    private BitSet uniaoCategorias(Collection<Integer> categoriaIds) {
+        if (categoriaIds == null || categoriaIds.isEmpty()) {
+            return null;
+        }
+        BitSet uniao = new BitSet();
+        for (Integer categoriaId : categoriaIds) {
+            Faceta faceta = porCategoria.get(categoriaId);
+            if (faceta != null) {
+                uniao.or(faceta.membros);
+            }
+        }
+        return uniao;
+    }
+
+    private BitSet uniaoFaixas(Collection<FaixaPreco> faixas) {
+        if (faixas == null || faixas.isEmpty()) {
+            return null;
+        }
+        BitSet uniao = new BitSet();
+        for (FaixaPreco faixa : faixas) {
+            uniao.or(porFaixa[faixa.ordinal()].membros);
+        }
+        return uniao;
+    }
+
+    private BitSet filtroEstoque(Boolean disponivel) {
+        if (disponivel == null) {
+            return null;
+        }
+        if (disponivel) {
+            return emEstoque.membros;
+        }
+        BitSet indisponiveis = (BitSet) todos.membros.clone();
+        indisponiveis.andNot(emEstoque.membros);
+        return indisponiveis;
+    }
+
+    //filtros nulos não restringem; devolve nulo se nenhum restringe
+    private static BitSet interseccao(BitSet... filtros) {
+        BitSet resultado = null;
+        for (BitSet filtro : filtros) {
+            if (filtro == null) {
+                continue;
+            }
+            if (resultado == null) {
+                resultado = (BitSet) filtro.clone();
+            } else {
+                resultado.and(filtro);
+            }
+        }
+        return resultado;
+    }
+
+    private void adicionar(ProdutoIndexado produto) {
+        int id = produto.id();
+        produtos.put(id, produto);
+        todos.adicionar(id);
+        if (produto.estoque() != null && produto.estoque() > 0) {
+            emEstoque.adicionar(id);
+        }
+        if (produto.categoriaId() != null) {
+            porCategoria.computeIfAbsent(produto.categoriaId(), c -> new Faceta()).adicionar(id);
+        }
+        FaixaPreco faixa = FaixaPreco.de(produto.preco());
+        if (faixa != null) {
+            porFaixa[faixa.ordinal()].adicionar(id);
+        }
+    }
+
+    private void retirar(Integer produtoId) {
+        ProdutoIndexado anterior = produtos.remove(produtoId);
+        if (anterior == null) {
+            return;
+        }
+        int id = produtoId;
+        todos.retirar(id);
+        if (emEstoque.membros.get(id)) {
+            emEstoque.retirar(id);
+        }
+        if (anterior.categoriaId() != null) {
+            Faceta categoria = porCategoria.get(anterior.categoriaId());
+            categoria.retirar(id);
+            if (categoria.quantidade == 0) {
+                porCategoria.remove(anterior.categoriaId());
+            }
+        }
+        FaixaPreco faixa = FaixaPreco.de(anterior.preco());
+        if (faixa != null) {
+            porFaixa[faixa.ordinal()].retirar(id);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.projeto.search;
+
+//faixas fixas de preço da navegação facetada; mínimo inclusivo, máximo exclusivo
+public enum FaixaPreco {
+    ATE_50(0, 50),
+    DE_50_A_100(50, 100),
+    DE_100_A_500(100, 500),
+    DE_500_A_1000(500, 1000),
+    DE_1000_A_5000(1000, 5000),
+    ACIMA_DE_5000(5000, Double.POSITIVE_INFINITY);
+
+    private final double minimo;
+    private final double maximo;
+
+    FaixaPreco(double minimo, double maximo) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    //preços negativos caem na primeira faixa; sem preço, o produto fica fora da faceta
+    public static FaixaPreco de(Double preco) {
+        if (preco == null) {
+            return null;
+        }
+        for (FaixaPreco faixa : values()) {
+            if (preco < faixa.maximo) {
+                return faixa;
+            }
+        }
+        return ACIMA_DE_5000;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.projeto.search;
+
+import com.example.projeto.event.PedidoCriadoEvent;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.event.ProdutosImportadosEvent;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.PedidoRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+//sugestões de nome de produto enquanto o usuário digita, servidas pela AutocompleteTrie.
+//popularidade = quantidade de pedidos em que o produto aparece; carregada na subida e somada a cada
+//PedidoCriadoEvent. Produtos criados, alterados ou removidos chegam pelo ProdutoAlteradoEvent depois do commit.
+@Slf4j
+@Component
+public class ProdutoAutocomplete {
+
+    static final int TOP_K = 10;
+
+    private final ProdutoRepository produtoRepository;
+    private final PedidoRepository pedidoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private AutocompleteTrie trie = new AutocompleteTrie(TOP_K);
+
+    public ProdutoAutocomplete(ProdutoRepository produtoRepository, PedidoRepository pedidoRepository) {
+        this.produtoRepository = produtoRepository;
+        this.pedidoRepository = pedidoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Map<Integer, Long> popularidade = pedidoRepository.contarPedidosPorProduto().stream()
+                .collect(Collectors.toMap(PedidoRepository.PedidosPorProduto::getProdutoId,
+                        PedidoRepository.PedidosPorProduto::getPedidos));
+        List<Produto> produtos = produtoRepository.findAll();
+        AutocompleteTrie nova = new AutocompleteTrie(TOP_K);
+        for (Produto produto : produtos) {
+            nova.inserir(produto.getId(), produto.getNome(), popularidade.getOrDefault(produto.getId(), 0L));
+        }
+        lock.writeLock().lock();
+        try {
+            trie = nova;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Autocomplete carregado com {} produtos", produtos.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.tipo() == ProdutoAlteradoEvent.Tipo.REMOVIDO) {
+                trie.remover(event.produtoId());
+            } else {
+                Produto produto = event.produto();
+                trie.inserir(produto.getId(), produto.getNome(), trie.popularidade(produto.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarProduto(ProdutoAtualizadoEvent event) {
+        if (!event.campos().containsKey("nome")) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            trie.inserir(event.produtoId(), (String) event.campos().get("nome"), trie.popularidade(event.produtoId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportarProdutos(ProdutosImportadosEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Produto produto : event.produtos()) {
+                trie.inserir(produto.getId(), produto.getNome(), trie.popularidade(produto.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            //um pedido conta uma vez por produto, como na carga inicial
+            event.produtoIds().stream().distinct().forEach(id -> trie.somarPopularidade(id, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<AutocompleteTrie.Sugestao> sugerir(String prefixo, int limite) {
+        if (prefixo == null || prefixo.isBlank()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.sugerir(prefixo, Math.min(limite, TOP_K));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return trie.tamanho();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
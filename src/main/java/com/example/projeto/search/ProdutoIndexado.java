@@ -0,0 +1,25 @@
+package com.example.projeto.search;
+
+import com.example.projeto.model.Produto;
+
+import java.util.Map;
+
+//cópia dos campos de Produto mantida no índice, para buscar e filtrar sem ir ao banco
+public record ProdutoIndexado(Integer id, String nome, String descricao, Double preco, Integer estoque, Integer categoriaId) {
+
+    public static ProdutoIndexado de(Produto produto) {
+        Integer categoriaId = produto.getCategoria() != null ? produto.getCategoria().getId() : null;
+        return new ProdutoIndexado(produto.getId(), produto.getNome(), produto.getDescricao(),
+                produto.getPreco(), produto.getEstoque(), categoriaId);
+    }
+
+    //cópia com os campos de um ProdutoAtualizadoEvent aplicados
+    public ProdutoIndexado com(Map<String, Object> campos) {
+        return new ProdutoIndexado(id,
+                campos.containsKey("nome") ? (String) campos.get("nome") : nome,
+                campos.containsKey("descricao") ? (String) campos.get("descricao") : descricao,
+                campos.containsKey("preco") ? (Double) campos.get("preco") : preco,
+                campos.containsKey("estoque") ? (Integer) campos.get("estoque") : estoque,
+                campos.containsKey("categoriaId") ? (Integer) campos.get("categoriaId") : categoriaId);
+    }
+}
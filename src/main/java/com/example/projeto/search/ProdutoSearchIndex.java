@@ -0,0 +1,258 @@
+package com.example.projeto.search;
+
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.event.ProdutosImportadosEvent;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.ProdutoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//índice invertido em memória sobre nome e descrição dos produtos, com ranking BM25.
+//cada termo da consulta casa por prefixo ("note" encontra "notebook"), com peso menor que o termo exato,
+//e o produto precisa casar com todos os termos. Carregado do banco na subida e atualizado pelos
+//ProdutoAlteradoEvent depois de cada commit; categoria e faixa de preço são filtradas nas cópias do índice.
+@Slf4j
+@Component
+public class ProdutoSearchIndex {
+
+    static final double PESO_NOME = 3.0;
+    static final double PESO_DESCRICAO = 1.0;
+    static final double FATOR_PREFIXO = 0.5;
+    static final int MAX_EXPANSOES_PREFIXO = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ProdutoRepository produtoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    //termo -> (produto -> frequência ponderada pelo campo)
+    private final NavigableMap<String, Map<Integer, Double>> termos = new TreeMap<>();
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+    private double somaComprimentos;
+
+    public ProdutoSearchIndex(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    public record Resultado(ProdutoIndexado produto, double relevancia) {
+    }
+
+    private record Documento(ProdutoIndexado produto, Map<String, Double> frequencias, double comprimento) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<ProdutoIndexado> produtos = produtoRepository.findAll().stream().map(ProdutoIndexado::de).toList();
+        reconstruir(produtos);
+        log.info("Índice de busca carregado com {} produtos", produtos.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent event) {
+        if (event.tipo() == ProdutoAlteradoEvent.Tipo.REMOVIDO) {
+            remover(event.produtoId());
+        } else {
+            indexar(ProdutoIndexado.de(event.produto()));
+        }
+    }
+
+    //sem a cópia no índice não há sobre o que aplicar; ela volta na próxima carga
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarProduto(ProdutoAtualizadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            Documento atual = documentos.get(event.produtoId());
+            if (atual != null) {
+                retirar(event.produtoId());
+                adicionar(atual.produto().com(event.campos()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //o bloco inteiro entra sob uma única trava de escrita
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportarProdutos(ProdutosImportadosEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Produto produto : event.produtos()) {
+                ProdutoIndexado indexado = ProdutoIndexado.de(produto);
+                retirar(indexado.id());
+                adicionar(indexado);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void reconstruir(Collection<ProdutoIndexado> produtos) {
+        lock.writeLock().lock();
+        try {
+            termos.clear();
+            documentos.clear();
+            somaComprimentos = 0;
+            produtos.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(ProdutoIndexado produto) {
+        lock.writeLock().lock();
+        try {
+            retirar(produto.id());
+            adicionar(produto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer produtoId) {
+        lock.writeLock().lock();
+        try {
+            retirar(produtoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //consulta vazia devolve todos os produtos que passam nos filtros, em ordem de nome
+    public List<Resultado> buscar(String consulta, Integer categoriaId, Double precoMin, Double precoMax, int limite) {
+        List<String> termosConsulta = TextNormalizer.termos(consulta);
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> pontuacao = termosConsulta.isEmpty() ? todos() : pontuar(termosConsulta);
+            List<Resultado> resultados = new ArrayList<>();
+            pontuacao.forEach((id, relevancia) -> {
+                ProdutoIndexado produto = documentos.get(id).produto();
+                if (passaNosFiltros(produto, categoriaId, precoMin, precoMax)) {
+                    resultados.add(new Resultado(produto, relevancia));
+                }
+            });
+            resultados.sort(Comparator.comparingDouble(Resultado::relevancia).reversed()
+                    .thenComparing(r -> TextNormalizer.normalizar(r.produto().nome()))
+                    .thenComparing(r -> r.produto().id()));
+            return resultados.size() > limite ? List.copyOf(resultados.subList(0, limite)) : resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> todos() {
+        Map<Integer, Double> todos = new HashMap<>();
+        documentos.keySet().forEach(id -> todos.put(id, 0.0));
+        return todos;
+    }
+
+    //soma, por produto, a melhor pontuação de cada termo da consulta; quem não casa com algum termo sai
+    private Map<Integer, Double> pontuar(List<String> termosConsulta) {
+        Map<Integer, Double> acumulado = null;
+        for (String termo : termosConsulta) {
+            Map<Integer, Double> doTermo = pontuarTermo(termo);
+            if (acumulado == null) {
+                acumulado = doTermo;
+            } else {
+                acumulado.keySet().retainAll(doTermo.keySet());
+                acumulado.replaceAll((id, soma) -> soma + doTermo.get(id));
+            }
+            if (acumulado.isEmpty()) {
+                break;
+            }
+        }
+        return acumulado;
+    }
+
+    private Map<Integer, Double> pontuarTermo(String termo) {
+        Map<Integer, Double> melhor = new HashMap<>();
+        Map<Integer, Double> exato = termos.get(termo);
+        if (exato != null) {
+            acumular(melhor, exato, 1.0);
+        }
+        if (termo.length() > 1) {
+            int expansoes = 0;
+            for (Map.Entry<String, Map<Integer, Double>> entrada
+                    : termos.subMap(termo, false, termo + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansoes > MAX_EXPANSOES_PREFIXO) {
+                    break;
+                }
+                acumular(melhor, entrada.getValue(), FATOR_PREFIXO);
+            }
+        }
+        return melhor;
+    }
+
+    private void acumular(Map<Integer, Double> melhor, Map<Integer, Double> postagens, double fator) {
+        double n = documentos.size();
+        double idf = Math.log(1 + (n - postagens.size() + 0.5) / (postagens.size() + 0.5));
+        double comprimentoMedio = n == 0 ? 1 : somaComprimentos / n;
+        postagens.forEach((id, frequencia) -> {
+            double comprimento = documentos.get(id).comprimento();
+            double bm25 = idf * frequencia * (K1 + 1)
+                    / (frequencia + K1 * (1 - B + B * comprimento / comprimentoMedio));
+            melhor.merge(id, bm25 * fator, Math::max);
+        });
+    }
+
+    private static boolean passaNosFiltros(ProdutoIndexado produto, Integer categoriaId, Double precoMin, Double precoMax) {
+        if (categoriaId != null && !categoriaId.equals(produto.categoriaId())) {
+            return false;
+        }
+        Double preco = produto.preco();
+        if (precoMin != null && (preco == null || preco < precoMin)) {
+            return false;
+        }
+        return precoMax == null || (preco != null && preco <= precoMax);
+    }
+
+    private void adicionar(ProdutoIndexado produto) {
+        Map<String, Double> frequencias = new HashMap<>();
+        TextNormalizer.termos(produto.nome()).forEach(t -> frequencias.merge(t, PESO_NOME, Double::sum));
+        TextNormalizer.termos(produto.descricao()).forEach(t -> frequencias.merge(t, PESO_DESCRICAO, Double::sum));
+        double comprimento = frequencias.values().stream().mapToDouble(Double::doubleValue).sum();
+
+        frequencias.forEach((termo, frequencia) ->
+                termos.computeIfAbsent(termo, t -> new HashMap<>()).put(produto.id(), frequencia));
+        documentos.put(produto.id(), new Documento(produto, frequencias, comprimento));
+        somaComprimentos += comprimento;
+    }
+
+    private void retirar(Integer produtoId) {
+        Documento anterior = documentos.remove(produtoId);
+        if (anterior == null) {
+            return;
+        }
+        for (String termo : anterior.frequencias().keySet()) {
+            Map<Integer, Double> postagens = termos.get(termo);
+            postagens.remove(produtoId);
+            if (postagens.isEmpty()) {
+                termos.remove(termo);
+            }
+        }
+        somaComprimentos -= anterior.comprimento();
+    }
+}
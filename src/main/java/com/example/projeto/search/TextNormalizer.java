@@ -0,0 +1,48 @@
+package com.example.projeto.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+//minúsculas sem acento ("Câmera Elétrica" -> "camera eletrica") e quebra em termos, sem as palavras vazias do português
+public final class TextNormalizer {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "de", "da", "do", "das", "dos", "e", "em", "na", "no", "nas", "nos",
+            "para", "por", "com", "sem", "ao", "aos");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean palavraVazia(String termo) {
+        return PALAVRAS_VAZIAS.contains(termo);
+    }
+
+    //texto normalizado com qualquer sequência de separadores trocada por um espaço
+    public static String compactar(String texto) {
+        return SEPARADORES.matcher(normalizar(texto)).replaceAll(" ").strip();
+    }
+
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(normalizar(texto))) {
+            if (!termo.isEmpty() && !PALAVRAS_VAZIAS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+}
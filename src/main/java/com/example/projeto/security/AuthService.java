@@ -1,7 +1,11 @@
 package com.example.projeto.security;
 
 import com.example.projeto.model.User;
+import com.example.projeto.observability.BusinessMetrics;
+import com.example.projeto.observability.MetricsConfig;
 import com.example.projeto.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -9,18 +13,25 @@ import org.springframework.stereotype.Service;
 import java.util.Date;
 
 @Service
+@Timed(MetricsConfig.SERVICO)
 @AllArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
+    private final BusinessMetrics businessMetrics;
 
     public AuthResponse authenticate(AuthRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+                .orElseThrow(() -> {
+                    businessMetrics.loginUsuarioNaoEncontrado();
+                    return new RuntimeException("Usuário não encontrado");
+                });
 
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            businessMetrics.loginSenhaIncorreta();
             throw new RuntimeException("Senha incorreta");
         }
 
@@ -43,4 +54,9 @@ public class AuthService {
 
         return authResponse;
     }
+
+    public void logout(String token) {
+        Claims claims = jwtService.extractAllClaims(token);
+        revocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.projeto.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,9 +20,11 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
 
-    public JwtAuthFilter(JwtService jwtService) {
+    public JwtAuthFilter(JwtService jwtService, TokenRevocationService revocationService) {
         this.jwtService = jwtService;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -38,10 +41,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String userEmail = jwtService.extractUsername(jwt);
+        final Claims claims = jwtService.extractAllClaims(jwt);
+        final String userEmail = claims.getSubject();
+
+        if (revocationService.isRevoked(claims.getId())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            String role = jwtService.extractAllClaims(jwt).get("role", String.class);
+            String role = claims.get("role", String.class);
             var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
 
 
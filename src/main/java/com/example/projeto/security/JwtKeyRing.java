@@ -0,0 +1,100 @@
+package com.example.projeto.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//conjunto de chaves do JWT indexado por kid: uma chave ativa assina, todas validam.
+//as instâncias de Key são montadas uma vez na inicialização, então a validação não decodifica segredo por requisição.
+//para rotacionar: adicionar a nova chave, torná-la ativa e manter a anterior até os tokens dela expirarem.
+@Component
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final String activeKid;
+    private final Key activeKey;
+    private final Map<String, Key> keys;
+
+    public JwtKeyRing(JwtProperties properties) {
+        Map<String, Key> carregadas = new LinkedHashMap<>();
+        properties.getKeys().forEach((kid, segredo) ->
+                carregadas.put(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(segredo))));
+        if (properties.getKeystore().getPath() != null && !properties.getKeystore().getPath().isBlank()) {
+            carregadas.putAll(loadKeystore(properties.getKeystore()));
+        }
+
+        if (carregadas.isEmpty()) {
+            throw new IllegalStateException("Nenhuma chave JWT configurada (security.jwt.keys ou security.jwt.keystore).");
+        }
+
+        this.activeKid = properties.getActiveKid() != null
+                ? properties.getActiveKid()
+                : carregadas.keySet().iterator().next();
+        this.activeKey = carregadas.get(activeKid);
+        if (activeKey == null) {
+            throw new IllegalStateException("Chave JWT ativa '" + activeKid + "' não encontrada.");
+        }
+        this.keys = Collections.unmodifiableMap(carregadas);
+    }
+
+    public String getActiveKid() {
+        return activeKid;
+    }
+
+    public Key getActiveKey() {
+        return activeKey;
+    }
+
+    Map<String, Key> getKeys() {
+        return keys;
+    }
+
+    //tokens emitidos antes do kid existir não trazem o header e são validados com a chave ativa
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            return activeKey;
+        }
+        Key key = keys.get(kid);
+        if (key == null) {
+            throw new JwtException("Chave JWT desconhecida: " + kid);
+        }
+        return key;
+    }
+
+    private static Map<String, Key> loadKeystore(JwtProperties.Keystore config) {
+        char[] senha = config.getPassword() != null ? config.getPassword().toCharArray() : null;
+        try (InputStream in = Files.newInputStream(Path.of(config.getPath()))) {
+            KeyStore keyStore = KeyStore.getInstance(config.getType());
+            keyStore.load(in, senha);
+
+            Map<String, Key> carregadas = new LinkedHashMap<>();
+            Enumeration<String> aliases = keyStore.aliases();
+            while (aliases.hasMoreElements()) {
+                String alias = aliases.nextElement();
+                if (keyStore.isKeyEntry(alias)) {
+                    carregadas.put(alias, keyStore.getKey(alias, senha));
+                }
+            }
+            return carregadas;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível carregar o keystore JWT: " + config.getPath(), e);
+        }
+    }
+}
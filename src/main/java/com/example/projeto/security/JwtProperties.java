@@ -0,0 +1,29 @@
+package com.example.projeto.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//configuração das chaves de assinatura do JWT (prefixo security.jwt)
+@Data
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtProperties {
+
+    //kid da chave usada para assinar novos tokens
+    private String activeKid;
+
+    //chaves HMAC em Base64 por kid; as que não são a ativa servem só para validar tokens antigos
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    private Keystore keystore = new Keystore();
+
+    //keystore local (PKCS12/JCEKS) com chaves secretas; cada alias é um kid
+    @Data
+    public static class Keystore {
+        private String path;
+        private String type = "PKCS12";
+        private String password;
+    }
+}
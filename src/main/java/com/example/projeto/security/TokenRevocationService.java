@@ -0,0 +1,58 @@
+package com.example.projeto.security;
+
+import com.example.projeto.model.TokenRevogado;
+import com.example.projeto.repository.TokenRevogadoRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//mantém em memória os jti revogados (jti -> expiração em ms), espelhando a tabela tokens_revogados.
+//a consulta no filtro é só um containsKey: sem acesso ao banco e sem alocação por requisição.
+@Service
+public class TokenRevocationService {
+
+    private final TokenRevogadoRepository repository;
+    private final Map<String, Long> revogados = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(TokenRevogadoRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revogados.containsKey(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiracao) {
+        if (jti == null || expiracao == null || !expiracao.isAfter(Instant.now())) {
+            return;
+        }
+        repository.save(new TokenRevogado(jti, expiracao));
+        revogados.put(jti, expiracao.toEpochMilli());
+    }
+
+    //recarrega revogações feitas por outras instâncias e descarta as que já expiraram:
+    //um token expirado é rejeitado pela própria validação do JWT, então não precisa mais estar na lista.
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.reload-ms:60000}")
+    @Transactional
+    public void reload() {
+        Instant agora = Instant.now();
+        for (TokenRevogado token : repository.findByExpiracaoAfter(agora)) {
+            revogados.put(token.getJti(), token.getExpiracao().toEpochMilli());
+        }
+        prune(agora.toEpochMilli());
+        repository.deleteExpirados(agora);
+    }
+
+    void prune(long agoraMillis) {
+        revogados.values().removeIf(expiracao -> expiracao <= agoraMillis);
+    }
+
+    int size() {
+        return revogados.size();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.projeto.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+//ObjectMappers CBOR e Smile montados pelo mesmo Jackson2ObjectMapperBuilder do ObjectMapper JSON do Spring Boot
+//(mesmos módulos e spring.jackson.*), então as três representações têm os mesmos campos.
+@Component
+public class FormatosBinarios {
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    //só lê árvores de JSON já serializado, então não depende da configuração do Boot
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    public FormatosBinarios(Jackson2ObjectMapperBuilder builder) {
+        this.cbor = builder.factory(new CBORFactory()).build();
+        this.smile = builder.factory(new SmileFactory()).build();
+    }
+
+    public ObjectMapper mapper(MediaType formato) {
+        if (CBOR.equalsTypeAndSubtype(formato)) {
+            return cbor;
+        }
+        if (SMILE.equalsTypeAndSubtype(formato)) {
+            return smile;
+        }
+        throw new IllegalArgumentException("Formato binário não suportado: " + formato);
+    }
+
+    //identifica o formato no ETag da representação binária, que não pode ser o mesmo da JSON
+    public static String sufixo(MediaType formato) {
+        if (CBOR.equalsTypeAndSubtype(formato)) {
+            return "cbor";
+        }
+        if (SMILE.equalsTypeAndSubtype(formato)) {
+            return "smile";
+        }
+        throw new IllegalArgumentException("Formato binário não suportado: " + formato);
+    }
+
+    //ETag da representação negociada pelo Accept: o do JSON, com o formato no fim quando a resposta sai em binário
+    public static String etag(String etag, String accept) {
+        MediaType formato = negociar(accept);
+        return formato == null ? etag : etag + "-" + sufixo(formato);
+    }
+
+    //reescreve um corpo JSON no formato binário sem passar de novo pelas entidades
+    public byte[] converterJson(byte[] json, MediaType formato) throws IOException {
+        return mapper(formato).writeValueAsBytes(JSON.readTree(json));
+    }
+
+    //o formato binário pedido no Accept, ou null quando JSON (ou um curinga que o inclui) tem preferência igual ou maior
+    public static MediaType negociar(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> tipos;
+        try {
+            tipos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        //ordenação estável: com a mesma qualidade vale a ordem do cliente
+        tipos.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType tipo : tipos) {
+            if (tipo.getQualityValue() == 0) {
+                break;
+            }
+            if (tipo.includes(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (CBOR.equalsTypeAndSubtype(tipo)) {
+                return CBOR;
+            }
+            if (SMILE.equalsTypeAndSubtype(tipo)) {
+                return SMILE;
+            }
+        }
+        return null;
+    }
+}
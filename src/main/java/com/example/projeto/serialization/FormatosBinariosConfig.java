@@ -0,0 +1,24 @@
+package com.example.projeto.serialization;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+//CBOR e Smile para todos os controllers por negociação de conteúdo (Accept: application/cbor ou
+//application/x-jackson-smile). Como beans, ocupam o lugar dos conversores padrão do Spring MVC, que
+//usariam um ObjectMapper sem a configuração do Boot; continuam depois do JSON, que segue sendo o padrão.
+//O VaryAcceptAdvice marca essas respostas com Vary: Accept e os ETags levam o formato (FormatosBinarios.etag).
+@Configuration
+public class FormatosBinariosConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(FormatosBinarios formatos) {
+        return new MappingJackson2CborHttpMessageConverter(formatos.mapper(FormatosBinarios.CBOR));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(FormatosBinarios formatos) {
+        return new MappingJackson2SmileHttpMessageConverter(formatos.mapper(FormatosBinarios.SMILE));
+    }
+}
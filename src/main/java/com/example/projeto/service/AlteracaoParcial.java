@@ -0,0 +1,190 @@
+package com.example.projeto.service;
+
+import com.example.projeto.exception.BusinessException;
+import com.example.projeto.repository.AtualizacaoParcialRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+//corpo de um PATCH no formato JSON merge patch (RFC 7396): só os campos presentes mudam e null apaga o valor.
+//O serviço declara cada campo aceito com a sua coluna; o resultado são as colunas do UPDATE e os novos
+//valores por campo, já convertidos, para os eventos.
+final class AlteracaoParcial {
+
+    private final Map<String, Object> corpo;
+    private final Map<String, Object> colunas = new LinkedHashMap<>();
+    private final Map<String, Object> valores = new LinkedHashMap<>();
+
+    private AlteracaoParcial(Map<String, Object> corpo) {
+        this.corpo = corpo;
+    }
+
+    //"versao" sai do corpo (é a versão esperada, não um campo alterável); os demais precisam estar em permitidos
+    static AlteracaoParcial de(Map<String, Object> corpo, Set<String> permitidos) {
+        Map<String, Object> campos = corpo == null ? new LinkedHashMap<>() : new LinkedHashMap<>(corpo);
+        campos.remove("versao");
+        if (campos.isEmpty()) {
+            throw new BusinessException("PAT001", "Informe ao menos um campo para alterar.");
+        }
+        for (String campo : campos.keySet()) {
+            if (!permitidos.contains(campo)) {
+                throw new BusinessException("PAT002", "O campo " + campo + " não pode ser alterado. "
+                        + "Aceitos: " + String.join(", ", new TreeSet<>(permitidos)) + ".");
+            }
+        }
+        return new AlteracaoParcial(campos);
+    }
+
+    //versão esperada: o ETag em If-Match ("produto-1-3", com ou sem aspas) ou o campo versao do corpo
+    static long versao(String ifMatch, Map<String, Object> corpo) {
+        String valor = null;
+        if (ifMatch != null && !ifMatch.isBlank()) {
+            valor = ifMatch.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            valor = valor.replace("\"", "");
+            valor = valor.substring(valor.lastIndexOf('-') + 1);
+        } else if (corpo != null && corpo.get("versao") != null) {
+            valor = corpo.get("versao").toString();
+        }
+        if (valor == null) {
+            throw new BusinessException("PAT003", "Informe a versão atual em If-Match ou no campo versao.");
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("PAT003", "Versão inválida: " + valor + ".");
+        }
+    }
+
+    //nenhuma linha atualizada: o registro não existe ou já está em outra versão
+    static void conferir(AtualizacaoParcialRepository.Resultado resultado, Class<?> entidade, Object id,
+                         Supplier<RuntimeException> naoEncontrado) {
+        switch (resultado) {
+            case NAO_ENCONTRADO -> throw naoEncontrado.get();
+            case VERSAO_DESATUALIZADA -> throw new ObjectOptimisticLockingFailureException(entidade, id);
+            case ATUALIZADO -> {
+            }
+        }
+    }
+
+    AlteracaoParcial texto(String campo, String coluna, boolean obrigatorio, int tamanho) {
+        if (!corpo.containsKey(campo)) {
+            return this;
+        }
+        Object valor = corpo.get(campo);
+        if (valor == null) {
+            return definir(campo, coluna, null, obrigatorio);
+        }
+        if (!(valor instanceof String texto) || (obrigatorio && texto.isBlank()) || texto.length() > tamanho) {
+            throw invalido(campo, valor);
+        }
+        return definir(campo, coluna, texto, obrigatorio);
+    }
+
+    //número não negativo, com casas decimais
+    AlteracaoParcial numero(String campo, String coluna, boolean obrigatorio) {
+        if (!corpo.containsKey(campo)) {
+            return this;
+        }
+        Double numero = null;
+        if (corpo.get(campo) != null) {
+            numero = paraNumero(corpo.get(campo));
+            if (numero == null || numero < 0) {
+                throw invalido(campo, corpo.get(campo));
+            }
+        }
+        return definir(campo, coluna, numero, obrigatorio);
+    }
+
+    //inteiro não negativo
+    AlteracaoParcial inteiro(String campo, String coluna, boolean obrigatorio) {
+        if (!corpo.containsKey(campo)) {
+            return this;
+        }
+        Integer inteiro = null;
+        if (corpo.get(campo) != null) {
+            Double numero = paraNumero(corpo.get(campo));
+            if (numero == null || numero < 0 || numero != Math.rint(numero) || numero > Integer.MAX_VALUE) {
+                throw invalido(campo, corpo.get(campo));
+            }
+            inteiro = numero.intValue();
+        }
+        return definir(campo, coluna, inteiro, obrigatorio);
+    }
+
+    //data ISO (2025-01-31)
+    AlteracaoParcial data(String campo, String coluna, boolean obrigatorio) {
+        if (!corpo.containsKey(campo)) {
+            return this;
+        }
+        LocalDate data = null;
+        if (corpo.get(campo) != null) {
+            try {
+                data = LocalDate.parse(corpo.get(campo).toString());
+            } catch (DateTimeParseException e) {
+                throw invalido(campo, corpo.get(campo));
+            }
+        }
+        return definir(campo, coluna, data, obrigatorio);
+    }
+
+    //um dos valores de opcoes (status, perfil)
+    AlteracaoParcial opcao(String campo, String coluna, Set<String> opcoes) {
+        if (!corpo.containsKey(campo)) {
+            return this;
+        }
+        Object valor = corpo.get(campo);
+        if (!(valor instanceof String texto) || !opcoes.contains(texto)) {
+            throw new BusinessException("PAT004", "Valor inválido para " + campo + ": " + valor + ". "
+                    + "Aceitos: " + String.join(", ", new TreeSet<>(opcoes)) + ".");
+        }
+        return definir(campo, coluna, texto, true);
+    }
+
+    //coluna -> valor, na ordem em que o serviço declara os campos (o mesmo SQL para o mesmo conjunto)
+    Map<String, Object> colunas() {
+        return Collections.unmodifiableMap(colunas);
+    }
+
+    //campo -> valor convertido (null quando o campo foi apagado)
+    Map<String, Object> valores() {
+        return Collections.unmodifiableMap(valores);
+    }
+
+    private AlteracaoParcial definir(String campo, String coluna, Object valor, boolean obrigatorio) {
+        if (valor == null && obrigatorio) {
+            throw new BusinessException("PAT004", "O campo " + campo + " não pode ser nulo.");
+        }
+        colunas.put(coluna, valor);
+        valores.put(campo, valor);
+        return this;
+    }
+
+    private static Double paraNumero(Object valor) {
+        if (valor instanceof Number numero) {
+            return numero.doubleValue();
+        }
+        if (valor instanceof String texto) {
+            try {
+                double numero = Double.parseDouble(texto.trim());
+                return Double.isFinite(numero) ? numero : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static BusinessException invalido(String campo, Object valor) {
+        return new BusinessException("PAT004", "Valor inválido para " + campo + ": " + valor + ".");
+    }
+}
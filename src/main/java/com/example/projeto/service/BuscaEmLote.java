@@ -0,0 +1,54 @@
+package com.example.projeto.service;
+
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.exception.BusinessException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+//busca por lista de ids com IN em blocos: um comando para até BLOCO ids, sem estourar o limite de parâmetros
+//do banco nem gerar um plano novo para cada tamanho de lista muito grande
+final class BuscaEmLote {
+
+    static final int BLOCO = 500;
+    static final int MAXIMO_IDS = 5_000;
+
+    private BuscaEmLote() {
+    }
+
+    static <T> LoteDTO<T> buscar(List<Integer> ids, Function<List<Integer>, List<T>> consulta, Function<T, Integer> id) {
+        if (ids == null || ids.stream().allMatch(Objects::isNull)) {
+            throw new BusinessException("LOTE001", "Informe ao menos um id.");
+        }
+        List<Integer> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.removeIf(Objects::isNull);
+        if (distintos.size() > MAXIMO_IDS) {
+            throw new BusinessException("LOTE002", "No máximo " + MAXIMO_IDS + " ids por chamada.");
+        }
+
+        Map<Integer, T> encontrados = new HashMap<>(distintos.size() * 2);
+        for (int inicio = 0; inicio < distintos.size(); inicio += BLOCO) {
+            List<Integer> bloco = distintos.subList(inicio, Math.min(inicio + BLOCO, distintos.size()));
+            for (T item : consulta.apply(bloco)) {
+                encontrados.put(id.apply(item), item);
+            }
+        }
+
+        List<T> itens = new ArrayList<>(encontrados.size());
+        List<Integer> naoEncontrados = new ArrayList<>();
+        for (Integer chave : distintos) {
+            T item = encontrados.get(chave);
+            if (item != null) {
+                itens.add(item);
+            } else {
+                naoEncontrados.add(chave);
+            }
+        }
+        return new LoteDTO<>(itens, naoEncontrados);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.projeto.service;
+
+import com.example.projeto.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class CacheStatsService {
+
+    private final Statistics statistics;
+
+    public CacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatsDTO> findAllRegioes() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::toDTO)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CacheRegionStatsDTO toDTO(String regiao) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(regiao);
+        if (stats == null) {
+            return null;
+        }
+        CacheRegionStatsDTO dto = new CacheRegionStatsDTO();
+        dto.setRegiao(regiao);
+        dto.setAcertos(stats.getHitCount());
+        dto.setFalhas(stats.getMissCount());
+        dto.setInsercoes(stats.getPutCount());
+        dto.setElementosEmMemoria(stats.getElementCountInMemory());
+        return dto;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.projeto.service;
+
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.event.ProdutosImportadosEvent;
+import com.example.projeto.model.Produto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//feed de alterações do catálogo (produtos e categorias) por Server-Sent Events, para caches e vitrines
+//receberem só o que mudou em vez de baixar o catálogo de novo.
+//Cada alteração confirmada ganha um número de sequência e fica num buffer circular das últimas `capacidade`;
+//o id do evento SSE é "<instância>-<sequência>", e quem reconecta com Last-Event-ID recebe o que perdeu.
+//Se a instância reiniciou ou o buffer já descartou parte do que faltava, o cliente recebe "reset" e deve
+//recarregar o catálogo.
+//Cada assinante tem a sua fila, drenada por uma tarefa própria, então um cliente lento (janela TCP cheia,
+//conexão meio aberta) só segura a si mesmo. Quem acumula mais que o buffer inteiro é desconectado: ao
+//reconectar receberia reset de qualquer jeito, e nesse meio tempo não prende memória do servidor.
+@Slf4j
+@Component
+public class CatalogoAlteracoes {
+
+    public enum Tipo { ALTERADO, REMOVIDO }
+
+    //campos segue a semântica de merge patch: os presentes têm o valor atual, os ausentes não mudaram
+    public record Alteracao(long sequencia, String entidade, Tipo tipo, Integer id, Map<String, Object> campos) {
+    }
+
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+    private final int capacidade;
+    private final long timeoutMs;
+    private final Executor envio;
+    private final ArrayDeque<Alteracao> recentes;
+    private final List<Assinante> assinantes = new CopyOnWriteArrayList<>();
+    private long sequencia;
+
+    @Autowired
+    public CatalogoAlteracoes(@Value("${app.catalogo.alteracoes.buffer:10000}") int capacidade,
+                              @Value("${app.catalogo.alteracoes.timeout-ms:1800000}") long timeoutMs) {
+        this(capacidade, timeoutMs, Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "catalogo-alteracoes");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    CatalogoAlteracoes(int capacidade, long timeoutMs, Executor envio) {
+        this.capacidade = capacidade;
+        this.timeoutMs = timeoutMs;
+        this.envio = envio;
+        this.recentes = new ArrayDeque<>(capacidade);
+    }
+
+    //a fila é alimentada sob o bloqueio do feed, na ordem da sequência, e drenada por uma tarefa por vez
+    private final class Assinante {
+        final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> fila = new ArrayDeque<>();
+        private boolean enviando;
+        private boolean encerrado;
+        private boolean atrasado;
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        //não bloqueia: quem envia é a tarefa de drenagem
+        void enfileirar(SseEmitter.SseEventBuilder evento) {
+            synchronized (this) {
+                if (encerrado) {
+                    return;
+                }
+                //cabe o replay de um buffer cheio mais o "conectado"
+                if (fila.size() > capacidade) {
+                    //atrasado demais: a drenagem encerra a conexão ao voltar do envio em que está presa
+                    log.debug("Assinante do feed do catálogo com {} eventos pendentes, desconectando", fila.size());
+                    atrasado = true;
+                    encerrar();
+                    return;
+                }
+                fila.addLast(evento);
+                if (enviando) {
+                    return;
+                }
+                enviando = true;
+            }
+            envio.execute(this::drenar);
+        }
+
+        private void drenar() {
+            while (true) {
+                SseEmitter.SseEventBuilder evento;
+                boolean fechar;
+                synchronized (this) {
+                    evento = encerrado ? null : fila.pollFirst();
+                    enviando = evento != null;
+                    fechar = atrasado;
+                }
+                if (evento == null) {
+                    //desconectado por atraso: o cliente reconecta com Last-Event-ID e recebe replay ou reset
+                    if (fechar) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    //cliente desconectado: o container encerra o emitter, aqui só sai da lista
+                    encerrar();
+                }
+            }
+        }
+
+        synchronized void encerrar() {
+            encerrado = true;
+            fila.clear();
+            assinantes.remove(this);
+        }
+    }
+
+    public SseEmitter assinar(String ultimoId) {
+        return assinar(ultimoId, new SseEmitter(timeoutMs));
+    }
+
+    //sem ultimoId o cliente recebe só o que acontecer daqui em diante.
+    //O replay entra na fila e o assinante na lista sob o mesmo bloqueio do registrar: nada se perde nem se repete
+    SseEmitter assinar(String ultimoId, SseEmitter emitter) {
+        Assinante assinante = new Assinante(emitter);
+        emitter.onCompletion(assinante::encerrar);
+        emitter.onTimeout(assinante::encerrar);
+        emitter.onError(erro -> assinante.encerrar());
+        synchronized (this) {
+            Long desde = sequenciaDe(ultimoId);
+            long maisAntiga = recentes.isEmpty() ? sequencia + 1 : recentes.peekFirst().sequencia();
+            boolean reset = ultimoId != null && (desde == null || desde > sequencia || desde < maisAntiga - 1);
+            assinantes.add(assinante);
+            //o Spring só envia os headers no primeiro send: o comentário abre a conexão no cliente na hora
+            assinante.enfileirar(SseEmitter.event().comment("conectado"));
+            if (reset) {
+                assinante.enfileirar(SseEmitter.event().id(id(sequencia)).name("reset")
+                        .data(Map.of("sequencia", sequencia), MediaType.APPLICATION_JSON));
+            } else if (desde != null) {
+                recentes.stream().filter(a -> a.sequencia() > desde).forEach(a -> assinante.enfileirar(evento(a)));
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent event) {
+        if (event.tipo() == ProdutoAlteradoEvent.Tipo.REMOVIDO) {
+            registrar(List.of(new Alteracao(0, "produto", Tipo.REMOVIDO, event.produtoId(), null)));
+        } else {
+            registrar(List.of(produto(event.produto())));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarProduto(ProdutoAtualizadoEvent event) {
+        registrar(List.of(new Alteracao(0, "produto", Tipo.ALTERADO, event.produtoId(), event.campos())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportarProdutos(ProdutosImportadosEvent event) {
+        registrar(event.produtos().stream().map(CatalogoAlteracoes::produto).toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCategoria(CategoriaAlteradaEvent event) {
+        Tipo tipo = event.campos() == null ? Tipo.REMOVIDO : Tipo.ALTERADO;
+        registrar(List.of(new Alteracao(0, "categoria", tipo, event.categoriaId(), event.campos())));
+    }
+
+    //comentário SSE periódico: mantém proxies sem fechar a conexão ociosa e descobre clientes que já saíram
+    //(ou que pararam de ler: os pings se acumulam na fila até o limite)
+    @Scheduled(fixedDelayString = "${app.catalogo.alteracoes.heartbeat-ms:30000}")
+    public void manterConexoes() {
+        assinantes.forEach(assinante -> assinante.enfileirar(SseEmitter.event().comment("ping")));
+    }
+
+    public long sequenciaAtual() {
+        synchronized (this) {
+            return sequencia;
+        }
+    }
+
+    //numera, guarda no buffer e enfileira para cada assinante dentro do mesmo bloqueio, na ordem da sequência
+    private void registrar(List<Alteracao> alteracoes) {
+        if (alteracoes.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (Alteracao alteracao : alteracoes) {
+                Alteracao numerada = new Alteracao(++sequencia, alteracao.entidade(), alteracao.tipo(),
+                        alteracao.id(), alteracao.campos());
+                if (recentes.size() == capacidade) {
+                    recentes.pollFirst();
+                }
+                recentes.addLast(numerada);
+                assinantes.forEach(assinante -> assinante.enfileirar(evento(numerada)));
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder evento(Alteracao alteracao) {
+        return SseEmitter.event()
+                .id(id(alteracao.sequencia()))
+                .name(alteracao.entidade())
+                .data(alteracao, MediaType.APPLICATION_JSON);
+    }
+
+    private String id(long sequencia) {
+        return instancia + "-" + sequencia;
+    }
+
+    //null quando o id é de outra instância (restart) ou não tem o formato esperado
+    private Long sequenciaDe(String ultimoId) {
+        if (ultimoId == null || !ultimoId.startsWith(instancia + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoId.substring(instancia.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Alteracao produto(Produto produto) {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        campos.put("nome", produto.getNome());
+        campos.put("preco", produto.getPreco());
+        campos.put("descricao", produto.getDescricao());
+        campos.put("estoque", produto.getEstoque());
+        campos.put("categoriaId", produto.getCategoria() == null ? null : produto.getCategoria().getId());
+        return new Alteracao(0, "produto", Tipo.ALTERADO, produto.getId(), campos);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        if (envio instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.projeto.service;
+
+import com.example.projeto.compression.AcceptEncoding;
+import com.example.projeto.serialization.FormatosBinarios;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+//listagens de produtos e categorias já serializadas em JSON (puro e gzip, mais CBOR/Smile sob demanda),
+//escritas direto na resposta.
+//o snapshot vale para um número de versão do CatalogoVersao: a primeira listagem depois de uma alteração
+//remonta tudo (uma thread por vez; as demais esperam e reaproveitam), então uma rajada de alterações custa
+//uma única remontagem. Dentro da janela da réplica o snapshot é montado mas não guardado, pelo mesmo motivo
+//de o ETag não ser publicado. Os arrays nunca são alterados depois de montados.
+@Slf4j
+@Component
+public class CatalogoSnapshot {
+
+    private final ProdutoService produtoService;
+    private final CategoriaService categoriaService;
+    private final CatalogoVersao catalogoVersao;
+    private final ObjectMapper objectMapper;
+    private final FormatosBinarios formatosBinarios;
+
+    private volatile Snapshot snapshot;
+
+    public CatalogoSnapshot(ProdutoService produtoService, CategoriaService categoriaService,
+                            CatalogoVersao catalogoVersao, ObjectMapper objectMapper,
+                            FormatosBinarios formatosBinarios) {
+        this.produtoService = produtoService;
+        this.categoriaService = categoriaService;
+        this.catalogoVersao = catalogoVersao;
+        this.objectMapper = objectMapper;
+        this.formatosBinarios = formatosBinarios;
+    }
+
+    private record Snapshot(long numero, Corpo produtos, Corpo categorias) {
+    }
+
+    public static final class Corpo {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final FormatosBinarios formatos;
+        //CBOR/Smile só são gerados quando algum cliente pede; convertidos a partir do JSON, sem voltar ao banco
+        private final Map<MediaType, byte[]> binarios = new ConcurrentHashMap<>();
+
+        Corpo(byte[] json, byte[] gzip, FormatosBinarios formatos) {
+            this.json = json;
+            this.gzip = gzip;
+            this.formatos = formatos;
+        }
+
+        public byte[] json() {
+            return json;
+        }
+
+        public byte[] gzip() {
+            return gzip;
+        }
+
+        public byte[] binario(MediaType formato) {
+            return binarios.computeIfAbsent(formato, this::converter);
+        }
+
+        public ResponseEntity<byte[]> responder(CatalogoVersao.Versao versao, String acceptEncoding) {
+            return responder(versao, null, acceptEncoding);
+        }
+
+        //o corpo comprimido só vai para quem aceita gzip; o CompressionFilter não recomprime respostas com Content-Encoding
+        public ResponseEntity<byte[]> responder(CatalogoVersao.Versao versao, String accept, String acceptEncoding) {
+            ResponseEntity.BodyBuilder resposta = variante(versao, accept, acceptEncoding).ok()
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT);
+            MediaType formato = FormatosBinarios.negociar(accept);
+            if (formato != null) {
+                return resposta.contentType(formato).body(binario(formato));
+            }
+            resposta.contentType(MediaType.APPLICATION_JSON);
+            if (aceitaGzip(acceptEncoding)) {
+                return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return resposta.body(json);
+        }
+
+        private byte[] converter(MediaType formato) {
+            try {
+                return formatos.converterJson(json, formato);
+            } catch (IOException e) {
+                throw new IllegalStateException("Falha ao converter o catálogo para " + formato, e);
+            }
+        }
+    }
+
+    //cada representação tem o seu ETag forte: "<v>" no JSON puro, "<v>-gzip", "<v>-cbor" e "<v>-smile".
+    //Com um só, um cache confirmaria com 304 o corpo gzip ou CBOR guardado para quem pediu JSON
+    public static CatalogoVersao.Versao variante(CatalogoVersao.Versao versao, String accept, String acceptEncoding) {
+        MediaType formato = FormatosBinarios.negociar(accept);
+        if (formato != null) {
+            return versao.variante(FormatosBinarios.sufixo(formato));
+        }
+        return aceitaGzip(acceptEncoding) ? versao.variante("gzip") : versao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Snapshot carregado = atual();
+        log.info("Snapshot do catálogo montado: produtos {} bytes ({} gzip), categorias {} bytes ({} gzip)",
+                carregado.produtos().json().length, carregado.produtos().gzip().length,
+                carregado.categorias().json().length, carregado.categorias().gzip().length);
+    }
+
+    public Corpo produtos() {
+        return atual().produtos();
+    }
+
+    public Corpo categorias() {
+        return atual().categorias();
+    }
+
+    private Snapshot atual() {
+        Snapshot existente = snapshot;
+        if (existente != null && existente.numero() == catalogoVersao.numero()) {
+            return existente;
+        }
+        synchronized (this) {
+            //o número é lido antes das consultas: uma alteração durante a montagem deixa o snapshot já vencido
+            long numero = catalogoVersao.numero();
+            existente = snapshot;
+            if (existente != null && existente.numero() == numero) {
+                return existente;
+            }
+            boolean guardar = catalogoVersao.atual().etag() != null;
+            Snapshot novo = new Snapshot(numero,
+                    serializar(produtoService.findAll()),
+                    serializar(categoriaService.findAll()));
+            if (guardar) {
+                snapshot = novo;
+            }
+            return novo;
+        }
+    }
+
+    private Corpo serializar(Object lista) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(lista);
+            ByteArrayOutputStream comprimido = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+                gzip.write(json);
+            }
+            return new Corpo(json, comprimido.toByteArray(), formatosBinarios);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o catálogo", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean aceitaGzip(String acceptEncoding) {
+        return AcceptEncoding.aceita(acceptEncoding, "gzip");
+    }
+}
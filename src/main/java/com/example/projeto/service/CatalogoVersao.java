@@ -0,0 +1,109 @@
+package com.example.projeto.service;
+
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.event.ProdutosImportadosEvent;
+import com.example.projeto.serialization.FormatosBinarios;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+//versão do catálogo inteiro (produtos e categorias) para ETag/Last-Modified das listagens.
+//incrementada depois do commit de cada alteração, então um cliente com o ETag atual recebe 304 sem consulta
+//nem serialização. O ETag leva o instante da subida, para não repetir valores depois de um restart.
+//Logo depois de uma alteração a réplica de leitura pode ainda devolver o catálogo antigo; durante
+//app.catalogo.etag.janela-ms as respostas saem sem validador, para o cliente não guardar dado velho com ETag novo.
+@Component
+public class CatalogoVersao {
+
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+    private final long janelaMs;
+    private final AtomicReference<Estado> estado;
+
+    public CatalogoVersao(@Value("${app.catalogo.etag.janela-ms:0}") long janelaMs) {
+        this.janelaMs = janelaMs;
+        this.estado = new AtomicReference<>(new Estado(0, segundos(System.currentTimeMillis()), 0));
+    }
+
+    private record Estado(long numero, long ultimaAlteracao, long alteradoEm) {
+    }
+
+    //etag nulo: sem validadores nesta resposta
+    public record Versao(String etag, long ultimaAlteracao) {
+
+        static final Versao SEM_VALIDADOR = new Versao(null, -1);
+
+        //marca a resposta como 304 quando If-None-Match/If-Modified-Since batem com esta versão
+        public boolean naoModificado(WebRequest request) {
+            return etag != null && request.checkNotModified(etag, ultimaAlteracao);
+        }
+
+        //a mesma versão numa representação específica (outro formato ou codificação), com ETag próprio
+        public Versao variante(String sufixo) {
+            return etag == null || sufixo == null ? this : new Versao(etag + "-" + sufixo, ultimaAlteracao);
+        }
+
+        //a versão no formato negociado pelo Accept (JSON, CBOR ou Smile)
+        public Versao formato(String accept) {
+            return etag == null ? this : new Versao(FormatosBinarios.etag(etag, accept), ultimaAlteracao);
+        }
+
+        public ResponseEntity.BodyBuilder ok() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+            return etag == null ? builder : builder.eTag(etag).lastModified(ultimaAlteracao);
+        }
+    }
+
+    //ler antes de consultar o corpo: se o catálogo mudar no meio, a próxima requisição já não casa com este ETag
+    public Versao atual() {
+        Estado atual = estado.get();
+        if (janelaMs > 0 && System.currentTimeMillis() - atual.alteradoEm() < janelaMs) {
+            return Versao.SEM_VALIDADOR;
+        }
+        return new Versao(instancia + "-" + atual.numero(), atual.ultimaAlteracao());
+    }
+
+    //número da versão, sem a janela da réplica
+    public long numero() {
+        return estado.get().numero();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProduto(ProdutoAlteradoEvent event) {
+        incrementar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAtualizarProduto(ProdutoAtualizadoEvent event) {
+        incrementar();
+    }
+
+    //um incremento por bloco importado, não por produto
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoImportarProdutos(ProdutosImportadosEvent event) {
+        incrementar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCategoria(CategoriaAlteradaEvent event) {
+        incrementar();
+    }
+
+    //Last-Modified tem resolução de segundos: cada alteração avança pelo menos um segundo,
+    //para If-Modified-Since nunca confundir duas versões
+    void incrementar() {
+        long agora = System.currentTimeMillis();
+        estado.updateAndGet(anterior -> new Estado(anterior.numero() + 1,
+                Math.max(segundos(agora), anterior.ultimaAlteracao() + 1000), agora));
+    }
+
+    private static long segundos(long millis) {
+        return millis - millis % 1000;
+    }
+}
@@ -1,32 +1,108 @@
 package com.example.projeto.service;
 
+import com.example.projeto.dto.CategoriaResumoDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.ProdutoResumoDTO;
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.projection.CamposParciais;
+import com.example.projeto.projection.ProjecaoParcial;
+import com.example.projeto.repository.AtualizacaoParcialRepository;
 import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICO)
 @RequiredArgsConstructor
 public class CategoriaService {
 
+    //campos aceitos em ?fields=
+    public static final Set<String> CAMPOS_PARCIAIS = Set.of("id", "nome", "descricao", "versao");
+
+    //campos aceitos no PATCH
+    public static final Set<String> CAMPOS_ALTERAVEIS = Set.of("nome", "descricao");
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final CategoriaRepository categoriaRepository;
 
+    private final ProdutoRepository produtoRepository;
+
+    private final ProjecaoParcial projecaoParcial;
+
+    private final AtualizacaoParcialRepository atualizacaoParcialRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<Categoria> findAll() {
         return categoriaRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<CategoriaResumoDTO> findResumos() {
+        return categoriaRepository.findResumos();
+    }
+
+    //produtos da categoria em ordem de id; o cursor é o id do último produto da página anterior
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProdutoResumoDTO> findProdutos(Integer id, String cursor, int tamanho) {
+        if (!categoriaRepository.existsById(id)) {
+            throw new EntityNotFoundException("Categoria com ID " + id + " não encontrada.");
+        }
+        int aposId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                aposId = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new BusinessException("CAT002", "Cursor de paginação inválido.");
+            }
+        }
+        int limite = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA);
+        List<Produto> produtos = produtoRepository.findByCategoriaIdAndIdGreaterThanOrderById(id, aposId, Limit.of(limite + 1));
+
+        boolean temProxima = produtos.size() > limite;
+        List<Produto> pagina = temProxima ? produtos.subList(0, limite) : produtos;
+        String proximoCursor = temProxima ? pagina.get(pagina.size() - 1).getId().toString() : null;
+        return new PaginaDTO<>(pagina.stream().map(produto -> toResumoDTO(produto, id)).toList(), proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
     public Categoria findById(Integer id) {
         return categoriaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Categoria com ID " + id + " não encontrada."));
     }
 
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllParcial(String fields) {
+        return projecaoParcial.listar(Categoria.class, CamposParciais.de(fields, CAMPOS_PARCIAIS), null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findByIdParcial(Integer id, String fields) {
+        return projecaoParcial.buscar(Categoria.class, id, CamposParciais.de(fields, CAMPOS_PARCIAIS))
+                .orElseThrow(() -> new EntityNotFoundException("Categoria com ID " + id + " não encontrada."));
+    }
+
     @Transactional
     public Categoria save(Categoria categoria) {
-        return categoriaRepository.save(categoria);
+        Categoria salva = categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.salva(salva));
+        return salva;
     }
 
     @Transactional
@@ -34,7 +110,23 @@ public class CategoriaService {
         Categoria existente = findById(id);
         existente.setNome(novaCategoria.getNome());
         existente.setDescricao(novaCategoria.getDescricao());
-        return categoriaRepository.save(existente);
+        Categoria salva = categoriaRepository.save(existente);
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.salva(salva));
+        return salva;
+    }
+
+    //grava só os campos enviados num UPDATE com a versão no WHERE; devolve a nova versão
+    @Transactional
+    public long patch(Integer id, String ifMatch, Map<String, Object> alteracoes) {
+        long versao = AlteracaoParcial.versao(ifMatch, alteracoes);
+        AlteracaoParcial alteracao = AlteracaoParcial.de(alteracoes, CAMPOS_ALTERAVEIS)
+                .texto("nome", "nome", true, 255)
+                .texto("descricao", "descricao", false, 255);
+        AlteracaoParcial.conferir(
+                atualizacaoParcialRepository.atualizar(Categoria.class, id, versao, alteracao.colunas()),
+                Categoria.class, id, () -> new EntityNotFoundException("Categoria com ID " + id + " não encontrada."));
+        eventPublisher.publishEvent(new CategoriaAlteradaEvent(id, alteracao.valores()));
+        return versao + 1;
     }
 
     @Transactional
@@ -43,5 +135,16 @@ public class CategoriaService {
             throw new EntityNotFoundException("Categoria com ID " + id + " não encontrada.");
         }
         categoriaRepository.deleteById(id);
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.removida(id));
+    }
+
+    private ProdutoResumoDTO toResumoDTO(Produto produto, Integer categoriaId) {
+        ProdutoResumoDTO dto = new ProdutoResumoDTO();
+        dto.setId(produto.getId());
+        dto.setNome(produto.getNome());
+        dto.setPreco(produto.getPreco());
+        dto.setEstoque(produto.getEstoque());
+        dto.setCategoriaId(categoriaId);
+        return dto;
     }
 }
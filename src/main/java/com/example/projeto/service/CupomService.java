@@ -1,21 +1,35 @@
 package com.example.projeto.service;
 
 import com.example.projeto.dto.CupomDTO;
+import com.example.projeto.dto.LoteDTO;
 import com.example.projeto.model.Cupom;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.projection.CamposParciais;
+import com.example.projeto.projection.ProjecaoParcial;
 import com.example.projeto.repository.CupomRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICO)
 public class CupomService {
 
+    //campos aceitos em ?fields=
+    public static final Set<String> CAMPOS_PARCIAIS = Set.of("id", "codigo", "valor", "validade", "minimoCompra", "ativo");
+
     private final CupomRepository repository;
+    private final ProjecaoParcial projecaoParcial;
 
-    public CupomService(CupomRepository repository) {
+    public CupomService(CupomRepository repository, ProjecaoParcial projecaoParcial) {
         this.repository = repository;
+        this.projecaoParcial = projecaoParcial;
     }
 
     public CupomDTO create(CupomDTO dto) {
@@ -29,17 +43,42 @@ public class CupomService {
         return toDTO(cupom);
     }
 
+    @Transactional(readOnly = true)
     public List<CupomDTO> findAllAtivos() {
-        return repository.findAll().stream()
-                .filter(c -> c.isAtivo() && c.getValidade().isAfter(LocalDate.now()))
+        return repository.findByAtivoTrueAndValidadeAfter(LocalDate.now()).stream()
                 .map(this::toDTO)
                 .toList();
     }
 
+    //mesmo filtro de findByAtivoTrueAndValidadeAfter
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllAtivosParcial(String fields) {
+        LocalDate hoje = LocalDate.now();
+        return projecaoParcial.listar(Cupom.class, CamposParciais.de(fields, CAMPOS_PARCIAIS),
+                (cb, raiz) -> cb.and(cb.isTrue(raiz.get("ativo")), cb.greaterThan(raiz.get("validade"), hoje)));
+    }
+
+    @Transactional(readOnly = true)
     public Optional<CupomDTO> findById(Integer id) {
         return repository.findById(id).map(this::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    public LoteDTO<CupomDTO> findLote(List<Integer> ids) {
+        return BuscaEmLote.buscar(ids, bloco -> repository.findAllById(bloco).stream().map(this::toDTO).toList(),
+                CupomDTO::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> findByIdParcial(Integer id, String fields) {
+        return projecaoParcial.buscar(Cupom.class, id, CamposParciais.de(fields, CAMPOS_PARCIAIS));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CupomDTO> findByCodigo(String codigo) {
+        return repository.findByCodigo(codigo).map(this::toDTO);
+    }
+
     public Optional<CupomDTO> update(Integer id, CupomDTO dto) {
         return repository.findById(id).map(cupom -> {
             if (dto.getCodigo() != null && !dto.getCodigo().isBlank())
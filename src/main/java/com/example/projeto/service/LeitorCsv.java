@@ -0,0 +1,93 @@
+package com.example.projeto.service;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+//lê um CSV (RFC 4180) registro a registro, sem carregar o arquivo: campo entre aspas pode ter separador,
+//quebra de linha e aspas duplicadas (""). O separador sai do cabeçalho: ';' quando ele tem ';' e não tem ','
+//(é o que o Excel em português exporta), senão ','.
+class LeitorCsv {
+
+    private static final int LIMITE_CABECALHO = 8192;
+
+    private final BufferedReader entrada;
+    private final char separador;
+    private int linhaAtual = 1;
+    private int linhaDoRegistro;
+
+    private LeitorCsv(BufferedReader entrada, char separador) {
+        this.entrada = entrada;
+        this.separador = separador;
+    }
+
+    static LeitorCsv abrir(InputStream corpo, Charset charset) throws IOException {
+        BufferedReader entrada = new BufferedReader(new InputStreamReader(corpo, charset));
+        entrada.mark(1);
+        if (entrada.read() != '\uFEFF') {
+            entrada.reset();
+        }
+        entrada.mark(LIMITE_CABECALHO);
+        String cabecalho = entrada.readLine();
+        entrada.reset();
+        boolean pontoEVirgula = cabecalho != null && cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0;
+        return new LeitorCsv(entrada, pontoEVirgula ? ';' : ',');
+    }
+
+    char separador() {
+        return separador;
+    }
+
+    //linha do arquivo em que começou o último registro lido
+    int linha() {
+        return linhaDoRegistro;
+    }
+
+    //null no fim do arquivo
+    List<String> proximo() throws IOException {
+        int c = entrada.read();
+        if (c == -1) {
+            return null;
+        }
+        linhaDoRegistro = linhaAtual;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new EOFException("aspas abertas na linha " + linhaDoRegistro + " não foram fechadas");
+                }
+                if (c == '"') {
+                    c = entrada.read();
+                    if (c != '"') {
+                        entreAspas = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    linhaAtual++;
+                }
+                campo.append((char) c);
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    linhaAtual++;
+                }
+                campos.add(campo.toString());
+                return campos;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+            c = entrada.read();
+        }
+    }
+}
@@ -1,41 +1,142 @@
 package com.example.projeto.service;
 
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.PedidoDTO;
+import com.example.projeto.event.PedidoCriadoEvent;
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Cupom;
 import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.observability.BusinessMetrics;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.outbox.OutboxPedidos;
+import com.example.projeto.projection.CamposParciais;
+import com.example.projeto.projection.ProjecaoParcial;
+import com.example.projeto.repository.AtualizacaoParcialRepository;
 import com.example.projeto.repository.CupomRepository;
 import com.example.projeto.repository.PedidoRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICO)
 @RequiredArgsConstructor
 public class PedidoService {
 
+    //campos aceitos em ?fields=
+    public static final Set<String> CAMPOS_PARCIAIS = Set.of("id", "data", "status",
+            "cliente.id", "cliente.nome", "cliente.email", "cupom.id", "cupom.codigo", "cupom.valor",
+            "produtos.id", "produtos.nome", "produtos.preco");
+
+    //campos aceitos no PATCH
+    public static final Set<String> CAMPOS_ALTERAVEIS = Set.of("status", "data");
+
+    public static final Set<String> STATUS = Set.of("EM_ANDAMENTO", "ENTREGUE", "CANCELADO");
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final PedidoRepository pedidoRepository;
 
     private final CupomRepository cupomRepository;
 
+    private final ProjecaoParcial projecaoParcial;
+
+    private final AtualizacaoParcialRepository atualizacaoParcialRepository;
+
+    private final BusinessMetrics businessMetrics;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final OutboxPedidos outboxPedidos;
+
+    @Transactional(readOnly = true)
     public Cupom findCupomById(Integer id) {
         return cupomRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Cupom com ID " + id + " não encontrado."));
+                .orElseThrow(() -> {
+                    businessMetrics.cupomNaoEncontrado();
+                    return new EntityNotFoundException("Cupom com ID " + id + " não encontrado.");
+                });
     }
 
+    @Transactional(readOnly = true)
     public List<Pedido> findAll() {
         return pedidoRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<PedidoDTO> findAllParaExportacao() {
+        return pedidoRepository.findAllParaExportacao().stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    //pedidos do cliente, mais recentes primeiro; o cursor carrega (data, id) do último item da página
+    @Transactional(readOnly = true)
+    public PaginaDTO<PedidoDTO> findPaginaDoCliente(Long clienteId, String cursor, int tamanho) {
+        int limite = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_PAGINA);
+        Limit limit = Limit.of(limite + 1);
+        List<Pedido> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findPrimeiraPaginaDoCliente(clienteId, limit);
+        } else {
+            CursorPedido posicao = CursorPedido.decodificar(cursor);
+            pedidos = pedidoRepository.findPaginaDoClienteApos(clienteId, posicao.data(), posicao.id(), limit);
+        }
+
+        boolean temProxima = pedidos.size() > limite;
+        List<Pedido> pagina = temProxima ? pedidos.subList(0, limite) : pedidos;
+        String proximoCursor = null;
+        if (temProxima) {
+            Pedido ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorPedido(ultimo.getData(), ultimo.getId()).codificar();
+        }
+        return new PaginaDTO<>(pagina.stream().map(this::toDTO).toList(), proximoCursor);
+    }
+
+    @Transactional(readOnly = true)
     public Pedido findById(Integer id) {
         return pedidoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido com ID " + id + " não encontrado."));
     }
 
+    @Transactional(readOnly = true)
+    public LoteDTO<Pedido> findLote(List<Integer> ids) {
+        return BuscaEmLote.buscar(ids, pedidoRepository::findByIdIn, Pedido::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllParcial(String fields) {
+        return projecaoParcial.listar(Pedido.class, CamposParciais.de(fields, CAMPOS_PARCIAIS), null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findByIdParcial(Integer id, String fields) {
+        return projecaoParcial.buscar(Pedido.class, id, CamposParciais.de(fields, CAMPOS_PARCIAIS))
+                .orElseThrow(() -> new EntityNotFoundException("Pedido com ID " + id + " não encontrado."));
+    }
+
     @Transactional
     public Pedido save(Pedido pedido) {
-        return pedidoRepository.save(pedido);
+        Pedido salvo = pedidoRepository.save(pedido);
+        //na mesma transação do pedido; o OutboxRelay entrega depois do commit
+        outboxPedidos.pedidoCriado(salvo);
+        businessMetrics.pedidoCriado();
+        eventPublisher.publishEvent(new PedidoCriadoEvent(salvo.getId(),
+                salvo.getProdutos().stream().map(Produto::getId).toList()));
+        return salvo;
     }
 
     @Transactional
@@ -43,11 +144,26 @@ public class PedidoService {
         Pedido existente = findById(id);
         existente.setCliente(novoPedido.getCliente());
         existente.setProdutos(novoPedido.getProdutos());
-        existente.setData(novoPedido.getData());
+        if (novoPedido.getData() != null) {
+            existente.setData(novoPedido.getData());
+        }
         existente.setStatus(novoPedido.getStatus());
         return pedidoRepository.save(existente);
     }
 
+    //grava só os campos enviados (ex.: o status) num UPDATE com a versão no WHERE; devolve a nova versão
+    @Transactional
+    public long patch(Integer id, String ifMatch, Map<String, Object> alteracoes) {
+        long versao = AlteracaoParcial.versao(ifMatch, alteracoes);
+        AlteracaoParcial alteracao = AlteracaoParcial.de(alteracoes, CAMPOS_ALTERAVEIS)
+                .opcao("status", "status", STATUS)
+                .data("data", "data", true);
+        AlteracaoParcial.conferir(
+                atualizacaoParcialRepository.atualizar(Pedido.class, id, versao, alteracao.colunas()),
+                Pedido.class, id, () -> new EntityNotFoundException("Pedido com ID " + id + " não encontrado."));
+        return versao + 1;
+    }
+
     @Transactional
     public void delete(Integer id) {
         if (!pedidoRepository.existsById(id)) {
@@ -55,4 +171,33 @@ public class PedidoService {
         }
         pedidoRepository.deleteById(id);
     }
+
+    private PedidoDTO toDTO(Pedido pedido) {
+        PedidoDTO dto = new PedidoDTO();
+        dto.setId(pedido.getId());
+        dto.setCliente(pedido.getCliente().getNome());
+        dto.setProdutos(pedido.getProdutos().stream().map(Produto::getNome).toList());
+        dto.setData(pedido.getData());
+        dto.setStatus(pedido.getStatus());
+        return dto;
+    }
+
+    record CursorPedido(LocalDate data, Integer id) {
+
+        String codificar() {
+            String valor = data + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CursorPedido decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.indexOf('_');
+                return new CursorPedido(LocalDate.parse(valor.substring(0, separador)),
+                        Integer.valueOf(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new BusinessException("PED003", "Cursor de paginação inválido.");
+            }
+        }
+    }
 }
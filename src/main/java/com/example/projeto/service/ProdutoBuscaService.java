@@ -0,0 +1,96 @@
+package com.example.projeto.service;
+
+import com.example.projeto.dto.CatalogoFacetadoDTO;
+import com.example.projeto.dto.ProdutoBuscaDTO;
+import com.example.projeto.dto.ProdutoResumoDTO;
+import com.example.projeto.dto.SugestaoDTO;
+import com.example.projeto.exception.BusinessException;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.search.CatalogoFacetado;
+import com.example.projeto.search.FaixaPreco;
+import com.example.projeto.search.ProdutoAutocomplete;
+import com.example.projeto.search.ProdutoIndexado;
+import com.example.projeto.search.ProdutoSearchIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+//busca de produtos servida pelo índice em memória, sem consulta ao banco
+@Service
+@Timed(MetricsConfig.SERVICO)
+@RequiredArgsConstructor
+public class ProdutoBuscaService {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final ProdutoSearchIndex searchIndex;
+
+    private final ProdutoAutocomplete autocomplete;
+
+    private final CatalogoFacetado catalogoFacetado;
+
+    public List<ProdutoBuscaDTO> buscar(String consulta, Integer categoriaId, Double precoMin, Double precoMax, int limite) {
+        if (precoMin != null && precoMax != null && precoMin > precoMax) {
+            throw new BusinessException("PROD002", "O preço mínimo não pode ser maior que o preço máximo.");
+        }
+        int limiteValido = Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        return searchIndex.buscar(consulta, categoriaId, precoMin, precoMax, limiteValido).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    public List<SugestaoDTO> sugerir(String prefixo, int limite) {
+        return autocomplete.sugerir(prefixo, Math.max(limite, 1)).stream()
+                .map(sugestao -> new SugestaoDTO(sugestao.id(), sugestao.nome()))
+                .toList();
+    }
+
+    public CatalogoFacetadoDTO navegar(List<Integer> categoriaIds, List<FaixaPreco> faixas, Boolean emEstoque,
+                                       String cursor, int tamanho) {
+        Integer aposId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                aposId = Integer.valueOf(cursor);
+            } catch (NumberFormatException e) {
+                throw new BusinessException("PROD003", "Cursor de navegação inválido.");
+            }
+        }
+        int tamanhoValido = Math.min(Math.max(tamanho, 1), LIMITE_MAXIMO);
+        CatalogoFacetado.Resultado resultado = catalogoFacetado.navegar(
+                new CatalogoFacetado.Filtro(categoriaIds, faixas, emEstoque), aposId, tamanhoValido);
+
+        CatalogoFacetadoDTO dto = new CatalogoFacetadoDTO();
+        dto.setItens(resultado.itens().stream().map(this::toResumoDTO).toList());
+        dto.setProximoCursor(resultado.proximoAposId() != null ? resultado.proximoAposId().toString() : null);
+        dto.setTotal(resultado.total());
+        dto.setCategorias(resultado.categorias());
+        dto.setFaixasPreco(resultado.faixas());
+        dto.setEmEstoque(resultado.emEstoque());
+        dto.setSemEstoque(resultado.semEstoque());
+        return dto;
+    }
+
+    private ProdutoResumoDTO toResumoDTO(ProdutoIndexado produto) {
+        ProdutoResumoDTO dto = new ProdutoResumoDTO();
+        dto.setId(produto.id());
+        dto.setNome(produto.nome());
+        dto.setPreco(produto.preco());
+        dto.setEstoque(produto.estoque());
+        dto.setCategoriaId(produto.categoriaId());
+        return dto;
+    }
+
+    private ProdutoBuscaDTO toDTO(ProdutoSearchIndex.Resultado resultado) {
+        ProdutoBuscaDTO dto = new ProdutoBuscaDTO();
+        dto.setId(resultado.produto().id());
+        dto.setNome(resultado.produto().nome());
+        dto.setDescricao(resultado.produto().descricao());
+        dto.setPreco(resultado.produto().preco());
+        dto.setEstoque(resultado.produto().estoque());
+        dto.setCategoriaId(resultado.produto().categoriaId());
+        dto.setRelevancia(resultado.relevancia());
+        return dto;
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.projeto.service;
+
+import com.example.projeto.dto.ImportacaoDTO;
+import com.example.projeto.event.ProdutosImportadosEvent;
+import com.example.projeto.exception.BusinessException;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.ProdutoImportacaoRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+//importação em massa do catálogo. O corpo é lido em streaming (array JSON ou CSV) e gravado em blocos de
+//TAMANHO_BLOCO linhas, cada bloco numa transação: as categorias do bloco saem de uma consulta só (as já vistas
+//ficam guardadas para os blocos seguintes), as linhas válidas vão num INSERT em lote e as inválidas voltam no
+//resultado com o número da linha, sem derrubar as outras.
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICO)
+@RequiredArgsConstructor
+public class ProdutoImportacaoService {
+
+    static final int TAMANHO_BLOCO = 1000;
+    static final int MAXIMO_ERROS = 1000;
+    private static final int TAMANHO_TEXTO = 255;
+
+    private final ProdutoImportacaoRepository importacaoRepository;
+
+    private final CategoriaRepository categoriaRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record LinhaImportacao(int linha, String nome, String preco, String descricao, String estoque,
+                                   String categoriaId) {
+    }
+
+    //[{"nome": ..., "preco": ..., "descricao": ..., "estoque": ..., "categoriaId": 1}, ...];
+    //a categoria também pode vir como "categoria": {"id": 1}, o formato do POST /api/produtos
+    public ImportacaoDTO importarJson(InputStream corpo) {
+        Importacao importacao = new Importacao();
+        try (JsonParser parser = objectMapper.getFactory().createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BusinessException("IMP001", "A importação em JSON deve ser um array de produtos.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new EOFException("o array não foi fechado");
+                }
+                int linha = importacao.linhas + 1;
+                JsonNode item = parser.readValueAsTree();
+                if (!item.isObject()) {
+                    importacao.linhas++;
+                    importacao.rejeitar(linha, "o item não é um objeto");
+                    continue;
+                }
+                JsonNode categoriaId = item.has("categoriaId") ? item.get("categoriaId") : item.path("categoria").get("id");
+                importacao.adicionar(new LinhaImportacao(linha, texto(item.get("nome")), texto(item.get("preco")),
+                        texto(item.get("descricao")), texto(item.get("estoque")), texto(categoriaId)));
+            }
+        } catch (IOException e) {
+            importacao.interromper(importacao.linhas + 1, e);
+        }
+        return importacao.concluir();
+    }
+
+    //cabeçalho com as colunas nome, preco, descricao, estoque e categoriaId (ou categoria_id), em qualquer ordem
+    public ImportacaoDTO importarCsv(InputStream corpo, Charset charset) {
+        Importacao importacao = new Importacao();
+        LeitorCsv leitor = null;
+        try {
+            leitor = LeitorCsv.abrir(corpo, charset);
+            List<String> cabecalho = leitor.proximo();
+            if (cabecalho == null) {
+                throw new BusinessException("IMP002", "O CSV da importação está vazio.");
+            }
+            Map<String, Integer> colunas = colunas(cabecalho);
+            List<String> campos;
+            while ((campos = leitor.proximo()) != null) {
+                if (campos.size() == 1 && campos.get(0).isBlank()) {
+                    continue;
+                }
+                importacao.adicionar(new LinhaImportacao(leitor.linha(), campo(campos, colunas, "nome"),
+                        campo(campos, colunas, "preco"), campo(campos, colunas, "descricao"),
+                        campo(campos, colunas, "estoque"), campo(campos, colunas, "categoriaid")));
+            }
+        } catch (IOException e) {
+            importacao.interromper(leitor == null ? 1 : leitor.linha(), e);
+        }
+        return importacao.concluir();
+    }
+
+    private static Map<String, Integer> colunas(List<String> cabecalho) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            String nome = cabecalho.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            colunas.putIfAbsent(nome.equals("categoria") ? "categoriaid" : nome, i);
+        }
+        List<String> faltando = List.of("nome", "preco", "categoriaid").stream()
+                .filter(coluna -> !colunas.containsKey(coluna))
+                .toList();
+        if (!faltando.isEmpty()) {
+            throw new BusinessException("IMP003", "O cabeçalho do CSV não tem as colunas obrigatórias: " + faltando + ".");
+        }
+        return colunas;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String coluna) {
+        Integer posicao = colunas.get(coluna);
+        if (posicao == null || posicao >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(posicao);
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static String texto(JsonNode valor) {
+        if (valor == null || valor.isNull()) {
+            return null;
+        }
+        return valor.isValueNode() ? valor.asText() : valor.toString();
+    }
+
+    //aceita vírgula decimal ("12,50"), como sai de planilhas em português
+    private static Double numero(String valor) {
+        String normalizado = valor.trim();
+        if (normalizado.indexOf(',') >= 0 && normalizado.indexOf('.') < 0) {
+            normalizado = normalizado.replace(',', '.');
+        }
+        try {
+            double numero = Double.parseDouble(normalizado);
+            return Double.isFinite(numero) ? numero : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer inteiro(String valor) {
+        Double numero = numero(valor);
+        if (numero == null || numero != Math.rint(numero) || Math.abs(numero) > Integer.MAX_VALUE) {
+            return null;
+        }
+        return numero.intValue();
+    }
+
+    //estado de uma importação: o bloco em montagem, as categorias já resolvidas e as contagens
+    private final class Importacao {
+
+        private final List<Produto> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        private final List<Integer> linhasDoBloco = new ArrayList<>(TAMANHO_BLOCO);
+        private final Map<Integer, Categoria> categorias = new HashMap<>();
+        private final Set<Integer> categoriasInexistentes = new HashSet<>();
+        private final List<ImportacaoDTO.ErroLinha> erros = new ArrayList<>();
+        private int linhas;
+        private int importados;
+        private int rejeitados;
+        private boolean interrompida;
+
+        void adicionar(LinhaImportacao linha) {
+            linhas++;
+            Produto produto = converter(linha);
+            if (produto == null) {
+                return;
+            }
+            bloco.add(produto);
+            linhasDoBloco.add(linha.linha());
+            if (bloco.size() == TAMANHO_BLOCO) {
+                gravar();
+            }
+        }
+
+        void rejeitar(int linha, String mensagem) {
+            rejeitados++;
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(new ImportacaoDTO.ErroLinha(linha, mensagem));
+            }
+        }
+
+        void interromper(int linha, IOException e) {
+            String motivo = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+            log.warn("Importação de produtos interrompida na linha {}: {}", linha, motivo);
+            interrompida = true;
+            erros.add(new ImportacaoDTO.ErroLinha(linha, "corpo inválido, leitura interrompida: " + motivo));
+        }
+
+        ImportacaoDTO concluir() {
+            gravar();
+            erros.sort(Comparator.comparingInt(ImportacaoDTO.ErroLinha::getLinha));
+            log.info("Importação de produtos: {} linhas, {} importadas, {} rejeitadas", linhas, importados, rejeitados);
+            return new ImportacaoDTO(linhas, importados, rejeitados, interrompida, erros);
+        }
+
+        //null quando a linha é inválida (e já foi rejeitada); a categoria sai só com o id, resolvida no bloco
+        private Produto converter(LinhaImportacao linha) {
+            String nome = linha.nome() == null ? null : linha.nome().trim();
+            if (nome == null || nome.isEmpty()) {
+                rejeitar(linha.linha(), "nome é obrigatório");
+                return null;
+            }
+            if (nome.length() > TAMANHO_TEXTO || (linha.descricao() != null && linha.descricao().length() > TAMANHO_TEXTO)) {
+                rejeitar(linha.linha(), "nome e descricao devem ter no máximo " + TAMANHO_TEXTO + " caracteres");
+                return null;
+            }
+            if (linha.preco() == null) {
+                rejeitar(linha.linha(), "preco é obrigatório");
+                return null;
+            }
+            Double preco = numero(linha.preco());
+            if (preco == null || preco < 0) {
+                rejeitar(linha.linha(), "preco inválido: " + linha.preco());
+                return null;
+            }
+            Integer estoque = null;
+            if (linha.estoque() != null) {
+                estoque = inteiro(linha.estoque());
+                if (estoque == null || estoque < 0) {
+                    rejeitar(linha.linha(), "estoque inválido: " + linha.estoque());
+                    return null;
+                }
+            }
+            Integer categoriaId = linha.categoriaId() == null ? null : inteiro(linha.categoriaId());
+            if (categoriaId == null) {
+                rejeitar(linha.linha(), linha.categoriaId() == null ? "categoriaId é obrigatório"
+                        : "categoriaId inválido: " + linha.categoriaId());
+                return null;
+            }
+
+            Categoria categoria = new Categoria();
+            categoria.setId(categoriaId);
+            Produto produto = new Produto();
+            produto.setNome(nome);
+            produto.setPreco(preco);
+            produto.setDescricao(linha.descricao());
+            produto.setEstoque(estoque);
+            produto.setCategoria(categoria);
+            return produto;
+        }
+
+        private void gravar() {
+            if (bloco.isEmpty()) {
+                return;
+            }
+            List<Produto> produtos = new ArrayList<>(bloco);
+            List<Integer> numeros = new ArrayList<>(linhasDoBloco);
+            bloco.clear();
+            linhasDoBloco.clear();
+            try {
+                importados += transactionTemplate.execute(status -> inserir(produtos, numeros));
+            } catch (DataAccessException | TransactionException e) {
+                //o bloco foi desfeito: as linhas que não tinham sido rejeitadas pela categoria também não entraram
+                log.warn("Bloco de {} produtos não gravado na importação", produtos.size(), e);
+                for (int i = 0; i < produtos.size(); i++) {
+                    if (!categoriasInexistentes.contains(produtos.get(i).getCategoria().getId())) {
+                        rejeitar(numeros.get(i), "o bloco desta linha não pôde ser gravado e foi desfeito");
+                    }
+                }
+            }
+        }
+
+        //roda na transação do bloco; o evento sai depois do commit
+        private int inserir(List<Produto> produtos, List<Integer> numeros) {
+            resolverCategorias(produtos);
+            List<Produto> validos = new ArrayList<>(produtos.size());
+            for (int i = 0; i < produtos.size(); i++) {
+                Produto produto = produtos.get(i);
+                Categoria categoria = categorias.get(produto.getCategoria().getId());
+                if (categoria == null) {
+                    rejeitar(numeros.get(i), "categoria " + produto.getCategoria().getId() + " não existe");
+                } else {
+                    produto.setCategoria(categoria);
+                    validos.add(produto);
+                }
+            }
+            if (!validos.isEmpty()) {
+                importacaoRepository.inserir(validos);
+                eventPublisher.publishEvent(new ProdutosImportadosEvent(validos));
+            }
+            return validos.size();
+        }
+
+        //uma consulta por bloco, só com as categorias ainda não vistas nesta importação
+        private void resolverCategorias(List<Produto> produtos) {
+            Set<Integer> desconhecidas = new HashSet<>();
+            for (Produto produto : produtos) {
+                Integer id = produto.getCategoria().getId();
+                if (!categorias.containsKey(id) && !categoriasInexistentes.contains(id)) {
+                    desconhecidas.add(id);
+                }
+            }
+            if (desconhecidas.isEmpty()) {
+                return;
+            }
+            categoriaRepository.findAllById(desconhecidas).forEach(categoria -> categorias.put(categoria.getId(), categoria));
+            desconhecidas.stream().filter(id -> !categorias.containsKey(id)).forEach(categoriasInexistentes::add);
+        }
+    }
+}
@@ -1,32 +1,80 @@
 package com.example.projeto.service;
 
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Produto;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.projection.CamposParciais;
+import com.example.projeto.projection.ProjecaoParcial;
+import com.example.projeto.repository.AtualizacaoParcialRepository;
 import com.example.projeto.repository.ProdutoRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICO)
 @RequiredArgsConstructor
 public class ProdutoService {
 
+    //campos aceitos em ?fields=
+    public static final Set<String> CAMPOS_PARCIAIS = Set.of("id", "nome", "preco", "descricao", "estoque", "versao",
+            "categoria.id", "categoria.nome");
+
+    //campos aceitos no PATCH
+    public static final Set<String> CAMPOS_ALTERAVEIS = Set.of("nome", "preco", "descricao", "estoque", "categoriaId");
+
     private final ProdutoRepository produtoRepository;
 
+    private final ProjecaoParcial projecaoParcial;
+
+    private final AtualizacaoParcialRepository atualizacaoParcialRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     public List<Produto> findAll() {
         return produtoRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Produto findById(Integer id) {
         return produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto com ID " + id + " não encontrado."));
     }
 
+    @Transactional(readOnly = true)
+    public LoteDTO<Produto> findLote(List<Integer> ids) {
+        return BuscaEmLote.buscar(ids, produtoRepository::findAllById, Produto::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllParcial(String fields) {
+        return projecaoParcial.listar(Produto.class, CamposParciais.de(fields, CAMPOS_PARCIAIS), null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> findByIdParcial(Integer id, String fields) {
+        return projecaoParcial.buscar(Produto.class, id, CamposParciais.de(fields, CAMPOS_PARCIAIS))
+                .orElseThrow(() -> new EntityNotFoundException("Produto com ID " + id + " não encontrado."));
+    }
+
     @Transactional
     public Produto save(Produto produto) {
-        return produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.salvo(salvo));
+        return salvo;
     }
 
     @Transactional
@@ -37,7 +85,32 @@ public class ProdutoService {
         existente.setDescricao(novoProduto.getDescricao());
         existente.setEstoque(novoProduto.getEstoque());
         existente.setCategoria(novoProduto.getCategoria());
-        return produtoRepository.save(existente);
+        Produto salvo = produtoRepository.save(existente);
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.salvo(salvo));
+        return salvo;
+    }
+
+    //grava só os campos enviados num UPDATE com a versão no WHERE, sem carregar o produto; devolve a nova versão.
+    //a categoria pode vir como "categoriaId": 2 ou, como no JSON do produto, "categoria": {"id": 2}
+    @Transactional
+    public long patch(Integer id, String ifMatch, Map<String, Object> alteracoes) {
+        long versao = AlteracaoParcial.versao(ifMatch, alteracoes);
+        AlteracaoParcial alteracao = AlteracaoParcial.de(comCategoriaId(alteracoes), CAMPOS_ALTERAVEIS)
+                .texto("nome", "nome", true, 255)
+                .numero("preco", "preco", true)
+                .texto("descricao", "descricao", false, 255)
+                .inteiro("estoque", "estoque", false)
+                .inteiro("categoriaId", "categoria_id", true);
+        AtualizacaoParcialRepository.Resultado resultado;
+        try {
+            resultado = atualizacaoParcialRepository.atualizar(Produto.class, id, versao, alteracao.colunas());
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("PROD001", "Produto deve possuir uma categoria válida.");
+        }
+        AlteracaoParcial.conferir(resultado, Produto.class, id,
+                () -> new EntityNotFoundException("Produto com ID " + id + " não encontrado."));
+        eventPublisher.publishEvent(new ProdutoAtualizadoEvent(id, alteracao.valores()));
+        return versao + 1;
     }
 
     @Transactional
@@ -46,5 +119,16 @@ public class ProdutoService {
             throw new EntityNotFoundException("Produto com ID " + id + " não encontrado.");
         }
         produtoRepository.deleteById(id);
+        eventPublisher.publishEvent(ProdutoAlteradoEvent.removido(id));
+    }
+
+    private static Map<String, Object> comCategoriaId(Map<String, Object> alteracoes) {
+        if (alteracoes == null || !(alteracoes.get("categoria") instanceof Map<?, ?> categoria)) {
+            return alteracoes;
+        }
+        Map<String, Object> copia = new LinkedHashMap<>(alteracoes);
+        copia.remove("categoria");
+        copia.put("categoriaId", categoria.get("id"));
+        return copia;
     }
 }
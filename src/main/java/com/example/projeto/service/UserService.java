@@ -1,17 +1,37 @@
 package com.example.projeto.service;
 
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.User;
+import com.example.projeto.observability.MetricsConfig;
+import com.example.projeto.repository.AtualizacaoParcialRepository;
 import com.example.projeto.repository.UserRepository;
+import com.example.projeto.security.Role;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICO)
 @RequiredArgsConstructor
 public class UserService {
+    //campos aceitos no PATCH; a senha não muda por aqui
+    public static final Set<String> CAMPOS_ALTERAVEIS = Set.of("nome", "email", "role");
+
+    private static final Set<String> PERFIS = Arrays.stream(Role.values()).map(Role::name)
+            .collect(Collectors.toUnmodifiableSet());
+
     private final UserRepository repository;
 
+    private final AtualizacaoParcialRepository atualizacaoParcialRepository;
+
     public List<User> findAll() {
         return repository.findAll();
     }
@@ -20,6 +40,10 @@ public class UserService {
         return repository.findById(id).orElse(null);
     }
 
+    public User findByEmail(String email) {
+        return repository.findByEmail(email).orElse(null);
+    }
+
     public User save(User user) {
         return repository.save(user);
     }
@@ -35,6 +59,25 @@ public class UserService {
         return repository.save(existing);
     }
 
+    //grava só os campos enviados num UPDATE com a versão no WHERE; devolve a nova versão
+    @Transactional
+    public long patch(Long id, String ifMatch, Map<String, Object> alteracoes) {
+        long versao = AlteracaoParcial.versao(ifMatch, alteracoes);
+        AlteracaoParcial alteracao = AlteracaoParcial.de(alteracoes, CAMPOS_ALTERAVEIS)
+                .texto("nome", "nome", true, 255)
+                .texto("email", "email", true, 255)
+                .opcao("role", "role", PERFIS);
+        AtualizacaoParcialRepository.Resultado resultado;
+        try {
+            resultado = atualizacaoParcialRepository.atualizar(User.class, id, versao, alteracao.colunas());
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException("USR003", "E-mail já cadastrado.");
+        }
+        AlteracaoParcial.conferir(resultado, User.class, id,
+                () -> new BusinessException("USR001", "Usuário não encontrado."));
+        return versao + 1;
+    }
+
     public void delete(Long id) {
         repository.deleteById(id);
     }
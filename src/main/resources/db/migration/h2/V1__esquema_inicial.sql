@@ -0,0 +1,65 @@
+-- Esquema existente, como era gerado pelo Hibernate (ddl-auto)
+create table categorias (
+    id integer generated by default as identity,
+    descricao varchar(255),
+    nome varchar(255) not null,
+    primary key (id)
+);
+
+create table cupons (
+    ativo boolean not null,
+    id integer generated by default as identity,
+    minimo_compra float(53) not null,
+    validade date not null,
+    valor float(53) not null,
+    codigo varchar(255) not null,
+    primary key (id),
+    constraint uk_cupons_codigo unique (codigo)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null,
+    nome varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','USER') not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table produtos (
+    categoria_id integer not null,
+    estoque integer,
+    id integer generated by default as identity,
+    preco float(53) not null,
+    descricao varchar(255),
+    nome varchar(255) not null,
+    primary key (id),
+    constraint fk_produtos_categoria foreign key (categoria_id) references categorias (id)
+);
+
+create table pedidos (
+    cupom_id integer,
+    data date,
+    id integer generated by default as identity,
+    user_id bigint not null,
+    status varchar(255) not null,
+    primary key (id),
+    constraint fk_pedidos_cupom foreign key (cupom_id) references cupons (id),
+    constraint fk_pedidos_user foreign key (user_id) references users (id)
+);
+
+create table pedido_produto (
+    pedido_id integer not null,
+    produto_id integer not null,
+    constraint fk_pedido_produto_pedido foreign key (pedido_id) references pedidos (id),
+    constraint fk_pedido_produto_produto foreign key (produto_id) references produtos (id)
+);
+
+create table tokens_revogados (
+    expiracao timestamp(6) with time zone not null,
+    jti varchar(36) not null,
+    primary key (jti)
+);
+
+create index idx_tokens_revogados_expiracao on tokens_revogados (expiracao);
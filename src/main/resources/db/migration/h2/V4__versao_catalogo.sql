@@ -0,0 +1,3 @@
+-- Versão otimista de produtos e categorias (@Version), usada nos ETags
+alter table produtos add column versao bigint default 0 not null;
+alter table categorias add column versao bigint default 0 not null;
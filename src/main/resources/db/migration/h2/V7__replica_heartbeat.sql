@@ -0,0 +1,7 @@
+-- Heartbeat do ReplicaLagMonitor: o primário grava o instante atual na linha 1 e o atraso da réplica é a idade
+-- do valor lido nela. Fica no esquema versionado para a aplicação não precisar de DDL em runtime.
+create table replica_heartbeat (
+    id integer not null,
+    atualizado_em bigint not null,
+    primary key (id)
+);
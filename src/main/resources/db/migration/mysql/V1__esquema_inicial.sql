@@ -0,0 +1,66 @@
+-- Esquema existente, como era gerado pelo Hibernate (ddl-auto).
+-- Bancos já criados pelo ddl-auto entram com baseline na versão 1 e recebem só as migrações seguintes.
+create table categorias (
+    id integer not null auto_increment,
+    descricao varchar(255),
+    nome varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cupons (
+    ativo bit not null,
+    id integer not null auto_increment,
+    minimo_compra float(53) not null,
+    validade date not null,
+    valor float(53) not null,
+    codigo varchar(255) not null,
+    primary key (id),
+    constraint uk_cupons_codigo unique (codigo)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    nome varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','USER') not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table produtos (
+    categoria_id integer not null,
+    estoque integer,
+    id integer not null auto_increment,
+    preco float(53) not null,
+    descricao varchar(255),
+    nome varchar(255) not null,
+    primary key (id),
+    constraint fk_produtos_categoria foreign key (categoria_id) references categorias (id)
+) engine=InnoDB;
+
+create table pedidos (
+    cupom_id integer,
+    data date,
+    id integer not null auto_increment,
+    user_id bigint not null,
+    status varchar(255) not null,
+    primary key (id),
+    constraint fk_pedidos_cupom foreign key (cupom_id) references cupons (id),
+    constraint fk_pedidos_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table pedido_produto (
+    pedido_id integer not null,
+    produto_id integer not null,
+    constraint fk_pedido_produto_pedido foreign key (pedido_id) references pedidos (id),
+    constraint fk_pedido_produto_produto foreign key (produto_id) references produtos (id)
+) engine=InnoDB;
+
+create table tokens_revogados (
+    expiracao datetime(6) not null,
+    jti varchar(36) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+create index idx_tokens_revogados_expiracao on tokens_revogados (expiracao);
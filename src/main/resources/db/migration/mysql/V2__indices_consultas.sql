@@ -0,0 +1,18 @@
+-- Índices para as consultas quentes (mesmo conteúdo em h2/V2__indices_consultas.sql)
+
+-- pedidos de um cliente, mais recentes primeiro: filtra por user_id e ordena por data/id sem sort
+create index idx_pedidos_user_data on pedidos (user_id, data, id);
+-- pedidos por status (em andamento, entregues...) dentro de um período
+create index idx_pedidos_status_data on pedidos (status, data);
+-- pedidos de um período, de todos os clientes
+create index idx_pedidos_data on pedidos (data);
+
+-- produtos de uma categoria (inclusive a carga em lote de Categoria.produtos)
+create index idx_produtos_categoria on produtos (categoria_id);
+
+-- produtos de um pedido e pedidos que contêm um produto
+create index idx_pedido_produto_pedido on pedido_produto (pedido_id);
+create index idx_pedido_produto_produto on pedido_produto (produto_id);
+
+-- cupons ainda válidos
+create index idx_cupons_validade on cupons (validade);
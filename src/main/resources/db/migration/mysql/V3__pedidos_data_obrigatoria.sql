@@ -0,0 +1,3 @@
+-- A listagem por cliente pagina por (data, id); pedido sem data ficaria fora da ordem
+update pedidos set data = current_date where data is null;
+alter table pedidos modify data date not null;
@@ -0,0 +1,3 @@
+-- Versão otimista de pedidos e usuários (@Version), checada no WHERE dos PATCH
+alter table pedidos add column versao bigint default 0 not null;
+alter table users add column versao bigint default 0 not null;
@@ -0,0 +1,11 @@
+-- Outbox de eventos de pedido: gravado na mesma transação do pedido e drenado pelo OutboxRelay.
+-- Sem chave estrangeira para pedidos: o evento sai mesmo que o pedido seja excluído antes do envio.
+create table outbox_pedidos (
+    id bigint not null auto_increment,
+    pedido_id integer not null,
+    tipo varchar(40) not null,
+    payload varchar(4000) not null,
+    criado_em datetime(6) not null,
+    tentativas integer default 0 not null,
+    primary key (id)
+) engine=InnoDB;
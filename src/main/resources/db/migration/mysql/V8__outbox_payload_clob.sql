@@ -0,0 +1,3 @@
+-- O payload leva todos os produtoIds do pedido, sem limite de quantidade: em varchar(4000) um pedido grande
+-- estourava a coluna e, como o evento é gravado na transação do pedido, desfazia o próprio pedido.
+alter table outbox_pedidos modify payload longtext not null;
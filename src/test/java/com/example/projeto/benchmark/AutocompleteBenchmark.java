@@ -0,0 +1,78 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.search.AutocompleteTrie;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//latência de uma sugestão na AutocompleteTrie com um catálogo sintético grande.
+//Rodar com: mvn -Pbenchmark test -Dtest=AutocompleteBenchmark
+//Mede cada consulta isoladamente (prefixos de 1 a 6 letras) e exige p99 abaixo de 1 ms.
+class AutocompleteBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+    private static final int CONSULTAS = 200_000;
+    private static final String[] PALAVRAS = {
+            "notebook", "nobreak", "monitor", "mouse", "teclado", "mochila", "camera", "cabo", "carregador",
+            "fone", "gamer", "sem", "fio", "usb", "hdmi", "suporte", "mesa", "cadeira", "impressora", "tinta",
+            "roteador", "wifi", "ssd", "memoria", "placa", "video", "processador", "gabinete", "fonte", "caixa"};
+
+    @Test
+    void medirLatenciaDasSugestoes() {
+        Random random = new Random(42);
+        AutocompleteTrie trie = new AutocompleteTrie(10);
+        long inicioCarga = System.nanoTime();
+        for (int id = 1; id <= PRODUTOS; id++) {
+            trie.inserir(id, nome(random, id), random.nextInt(1_000));
+        }
+        double cargaMs = (System.nanoTime() - inicioCarga) / 1e6;
+
+        String[] prefixos = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            String palavra = PALAVRAS[random.nextInt(PALAVRAS.length)];
+            prefixos[i] = palavra.substring(0, 1 + random.nextInt(Math.min(6, palavra.length())));
+        }
+
+        // aquecimento do JIT
+        for (int i = 0; i < CONSULTAS; i++) {
+            trie.sugerir(prefixos[i], 10);
+        }
+
+        long[] latencias = new long[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            long inicio = System.nanoTime();
+            trie.sugerir(prefixos[i], 10);
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(latencias);
+
+        long inicioAtualizacao = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            trie.somarPopularidade(1 + random.nextInt(PRODUTOS), 1);
+        }
+        double atualizacaoUs = (System.nanoTime() - inicioAtualizacao) / 1e3 / 10_000;
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %14s%n", "produtos", "carga ms", "p50 us", "p99 us", "p999 us", "atualizacao us");
+        System.out.printf("%-10d %10.0f %10.2f %10.2f %10.2f %14.2f%n", PRODUTOS, cargaMs,
+                percentil(latencias, 0.50), percentil(latencias, 0.99), percentil(latencias, 0.999), atualizacaoUs);
+
+        assertThat(percentil(latencias, 0.99)).isLessThan(1_000);
+    }
+
+    private static String nome(Random random, int id) {
+        int palavras = 2 + random.nextInt(3);
+        StringBuilder nome = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            nome.append(PALAVRAS[random.nextInt(PALAVRAS.length)]).append(' ');
+        }
+        return nome.append(id).toString();
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        return ordenadas[(int) Math.min(ordenadas.length - 1, Math.round(p * ordenadas.length))] / 1e3;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.compression.Codec;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//custo de CPU x bytes na rede para a listagem de produtos em cada codec/nível do CompressionFilter.
+//Rodar com: mvn -Pbenchmark test -Dtest=CompressaoBenchmark
+//Para cada nível: tamanho, taxa, tempo de compressão (mediana de várias rodadas) e o tempo total
+//estimado (compressão + transferência) em links de 10, 100 e 1000 Mbit/s. Nível 0 = sem compressão.
+class CompressaoBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+    private static final int RODADAS = 7;
+    private static final int[] MBITS = {10, 100, 1000};
+    private static final String[] PALAVRAS = {
+            "notebook", "monitor", "mouse", "teclado", "mochila", "camera", "cabo", "carregador", "fone",
+            "gamer", "sem", "fio", "usb", "hdmi", "suporte", "mesa", "cadeira", "impressora", "roteador", "ssd"};
+
+    @Test
+    void medirCompressaoDaListagemDeProdutos() throws Exception {
+        byte[] json = new ObjectMapper().writeValueAsBytes(produtos());
+
+        System.out.println();
+        System.out.printf("listagem com %d produtos: %.1f MB de JSON%n", PRODUTOS, json.length / 1e6);
+        System.out.printf("%-6s %5s %10s %7s %9s %9s", "codec", "nivel", "bytes", "taxa", "ms", "MB/s");
+        for (int mbits : MBITS) {
+            System.out.printf(" %12s", "total@" + mbits + "M");
+        }
+        System.out.println();
+        imprimir("-", 0, json.length, 0, json.length);
+
+        int gzip6 = 0;
+        for (int nivel : new int[]{1, 3, 6, 9}) {
+            int tamanho = medir(Codec.GZIP, nivel, json);
+            gzip6 = nivel == 6 ? tamanho : gzip6;
+        }
+        if (Codec.zstdDisponivel()) {
+            for (int nivel : new int[]{1, 3, 6, 9}) {
+                medir(Codec.ZSTD, nivel, json);
+            }
+        }
+
+        assertThat(gzip6).isLessThan(json.length / 4);
+    }
+
+    private static int medir(Codec codec, int nivel, byte[] json) throws IOException {
+        comprimir(codec, nivel, json); // aquecimento
+        long[] tempos = new long[RODADAS];
+        int tamanho = 0;
+        for (int i = 0; i < RODADAS; i++) {
+            long inicio = System.nanoTime();
+            tamanho = comprimir(codec, nivel, json);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        imprimir(codec.getCodificacao(), nivel, tamanho, tempos[RODADAS / 2] / 1e6, json.length);
+        return tamanho;
+    }
+
+    private static int comprimir(Codec codec, int nivel, byte[] json) throws IOException {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream(json.length / 4);
+        try (OutputStream saida = codec.envolver(destino, nivel)) {
+            //em blocos, como o conversor do Jackson escreve na resposta
+            for (int i = 0; i < json.length; i += 8192) {
+                saida.write(json, i, Math.min(8192, json.length - i));
+            }
+        }
+        return destino.size();
+    }
+
+    private static void imprimir(String codec, int nivel, int tamanho, double ms, int original) {
+        System.out.printf("%-6s %5d %10d %6.1fx %9.1f %9s", codec, nivel, tamanho, (double) original / tamanho, ms,
+                ms == 0 ? "-" : String.format("%.0f", original / 1e6 / (ms / 1e3)));
+        for (int mbits : MBITS) {
+            double transferenciaMs = tamanho * 8.0 / (mbits * 1e6) * 1e3;
+            System.out.printf(" %10.0fms", ms + transferenciaMs);
+        }
+        System.out.println();
+    }
+
+    private static List<Produto> produtos() {
+        Random random = new Random(42);
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setId(i);
+            categorias.add(categoria);
+        }
+        List<Produto> produtos = new ArrayList<>(PRODUTOS);
+        for (int id = 1; id <= PRODUTOS; id++) {
+            Produto produto = new Produto();
+            produto.setId(id);
+            produto.setNome(frase(random, 2 + random.nextInt(3)) + id);
+            produto.setDescricao(frase(random, 8 + random.nextInt(12)));
+            produto.setPreco(Math.round(random.nextDouble() * 500_000) / 100.0);
+            produto.setEstoque(random.nextInt(1_000));
+            produto.setVersao((long) random.nextInt(5));
+            produto.setCategoria(categorias.get(random.nextInt(categorias.size())));
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+
+    private static String frase(Random random, int palavras) {
+        StringBuilder frase = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            frase.append(PALAVRAS[random.nextInt(PALAVRAS.length)]).append(' ');
+        }
+        return frase.toString();
+    }
+}
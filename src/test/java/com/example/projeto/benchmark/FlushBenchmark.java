@@ -0,0 +1,122 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.ProjetoBackEndApplication;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.ProdutoImportacaoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//custo do flush com PRODUTOS entidades gerenciadas na mesma sessão, direto no EntityManager.
+//Rodar com: mvn -Pbenchmark test -Dtest=FlushBenchmark
+//"sem mudanca" é só a checagem de sujeira de todas; "1 alterado" soma o UPDATE de um estoque;
+//"somente leitura" carrega com o hint readOnly (sem cópia do estado) e libera só a entidade alterada.
+//O tempo é a mediana das rodadas; o UPDATE gerado é impresso para conferir que só leva as colunas alteradas.
+class FlushBenchmark {
+
+    private static final int PRODUTOS = 10_000;
+    private static final int RODADAS = 20;
+
+    //registra os UPDATE de produtos que o Hibernate gera
+    public static class UpdatesDeProduto implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("update produtos")) {
+                SQL.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @Test
+    void medirFlushComSessaoGrande() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjetoBackEndApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + UpdatesDeProduto.class.getName())
+                .run()) {
+
+            Categoria categoria = new Categoria();
+            categoria.setNome("Flush");
+            Categoria salva = context.getBean(CategoriaRepository.class).save(categoria);
+            List<Produto> produtos = IntStream.range(0, PRODUTOS).mapToObj(i -> {
+                Produto produto = new Produto();
+                produto.setNome("Produto Flush " + i);
+                produto.setPreco(10.0 + i);
+                produto.setDescricao("Descrição do produto " + i);
+                produto.setEstoque(100);
+                produto.setCategoria(salva);
+                return produto;
+            }).toList();
+            TransactionTemplate transacao = context.getBean(TransactionTemplate.class);
+            transacao.executeWithoutResult(s -> context.getBean(ProdutoImportacaoRepository.class).inserir(produtos));
+
+            EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+            System.out.println();
+            System.out.printf("%-16s %10s %12s%n", "modo", "entidades", "flush us");
+            medir(emf, "sem mudanca", false, false);
+            medir(emf, "1 alterado", false, true);
+            medir(emf, "somente leitura", true, true);
+
+            System.out.println(UpdatesDeProduto.SQL.get(0));
+            assertThat(UpdatesDeProduto.SQL).allSatisfy(sql -> assertThat(sql)
+                    .startsWith("update produtos set estoque=?,versao=? where"));
+        }
+    }
+
+    private static void medir(EntityManagerFactory emf, String modo, boolean somenteLeitura, boolean alterar) {
+        long[] tempos = new long[RODADAS];
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            EntityManager em = emf.createEntityManager();
+            try {
+                em.getTransaction().begin();
+                List<Produto> gerenciados = em.createQuery("select p from Produto p where p.nome like 'Produto Flush %'",
+                                Produto.class)
+                        .setHint(HibernateHints.HINT_READ_ONLY, somenteLeitura)
+                        .getResultList();
+                assertThat(gerenciados).hasSize(PRODUTOS);
+                //equals/hashCode pelo id: montar o conjunto não toca nas categorias (proxies)
+                Set<Produto> distintos = new HashSet<>(gerenciados);
+                assertThat(distintos).hasSize(PRODUTOS);
+
+                if (alterar) {
+                    Produto alterado = gerenciados.get(rodada);
+                    if (somenteLeitura) {
+                        em.unwrap(Session.class).setReadOnly(alterado, false);
+                    }
+                    alterado.setEstoque(alterado.getEstoque() - 1);
+                }
+                long inicio = System.nanoTime();
+                em.flush();
+                tempos[rodada] = System.nanoTime() - inicio;
+                em.getTransaction().commit();
+            } finally {
+                em.close();
+            }
+        }
+        //a primeira metade é aquecimento do JIT
+        long[] medidos = Arrays.copyOfRange(tempos, RODADAS / 2, RODADAS);
+        Arrays.sort(medidos);
+        System.out.printf("%-16s %10d %12.0f%n", modo, PRODUTOS, medidos[medidos.length / 2] / 1e3);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.User;
+import com.example.projeto.serialization.FormatosBinarios;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//tamanho e tempo de escrita (servidor) e leitura (cliente, de volta para as entidades) de JSON, CBOR e Smile
+//para as listagens de produtos e de pedidos, com os mesmos mappers que os conversores HTTP usam.
+//Rodar com: mvn -Pbenchmark test -Dtest=FormatoBinarioBenchmark
+//Tempos são a mediana de várias rodadas depois do aquecimento; "gzip" é o tamanho após o CompressionFilter (nível 3).
+class FormatoBinarioBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+    private static final int PEDIDOS = 50_000;
+    private static final int RODADAS = 9;
+    private static final String[] PALAVRAS = {
+            "notebook", "monitor", "mouse", "teclado", "mochila", "camera", "cabo", "carregador", "fone",
+            "gamer", "sem", "fio", "usb", "hdmi", "suporte", "mesa", "cadeira", "impressora", "roteador", "ssd"};
+
+    @Test
+    void compararFormatos() throws Exception {
+        Random random = new Random(42);
+        List<Produto> produtos = produtos(random);
+        List<Pedido> pedidos = pedidos(random, produtos);
+
+        ObjectMapper json = builder().build();
+        FormatosBinarios formatos = new FormatosBinarios(builder());
+        ObjectMapper[] mappers = {json, formatos.mapper(FormatosBinarios.CBOR), formatos.mapper(FormatosBinarios.SMILE)};
+        String[] nomes = {"json", "cbor", "smile"};
+
+        System.out.println();
+        System.out.printf("%-8s %-6s %11s %7s %10s %11s %11s %9s%n",
+                "lista", "formato", "bytes", "vs json", "gzip", "escrita ms", "leitura ms", "MB/s lei.");
+        double[] leituraProdutos = new double[3];
+        for (int i = 0; i < mappers.length; i++) {
+            leituraProdutos[i] = medir("produtos", nomes[i], mappers[i], produtos, new TypeReference<List<Produto>>() {
+            }, json);
+        }
+        for (int i = 0; i < mappers.length; i++) {
+            medir("pedidos", nomes[i], mappers[i], pedidos, new TypeReference<List<Pedido>>() {
+            }, json);
+        }
+
+        assertThat(leituraProdutos[2]).isLessThan(leituraProdutos[0]);
+    }
+
+    private static <T> double medir(String lista, String nome, ObjectMapper mapper, List<T> valores,
+                                    TypeReference<List<T>> tipo, ObjectMapper json) throws IOException {
+        byte[] corpo = mapper.writeValueAsBytes(valores);
+        mapper.readValue(corpo, tipo); // aquecimento
+        long[] escrita = new long[RODADAS];
+        long[] leitura = new long[RODADAS];
+        for (int i = 0; i < RODADAS; i++) {
+            long inicio = System.nanoTime();
+            corpo = mapper.writeValueAsBytes(valores);
+            escrita[i] = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            List<T> lidos = mapper.readValue(corpo, tipo);
+            leitura[i] = System.nanoTime() - inicio;
+            assertThat(lidos).hasSize(valores.size());
+        }
+        Arrays.sort(escrita);
+        Arrays.sort(leitura);
+        int tamanhoJson = json.writeValueAsBytes(valores).length;
+        double leituraMs = leitura[RODADAS / 2] / 1e6;
+        System.out.printf("%-8s %-6s %11d %6.0f%% %10d %11.1f %11.1f %9.0f%n", lista, nome, corpo.length,
+                100.0 * corpo.length / tamanhoJson, gzip(corpo), escrita[RODADAS / 2] / 1e6, leituraMs,
+                corpo.length / 1e6 / (leituraMs / 1e3));
+        return leituraMs;
+    }
+
+    //a mesma configuração que o Spring Boot aplica ao builder (datas ISO em vez de timestamps)
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static int gzip(byte[] corpo) throws IOException {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream(corpo.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(destino) {
+            {
+                def.setLevel(3);
+            }
+        }) {
+            gzip.write(corpo);
+        }
+        return destino.size();
+    }
+
+    private static List<Produto> produtos(Random random) {
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setId(i);
+            categorias.add(categoria);
+        }
+        List<Produto> produtos = new ArrayList<>(PRODUTOS);
+        for (int id = 1; id <= PRODUTOS; id++) {
+            Produto produto = new Produto();
+            produto.setId(id);
+            produto.setNome(frase(random, 2 + random.nextInt(3)) + id);
+            produto.setDescricao(frase(random, 8 + random.nextInt(12)));
+            produto.setPreco(Math.round(random.nextDouble() * 500_000) / 100.0);
+            produto.setEstoque(random.nextInt(1_000));
+            produto.setVersao((long) random.nextInt(5));
+            produto.setCategoria(categorias.get(random.nextInt(categorias.size())));
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+
+    private static List<Pedido> pedidos(Random random, List<Produto> produtos) {
+        List<User> clientes = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            User cliente = new User();
+            cliente.setId(id);
+            cliente.setNome(frase(random, 2).trim());
+            cliente.setEmail("cliente" + id + "@exemplo.com");
+            clientes.add(cliente);
+        }
+        String[] status = {"EM_ANDAMENTO", "ENTREGUE", "CANCELADO"};
+        List<Pedido> pedidos = new ArrayList<>(PEDIDOS);
+        for (int id = 1; id <= PEDIDOS; id++) {
+            Pedido pedido = new Pedido();
+            pedido.setId(id);
+            pedido.setData(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700)));
+            pedido.setStatus(status[random.nextInt(status.length)]);
+            pedido.setCliente(clientes.get(random.nextInt(clientes.size())));
+            List<Produto> itens = new ArrayList<>();
+            for (int i = 1 + random.nextInt(5); i > 0; i--) {
+                itens.add(produtos.get(random.nextInt(produtos.size())));
+            }
+            pedido.setProdutos(itens);
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+
+    private static String frase(Random random, int palavras) {
+        StringBuilder frase = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            frase.append(PALAVRAS[random.nextInt(PALAVRAS.length)]).append(' ');
+        }
+        return frase.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.ProjetoBackEndApplication;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//POST /api/produtos um a um x POST /api/produtos/importacao (JSON e CSV), por HTTP de verdade.
+//Rodar com: mvn -Pbenchmark test -Dtest=ImportacaoBenchmark
+//Um a um grava UM_A_UM produtos (é lento demais para o volume todo); json e csv importam IMPORTADOS cada.
+//A comparação é em produtos por segundo.
+class ImportacaoBenchmark {
+
+    private static final int UM_A_UM = 1_000;
+    private static final int IMPORTADOS = 50_000;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void compararImportacaoComCriacaoUmAUm() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjetoBackEndApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run()) {
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = "Bearer " + context.getBean(JwtService.class).generateToken(
+                    org.springframework.security.core.userdetails.User.withUsername("importacao@example.com")
+                            .password("x").roles("ADMIN").build(), "ADMIN");
+            Categoria categoria = new Categoria();
+            categoria.setNome("Importação");
+            int categoriaId = context.getBean(CategoriaRepository.class).save(categoria).getId();
+
+            System.out.println();
+            System.out.printf("%-12s %10s %10s %14s%n", "modo", "produtos", "ms", "produtos/s");
+
+            long inicio = System.nanoTime();
+            for (int i = 0; i < UM_A_UM; i++) {
+                enviar(base + "/api/produtos", token, "application/json", """
+                        {"nome": "Um a Um %d", "preco": %d, "estoque": 10, "categoria": {"id": %d}}
+                        """.formatted(i, i + 1, categoriaId));
+            }
+            double umAUm = imprimir("um a um", UM_A_UM, System.nanoTime() - inicio);
+
+            String json = IntStream.range(0, IMPORTADOS)
+                    .mapToObj(i -> """
+                            {"nome": "Json %d", "preco": %d, "estoque": 10, "categoriaId": %d}\
+                            """.formatted(i, i + 1, categoriaId))
+                    .collect(Collectors.joining(",", "[", "]"));
+            inicio = System.nanoTime();
+            assertThat(enviar(base + "/api/produtos/importacao", token, "application/json", json))
+                    .contains("\"importados\":" + IMPORTADOS);
+            double importacaoJson = imprimir("json", IMPORTADOS, System.nanoTime() - inicio);
+
+            String csv = IntStream.range(0, IMPORTADOS)
+                    .mapToObj(i -> "Csv " + i + "," + (i + 1) + ",,10," + categoriaId)
+                    .collect(Collectors.joining("\n", "nome,preco,descricao,estoque,categoriaId\n", "\n"));
+            inicio = System.nanoTime();
+            assertThat(enviar(base + "/api/produtos/importacao", token, "text/csv", csv))
+                    .contains("\"importados\":" + IMPORTADOS);
+            imprimir("csv", IMPORTADOS, System.nanoTime() - inicio);
+
+            assertThat(importacaoJson).isGreaterThan(umAUm * 10);
+        }
+    }
+
+    private static double imprimir(String modo, int produtos, long nanos) {
+        double ms = nanos / 1e6;
+        double porSegundo = produtos / (ms / 1000);
+        System.out.printf("%-12s %10d %10.0f %14.0f%n", modo, produtos, ms, porSegundo);
+        return porSegundo;
+    }
+
+    private String enviar(String url, String token, String contentType, String corpo) throws Exception {
+        HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", token)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        return resposta.body();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.ProjetoBackEndApplication;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.User;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.PedidoRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import com.example.projeto.repository.UserRepository;
+import com.example.projeto.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//GET /{id} repetido x POST /lote para 200 ids, por HTTP de verdade (filtros, JWT, transação e serialização).
+//Rodar com: mvn -Pbenchmark test -Dtest=LoteBenchmark
+//"frio" esvazia o cache de segundo nível antes de cada rodada; "quente" mede com ele cheio.
+//Os comandos SQL vêm das estatísticas do Hibernate; o tempo é a mediana das rodadas.
+class LoteBenchmark {
+
+    private static final int PRODUTOS = 5_000;
+    private static final int PEDIDOS = 2_000;
+    private static final int IDS = 200;
+    private static final int RODADAS = 15;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void compararLoteComBuscaPorId() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjetoBackEndApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run()) {
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = "Bearer " + context.getBean(JwtService.class).generateToken(
+                    org.springframework.security.core.userdetails.User.withUsername("lote@example.com")
+                            .password("x").roles("ADMIN").build(), "ADMIN");
+            Random random = new Random(42);
+            List<Integer> produtoIds = criarProdutos(context);
+            List<Integer> pedidoIds = criarPedidos(context, produtoIds, random);
+
+            EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+            Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+
+            System.out.println();
+            System.out.printf("%-9s %-7s %-7s %8s %10s %10s %12s%n",
+                    "recurso", "modo", "cache", "chamadas", "comandos", "ms", "ms por id");
+            double[] produtos = new double[2];
+            for (String recurso : new String[]{"produtos", "pedidos"}) {
+                List<Integer> todos = recurso.equals("produtos") ? produtoIds : pedidoIds;
+                for (boolean frio : new boolean[]{true, false}) {
+                    double porId = medir(base, token, recurso, todos, random, frio, false, emf, estatisticas);
+                    double lote = medir(base, token, recurso, todos, random, frio, true, emf, estatisticas);
+                    if (recurso.equals("produtos") && frio) {
+                        produtos[0] = porId;
+                        produtos[1] = lote;
+                    }
+                }
+            }
+
+            assertThat(produtos[1]).isLessThan(produtos[0]);
+        }
+    }
+
+    private double medir(String base, String token, String recurso, List<Integer> todos, Random random, boolean frio,
+                         boolean lote, EntityManagerFactory emf, Statistics estatisticas) throws Exception {
+        executar(base, token, recurso, sortear(todos, random), lote); // aquecimento
+        long[] tempos = new long[RODADAS];
+        long comandos = 0;
+        for (int r = 0; r < RODADAS; r++) {
+            List<Integer> ids = sortear(todos, random);
+            if (frio) {
+                emf.getCache().evictAll();
+            }
+            long antes = estatisticas.getPrepareStatementCount();
+            long inicio = System.nanoTime();
+            executar(base, token, recurso, ids, lote);
+            tempos[r] = System.nanoTime() - inicio;
+            comandos += estatisticas.getPrepareStatementCount() - antes;
+        }
+        Arrays.sort(tempos);
+        double ms = tempos[RODADAS / 2] / 1e6;
+        System.out.printf("%-9s %-7s %-7s %8d %10d %10.1f %12.3f%n", recurso, lote ? "lote" : "por id",
+                frio ? "frio" : "quente", lote ? 1 : IDS, comandos / RODADAS, ms, ms / IDS);
+        return ms;
+    }
+
+    private void executar(String base, String token, String recurso, List<Integer> ids, boolean lote) throws Exception {
+        if (lote) {
+            String corpo = ids.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+            enviar(HttpRequest.newBuilder(URI.create(base + "/api/" + recurso + "/lote"))
+                    .header("Authorization", token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo)).build());
+            return;
+        }
+        for (Integer id : ids) {
+            enviar(HttpRequest.newBuilder(URI.create(base + "/api/" + recurso + "/" + id))
+                    .header("Authorization", token).GET().build());
+        }
+    }
+
+    private void enviar(HttpRequest request) throws Exception {
+        HttpResponse<byte[]> resposta = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+    }
+
+    private static List<Integer> sortear(List<Integer> todos, Random random) {
+        List<Integer> ids = new ArrayList<>(IDS);
+        for (int i = 0; i < IDS; i++) {
+            ids.add(todos.get(random.nextInt(todos.size())));
+        }
+        return ids;
+    }
+
+    private static List<Integer> criarProdutos(ConfigurableApplicationContext context) {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Lote");
+        categoria = context.getBean(CategoriaRepository.class).save(categoria);
+        List<Produto> produtos = new ArrayList<>(PRODUTOS);
+        for (int i = 0; i < PRODUTOS; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto Lote " + i);
+            produto.setDescricao("Descrição do produto " + i);
+            produto.setPreco(10.0 + i);
+            produto.setEstoque(100);
+            produto.setCategoria(categoria);
+            produtos.add(produto);
+        }
+        return context.getBean(ProdutoRepository.class).saveAll(produtos).stream().map(Produto::getId).toList();
+    }
+
+    private static List<Integer> criarPedidos(ConfigurableApplicationContext context, List<Integer> produtoIds,
+                                              Random random) {
+        User cliente = new User();
+        cliente.setNome("Cliente Lote");
+        cliente.setEmail("lote@example.com");
+        cliente.setPassword("123456");
+        cliente = context.getBean(UserRepository.class).save(cliente);
+        ProdutoRepository produtoRepository = context.getBean(ProdutoRepository.class);
+        List<Pedido> pedidos = new ArrayList<>(PEDIDOS);
+        for (int i = 0; i < PEDIDOS; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setData(LocalDate.now().minusDays(random.nextInt(365)));
+            pedido.setStatus("ENTREGUE");
+            pedido.setProdutos(produtoRepository.findAllById(List.of(
+                    produtoIds.get(random.nextInt(produtoIds.size())),
+                    produtoIds.get(random.nextInt(produtoIds.size())))));
+            pedidos.add(pedido);
+        }
+        return context.getBean(PedidoRepository.class).saveAll(pedidos).stream().map(Pedido::getId).toList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.projeto.benchmark;
+
+import com.example.projeto.ProjetoBackEndApplication;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.User;
+import com.example.projeto.service.CategoriaService;
+import com.example.projeto.service.PedidoService;
+import com.example.projeto.service.ProdutoService;
+import com.example.projeto.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//teste de carga do fluxo de criação de pedido (mesmas chamadas do PedidoController.criar)
+//com pools de tamanhos diferentes. Rodar com: mvn -Pbenchmark test
+//Por padrão usa o H2 em memória; para medir contra o MySQL, acrescente -Dspring.profiles.active=prod.
+class PoolConexoesBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int PEDIDOS_POR_THREAD = 200;
+
+    @Test
+    void compararThroughputDePedidosPorTamanhoDePool() throws Exception {
+        List<String> linhas = new ArrayList<>();
+        for (int tamanho : new int[]{2, 10, THREADS}) {
+            linhas.add(executar(tamanho));
+        }
+
+        System.out.println();
+        System.out.printf("%-6s %12s %16s %16s %10s%n", "pool", "pedidos/s", "acquire med ms", "acquire max ms", "timeouts");
+        linhas.forEach(System.out::println);
+    }
+
+    private String executar(int tamanhoPool) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjetoBackEndApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.hikari.maximum-pool-size=" + tamanhoPool,
+                        "spring.datasource.hikari.minimum-idle=" + tamanhoPool,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "logging.level.root=WARN")
+                .run()) {
+
+            UserService userService = context.getBean(UserService.class);
+            ProdutoService produtoService = context.getBean(ProdutoService.class);
+            PedidoService pedidoService = context.getBean(PedidoService.class);
+
+            Long clienteId = criarCliente(userService);
+            List<Integer> produtoIds = criarProdutos(context.getBean(CategoriaService.class), produtoService);
+
+            // aquecimento: JIT, cache de segundo nível e pool cheio
+            criarPedidos(userService, produtoService, pedidoService, clienteId, produtoIds, THREADS, 20);
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            Timer acquire = registry.get("hikaricp.connections.acquire").timer();
+            long acquireAntes = acquire.count();
+            double acquireTempoAntes = acquire.totalTime(TimeUnit.MILLISECONDS);
+
+            long inicio = System.nanoTime();
+            criarPedidos(userService, produtoService, pedidoService, clienteId, produtoIds, THREADS, PEDIDOS_POR_THREAD);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            long aquisicoes = acquire.count() - acquireAntes;
+            double acquireMedio = (acquire.totalTime(TimeUnit.MILLISECONDS) - acquireTempoAntes) / Math.max(aquisicoes, 1);
+            double timeouts = registry.get("hikaricp.connections.timeout").counter().count();
+
+            assertThat(timeouts).isZero();
+            return String.format("%-6d %12.0f %16.3f %16.3f %10.0f", tamanhoPool,
+                    THREADS * PEDIDOS_POR_THREAD / segundos, acquireMedio, acquire.max(TimeUnit.MILLISECONDS), timeouts);
+        }
+    }
+
+    private static void criarPedidos(UserService userService, ProdutoService produtoService, PedidoService pedidoService,
+                                     Long clienteId, List<Integer> produtoIds, int threads, int porThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < porThread; i++) {
+                        Pedido pedido = new Pedido();
+                        pedido.setCliente(userService.findById(clienteId));
+                        pedido.setProdutos(produtoIds.stream().map(produtoService::findById).toList());
+                        pedido.setData(LocalDate.now());
+                        pedido.setStatus("EM_ANDAMENTO");
+                        pedidoService.save(pedido);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Long criarCliente(UserService userService) {
+        User cliente = new User();
+        cliente.setNome("Cliente Carga");
+        cliente.setEmail("carga@example.com");
+        cliente.setPassword("123456");
+        return userService.save(cliente).getId();
+    }
+
+    private static List<Integer> criarProdutos(CategoriaService categoriaService, ProdutoService produtoService) {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Carga");
+        categoria = categoriaService.save(categoria);
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto Carga " + i);
+            produto.setPreco(10.0);
+            produto.setEstoque(1_000_000);
+            produto.setCategoria(categoria);
+            ids.add(produtoService.save(produto).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.projeto.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionFilterTest {
+
+    private static final String GRANDE = "{\"nome\":\"produto\"},".repeat(500);
+
+    private CompressionProperties properties;
+    private CompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CompressionProperties();
+        filter = new CompressionFilter(properties);
+    }
+
+    @Test
+    void deveComprimirComGzipAcimaDoLimite() throws Exception {
+        MockHttpServletResponse response = executar("gzip, deflate", json(GRANDE));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertTrue(response.getContentAsByteArray().length < GRANDE.length() / 10);
+        assertEquals(GRANDE, ler(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void devePreferirZstdQuandoAceito() throws Exception {
+        assumeZstd();
+        MockHttpServletResponse response = executar("gzip, zstd", json(GRANDE));
+
+        assertEquals("zstd", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(GRANDE, ler(new ZstdInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void deveUsarGzipComZstdDesligado() throws Exception {
+        properties.setZstd(false);
+
+        MockHttpServletResponse response = executar("zstd, gzip", json(GRANDE));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void naoDeveComprimirAbaixoDoLimiteEMantemContentLength() throws Exception {
+        MockHttpServletResponse response = executar("gzip", json("{\"id\":1}"));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(8, response.getContentLength());
+        assertEquals("{\"id\":1}", response.getContentAsString());
+    }
+
+    @Test
+    void naoDeveComprimirSemAcceptEncoding() throws Exception {
+        MockHttpServletResponse response = executar(null, json(GRANDE));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(GRANDE.length(), response.getContentLength());
+        assertEquals(GRANDE, response.getContentAsString());
+    }
+
+    @Test
+    void naoDeveRecomprimirRespostaJaCodificada() throws Exception {
+        MockHttpServletResponse response = executar("gzip", (req, res) -> {
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setContentType("application/json");
+            http.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            http.getOutputStream().write(GRANDE.getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals(GRANDE, response.getContentAsString());
+        assertNull(response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void naoDeveComprimirTipoForaDaLista() throws Exception {
+        MockHttpServletResponse response = executar("gzip", (req, res) -> {
+            res.setContentType("image/png");
+            res.getOutputStream().write(GRANDE.getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(GRANDE, response.getContentAsString());
+    }
+
+    @Test
+    void deveComprimirRespostaEscritaPeloWriter() throws Exception {
+        MockHttpServletResponse response = executar("gzip", (req, res) -> {
+            res.setContentType("text/plain;charset=UTF-8");
+            res.getWriter().write(GRANDE);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(GRANDE, ler(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))));
+    }
+
+    @Test
+    void naoDeveComprimirComSemCompressao() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        new CompressionConfig.SemCompressaoInterceptor().preHandle(request, new MockHttpServletResponse(),
+                new HandlerMethod(new Controller(), Controller.class.getMethod("semCompressao")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, json(GRANDE));
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertEquals(GRANDE, response.getContentAsString());
+    }
+
+    //SSE com @SemCompressao: cada evento tem que chegar ao cliente no flush, sem esperar min-response-size
+    @Test
+    void deveRepassarNaHoraRespostaSemCompressao() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        request.setAttribute(CompressionConfig.SEM_COMPRESSAO, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("text/event-stream");
+            res.flushBuffer();
+            assertTrue(response.isCommitted());
+            res.getOutputStream().write("data:1\n\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("data:1\n\n", response.getContentAsString());
+            res.getOutputStream().flush();
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("data:1\n\n", response.getContentAsString());
+    }
+
+    @Test
+    void deveRepassarNaHoraTipoForaDaLista() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(requisicao("gzip"), response, (req, res) -> {
+            res.setContentType("text/event-stream");
+            res.getWriter().write("data:1\n\n");
+            res.getWriter().flush();
+            assertEquals("data:1\n\n", response.getContentAsString());
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void deveRepassarRespostaAssincronaSemSegurar() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.startAsync();
+            res.setContentType("application/json");
+            res.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        });
+
+        assertTrue(response.isCommitted());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"id\":1}", response.getContentAsString());
+    }
+
+    //o corpo comprimido não pode dividir o ETag forte com o original; If-None-Match compara fraco e segue casando
+    @Test
+    void deveEnfraquecerETagDaRespostaComprimida() throws Exception {
+        MockHttpServletResponse comprimida = executar("gzip", comEtag("\"produto-1-3\""));
+        MockHttpServletResponse original = executar(null, comEtag("\"produto-1-3\""));
+
+        assertEquals("gzip", comprimida.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/\"produto-1-3\"", comprimida.getHeader(HttpHeaders.ETAG));
+        assertNull(original.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"produto-1-3\"", original.getHeader(HttpHeaders.ETAG));
+        assertEquals(GRANDE, original.getContentAsString());
+    }
+
+    @Test
+    void deveResponderNaoModificadoComOETagGuardadoPeloCliente() throws Exception {
+        MockHttpServletResponse comGzip = executarCondicional("gzip", "W/\"produto-1-3\"");
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, comGzip.getStatus());
+        assertEquals("W/\"produto-1-3\"", comGzip.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, comGzip.getContentAsByteArray().length);
+
+        MockHttpServletResponse semAcceptEncoding = executarCondicional(null, "\"produto-1-3\"");
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, semAcceptEncoding.getStatus());
+        assertEquals("\"produto-1-3\"", semAcceptEncoding.getHeader(HttpHeaders.ETAG));
+
+        //guardou a resposta sem compressão (abaixo do limite, por exemplo): o validador continua forte
+        MockHttpServletResponse fortePedindoGzip = executarCondicional("gzip", "\"produto-1-3\"");
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, fortePedindoGzip.getStatus());
+        assertEquals("\"produto-1-3\"", fortePedindoGzip.getHeader(HttpHeaders.ETAG));
+
+        MockHttpServletResponse outraVersao = executarCondicional("gzip", "W/\"produto-1-2\"");
+        assertEquals(HttpServletResponse.SC_OK, outraVersao.getStatus());
+        assertEquals("W/\"produto-1-3\"", outraVersao.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void interceptorSoMarcaHandlersAnotados() throws Exception {
+        MockHttpServletRequest request = requisicao("gzip");
+        new CompressionConfig.SemCompressaoInterceptor().preHandle(request, new MockHttpServletResponse(),
+                new HandlerMethod(new Controller(), Controller.class.getMethod("comCompressao")));
+
+        assertNull(request.getAttribute(CompressionConfig.SEM_COMPRESSAO));
+    }
+
+    @Test
+    void naoDeveFiltrarCaminhosExcluidosNemComFiltroDesligado() throws Exception {
+        properties.setExcludedPaths(List.of("/actuator/**"));
+        MockHttpServletRequest request = requisicao("gzip");
+        request.setRequestURI("/actuator/prometheus");
+        assertTrue(filter.shouldNotFilter(request));
+
+        request.setRequestURI("/api/produtos");
+        assertFalse(filter.shouldNotFilter(request));
+
+        properties.setEnabled(false);
+        assertTrue(filter.shouldNotFilter(request));
+    }
+
+    @Test
+    void deveRespeitarNivelDoGzip() throws Exception {
+        properties.setGzipLevel(1);
+        int rapido = executar("gzip", json(GRANDE)).getContentAsByteArray().length;
+        properties.setGzipLevel(9);
+        int menor = executar("gzip", json(GRANDE)).getContentAsByteArray().length;
+
+        assertTrue(menor <= rapido);
+    }
+
+    @Test
+    void deveEscolherCodecPeloAcceptEncoding() {
+        assertNull(filter.escolherCodec(null));
+        assertNull(filter.escolherCodec("br, identity"));
+        assertEquals(Codec.GZIP, filter.escolherCodec("gzip, zstd;q=0"));
+        assertEquals(Codec.GZIP, filter.escolherCodec("*"));
+        assertTrue(CompressingResponseWrapper.tipoCompressivel("application/json;charset=UTF-8",
+                properties.getMimeTypes()));
+        assertFalse(CompressingResponseWrapper.tipoCompressivel("text/event-stream", properties.getMimeTypes()));
+    }
+
+    private MockHttpServletResponse executar(String acceptEncoding, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(requisicao(acceptEncoding), response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse executarCondicional(String acceptEncoding, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = requisicao(acceptEncoding);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, comEtag("\"produto-1-3\""));
+        return response;
+    }
+
+    private static MockHttpServletRequest requisicao(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/produtos");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    //simula o conversor do Spring: Content-Length declarado antes do corpo, depois flush
+    private static FilterChain json(String corpo) {
+        return (req, res) -> {
+            byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+            res.setContentType("application/json");
+            res.setContentLength(bytes.length);
+            res.getOutputStream().write(bytes);
+            res.getOutputStream().flush();
+        };
+    }
+
+    //como um controller que devolve ResponseEntity com eTag: o Spring responde 304 quando o If-None-Match casa
+    private static FilterChain comEtag(String etag) {
+        return (req, res) -> {
+            if (new ServletWebRequest((HttpServletRequest) req, (HttpServletResponse) res).checkNotModified(etag)) {
+                return;
+            }
+            json(GRANDE).doFilter(req, res);
+        };
+    }
+
+    private static String ler(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void assumeZstd() {
+        org.junit.jupiter.api.Assumptions.assumeTrue(Codec.zstdDisponivel());
+    }
+
+    static class Controller {
+
+        @SemCompressao
+        public void semCompressao() {
+        }
+
+        public void comCompressao() {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.projeto.controller;
+
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+//feed SSE com a cadeia de filtros completa (CompressionFilter incluído): os headers e cada evento precisam
+//chegar ao cliente na hora, sem esperar o limite de compressão, mesmo com Accept-Encoding
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlteracoesCatalogoSseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @WithMockUser(username = "cliente@example.com")
+    void deveEntregarCadaEventoSemEsperarOLimiteDeCompressao() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/produtos/alteracoes")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, zstd"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = resultado.getResponse();
+        for (int tentativa = 0; tentativa < 50 && !response.isCommitted(); tentativa++) {
+            Thread.sleep(100);
+        }
+        assertThat(response.isCommitted()).as("headers enviados antes do primeiro evento").isTrue();
+        assertThat(response.getContentAsString()).isEqualTo(":conectado\n\n");
+
+        eventPublisher.publishEvent(new ProdutoAtualizadoEvent(1, Map.of("estoque", 2)));
+
+        //o envio sai da thread do feed
+        String corpo = "";
+        for (int tentativa = 0; tentativa < 50 && !corpo.contains("\"estoque\":2"); tentativa++) {
+            Thread.sleep(100);
+            corpo = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertThat(corpo).contains("event:produto").contains("\"estoque\":2");
+        assertThat(corpo.length()).isLessThan(2048);
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+}
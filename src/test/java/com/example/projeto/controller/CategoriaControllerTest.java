@@ -1,6 +1,12 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.dto.CategoriaResumoDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.ProdutoResumoDTO;
+import com.example.projeto.event.CategoriaAlteradaEvent;
 import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.serialization.FormatosBinarios;
 import com.example.projeto.service.CategoriaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -15,6 +22,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,10 +41,16 @@ class CategoriaControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private Categoria categoria;
 
     @BeforeEach
     void setup() {
+        //descarta o snapshot do catálogo montado com os mocks de outro teste
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.removida(1));
+
         categoria = new Categoria();
         categoria.setId(1);
         categoria.setNome("Eletrônicos");
@@ -64,6 +79,80 @@ class CategoriaControllerTest {
         verify(categoriaService, times(1)).findById(1);
     }
 
+    @Test
+    void deveResponderNaoModificadoQuandoCatalogoNaoMudou() throws Exception {
+        when(categoriaService.findAll()).thenReturn(List.of(categoria));
+
+        String etag = mockMvc.perform(get("/api/categorias"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/categorias").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/categorias").header("If-None-Match", "\"outra-versao\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Eletrônicos"));
+
+        //o corpo sai do snapshot do catálogo: uma única consulta para as três requisições
+        verify(categoriaService, times(1)).findAll();
+    }
+
+    @Test
+    void deveListarResumosDasCategorias() throws Exception {
+        when(categoriaService.findResumos())
+                .thenReturn(List.of(new CategoriaResumoDTO(1, "Eletrônicos", "Categoria de eletrônicos", 12)));
+
+        mockMvc.perform(get("/api/categorias/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Eletrônicos"))
+                .andExpect(jsonPath("$[0].quantidadeProdutos").value(12));
+    }
+
+    @Test
+    void deveSepararETagDoResumoPorFormatoNegociado() throws Exception {
+        when(categoriaService.findResumos())
+                .thenReturn(List.of(new CategoriaResumoDTO(1, "Eletrônicos", "Categoria de eletrônicos", 12)));
+
+        String json = mockMvc.perform(get("/api/categorias/resumo"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+        String smile = mockMvc.perform(get("/api/categorias/resumo").accept(FormatosBinarios.SMILE))
+                .andExpect(content().contentType(FormatosBinarios.SMILE))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertEquals(json.substring(0, json.length() - 1) + "-smile\"", smile);
+        mockMvc.perform(get("/api/categorias/resumo").accept(FormatosBinarios.SMILE).header("If-None-Match", json))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/categorias/resumo").accept(FormatosBinarios.SMILE).header("If-None-Match", smile))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void deveListarProdutosDaCategoriaPaginados() throws Exception {
+        ProdutoResumoDTO produto = new ProdutoResumoDTO();
+        produto.setId(5);
+        produto.setNome("Smartphone");
+        when(categoriaService.findProdutos(1, "3", 1)).thenReturn(new PaginaDTO<>(List.of(produto), "5"));
+
+        mockMvc.perform(get("/api/categorias/1/produtos")
+                        .param("cursor", "3")
+                        .param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value("Smartphone"))
+                .andExpect(jsonPath("$.proximoCursor").value("5"));
+    }
+
+    @Test
+    void naoDeveIncluirProdutosNaCategoria() throws Exception {
+        categoria.setProdutos(List.of(new Produto()));
+        when(categoriaService.findById(1)).thenReturn(categoria);
+
+        mockMvc.perform(get("/api/categorias/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtos").doesNotExist());
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void deveCriarCategoria() throws Exception {
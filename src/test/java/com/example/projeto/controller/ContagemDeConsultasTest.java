@@ -0,0 +1,266 @@
+package com.example.projeto.controller;
+
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Cupom;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.User;
+import com.example.projeto.observability.QueryBudget;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.CupomRepository;
+import com.example.projeto.repository.PedidoRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import com.example.projeto.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//garante que cada endpoint de leitura executa um número fixo de consultas, independente da quantidade de linhas
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class ContagemDeConsultasTest {
+
+    private static final int PEDIDOS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CupomRepository cupomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Integer> pedidoIds = new ArrayList<>();
+    private final List<Integer> produtoIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Eletrônicos");
+        categoriaRepository.save(categoria);
+
+        for (int i = 0; i < PEDIDOS; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto " + i);
+            produto.setPreco(10.0 + i);
+            produto.setEstoque(5);
+            produto.setCategoria(categoria);
+            produtoRepository.save(produto);
+            produtoIds.add(produto.getId());
+
+            User cliente = new User();
+            cliente.setNome("Cliente " + i);
+            cliente.setEmail("cliente" + i + "@example.com");
+            cliente.setPassword("123456");
+            userRepository.save(cliente);
+
+            Cupom cupom = cupomRepository.save(new Cupom("CUPOM" + i, 5.0, LocalDate.now().plusDays(5), 10.0));
+
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setCupom(cupom);
+            pedido.setProdutos(List.of(produto));
+            pedido.setData(LocalDate.now());
+            pedido.setStatus("EM_ANDAMENTO");
+            pedidoIds.add(pedidoRepository.save(pedido).getId());
+        }
+        //os dados foram gravados direto pelos repositórios: avisa o catálogo, como o CategoriaService faria
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.salva(categoria));
+    }
+
+    @AfterEach
+    void limpar() {
+        pedidoRepository.deleteAll();
+        cupomRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(u -> u.getEmail().startsWith("cliente"))
+                .toList());
+    }
+
+    @Test
+    void listarPedidosUsaUmaConsulta() throws Exception {
+        QueryBudget.assertExatamente(1, () ->
+                mockMvc.perform(get("/api/pedidos"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PEDIDOS))
+                        .andExpect(jsonPath("$[0].cliente.nome").exists())
+                        .andExpect(jsonPath("$[0].cupom.codigo").exists())
+                        .andExpect(jsonPath("$[0].produtos[0].nome").exists())
+        );
+    }
+
+    @Test
+    void buscarPedidoPorIdUsaUmaConsulta() throws Exception {
+        QueryBudget.assertExatamente(1, () ->
+                mockMvc.perform(get("/api/pedidos/" + pedidoIds.get(0)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.cliente.nome").value("Cliente 0"))
+                        .andExpect(jsonPath("$.produtos[0].nome").value("Produto 0"))
+        );
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void exportarPedidosUsaUmaConsulta() throws Exception {
+        QueryBudget.assertExatamente(1, () ->
+                mockMvc.perform(get("/api/pedidos/exportacao"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PEDIDOS))
+                        .andExpect(jsonPath("$[0].cliente").value("Cliente 0"))
+        );
+    }
+
+    //a primeira listagem depois da alteração monta o snapshot (produtos e categorias); as seguintes não consultam
+    @Test
+    void listarProdutosUsaOSnapshotDoCatalogo() throws Exception {
+        QueryBudget.assertNoMaximo(2, () ->
+                mockMvc.perform(get("/api/produtos"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PEDIDOS))
+                        .andExpect(jsonPath("$[0].categoria.id").exists())
+                        .andExpect(jsonPath("$[0].categoria.nome").doesNotExist())
+        );
+        QueryBudget.assertExatamente(0, () ->
+                mockMvc.perform(get("/api/produtos"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(PEDIDOS))
+        );
+    }
+
+    @Test
+    void buscarProdutoPorIdUsaNoMaximoUmaConsulta() throws Exception {
+        QueryBudget.assertNoMaximo(1, () ->
+                mockMvc.perform(get("/api/produtos/" + produtoIds.get(0)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.nome").value("Produto 0"))
+        );
+    }
+
+    @Test
+    void resumoDeCategoriasUsaUmaConsulta() throws Exception {
+        QueryBudget.assertExatamente(1, () ->
+                mockMvc.perform(get("/api/categorias/resumo"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[0].quantidadeProdutos").value(PEDIDOS))
+        );
+    }
+
+    @Test
+    void produtosDaCategoriaUsamConsultasConstantes() throws Exception {
+        Integer categoriaId = categoriaRepository.findAll().get(0).getId();
+
+        QueryBudget.assertNoMaximo(2, () ->
+                mockMvc.perform(get("/api/categorias/" + categoriaId + "/produtos").param("tamanho", "3"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.itens.length()").value(3))
+                        .andExpect(jsonPath("$.proximoCursor").value(produtoIds.get(2).toString()))
+        );
+    }
+
+    //busca do usuário pelo e-mail, a página pelo índice (user_id, data, id) e os produtos da página em lote
+    @Test
+    @WithMockUser(username = "cliente0@example.com", roles = {"USER"})
+    void meusPedidosUsaConsultasConstantes() throws Exception {
+        Pedido primeiro = pedidoRepository.findById(pedidoIds.get(0)).orElseThrow();
+        for (int i = 0; i < 30; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(primeiro.getCliente());
+            pedido.setProdutos(List.of(produtoRepository.findById(produtoIds.get(i % PEDIDOS)).orElseThrow()));
+            pedido.setData(LocalDate.now().minusDays(i));
+            pedido.setStatus("ENTREGUE");
+            pedidoRepository.save(pedido);
+        }
+
+        QueryBudget.assertNoMaximo(3, () ->
+                mockMvc.perform(get("/api/pedidos/meus").param("tamanho", "25"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.itens.length()").value(25))
+                        .andExpect(jsonPath("$.itens[24].produtos[0]").exists())
+                        .andExpect(jsonPath("$.proximoCursor").exists())
+        );
+    }
+
+    //PATCH: um UPDATE só com as colunas enviadas e a versão no WHERE, sem SELECT antes
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void alterarPrecoDoProdutoUsaUmComando() throws Exception {
+        Integer id = produtoIds.get(0);
+        mockMvc.perform(get("/api/produtos/" + id)).andExpect(status().isOk()); // deixa o produto no cache
+
+        QueryBudget.assertExatamente(1, () ->
+                mockMvc.perform(patch("/api/produtos/" + id)
+                                .header(HttpHeaders.IF_MATCH, "\"produto-" + id + "-0\"")
+                                .contentType("application/merge-patch+json")
+                                .content("{\"preco\": 99.9, \"estoque\": 0}"))
+                        .andExpect(status().isNoContent())
+                        .andExpect(header().string(HttpHeaders.ETAG, "\"produto-" + id + "-1\""))
+        );
+
+        //o cache não pode devolver o produto antigo
+        mockMvc.perform(get("/api/produtos/" + id))
+                .andExpect(jsonPath("$.preco").value(99.9))
+                .andExpect(jsonPath("$.estoque").value(0))
+                .andExpect(jsonPath("$.nome").value("Produto 0"))
+                .andExpect(jsonPath("$.versao").value(1));
+
+        mockMvc.perform(patch("/api/produtos/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"versao\": 0, \"preco\": 80}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.codigo").value("VERSAO_DESATUALIZADA"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void alterarStatusDoPedidoUsaUmComando() throws Exception {
+        Integer id = pedidoIds.get(0);
+
+        QueryBudget.assertExatamente(1, () ->
+                mockMvc.perform(patch("/api/pedidos/" + id)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"versao\": 0, \"status\": \"ENTREGUE\"}"))
+                        .andExpect(status().isNoContent())
+        );
+
+        mockMvc.perform(get("/api/pedidos/" + id))
+                .andExpect(jsonPath("$.status").value("ENTREGUE"))
+                .andExpect(jsonPath("$.cliente.nome").value("Cliente 0"));
+        mockMvc.perform(patch("/api/pedidos/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"versao\": 1, \"status\": \"PERDIDO\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.codigo").value("PAT004"));
+    }
+}
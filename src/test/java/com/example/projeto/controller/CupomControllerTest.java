@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -70,6 +71,41 @@ class CupomControllerTest {
         verify(cupomService, times(1)).findById(1);
     }
 
+    @Test
+    void deveListarCuponsSoComOsCamposPedidos() throws Exception {
+        when(cupomService.findAllAtivosParcial("codigo,valor"))
+                .thenReturn(List.of(Map.of("codigo", "CUPOM10", "valor", 10.0)));
+
+        mockMvc.perform(get("/api/cupons").param("fields", "codigo,valor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].codigo").value("CUPOM10"))
+                .andExpect(jsonPath("$[0].validade").doesNotExist());
+
+        verify(cupomService, never()).findAllAtivos();
+    }
+
+    @Test
+    void deveRecusarCampoNaoDisponivel() throws Exception {
+        when(cupomService.findByIdParcial(1, "senha"))
+                .thenThrow(new BusinessException("CMP002", "Campo senha não disponível."));
+
+        mockMvc.perform(get("/api/cupons/1").param("fields", "senha"))
+                .andExpect(status().isBadRequest());
+
+        verify(cupomService, never()).findById(1);
+    }
+
+    @Test
+    void deveBuscarCupomPorCodigo() throws Exception {
+        when(cupomService.findByCodigo("CUPOM10")).thenReturn(Optional.of(dto));
+
+        mockMvc.perform(get("/api/cupons/codigo/CUPOM10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(cupomService, times(1)).findByCodigo("CUPOM10");
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void deveCriarCupom() throws Exception {
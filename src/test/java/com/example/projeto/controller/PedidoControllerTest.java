@@ -1,11 +1,16 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.PedidoDTO;
 import com.example.projeto.model.Pedido;
 import com.example.projeto.model.Produto;
 import com.example.projeto.model.User;
+import com.example.projeto.serialization.FormatosBinarios;
 import com.example.projeto.service.PedidoService;
 import com.example.projeto.service.ProdutoService;
 import com.example.projeto.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +24,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +50,9 @@ class PedidoControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private FormatosBinarios formatosBinarios;
+
     private Pedido pedido;
     private User cliente;
     private Produto produto;
@@ -76,6 +86,79 @@ class PedidoControllerTest {
         verify(pedidoService, times(1)).findAll();
     }
 
+    @Test
+    void deveListarPedidosEmCborComOsMesmosCamposDoJson() throws Exception {
+        when(pedidoService.findAll()).thenReturn(List.of(pedido));
+
+        byte[] cbor = mockMvc.perform(get("/api/pedidos").accept(FormatosBinarios.CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FormatosBinarios.CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        String json = mockMvc.perform(get("/api/pedidos"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode binario = formatosBinarios.mapper(FormatosBinarios.CBOR).readTree(cbor);
+        assertEquals(objectMapper.readTree(json), binario);
+        assertEquals(LocalDate.now().toString(), binario.at("/0/data").asText());
+    }
+
+    @Test
+    void deveBuscarPedidoSoComOsCamposPedidos() throws Exception {
+        when(pedidoService.findByIdParcial(1, "id,status")).thenReturn(Map.of("id", 1, "status", "EM_ANDAMENTO"));
+
+        mockMvc.perform(get("/api/pedidos/1").param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EM_ANDAMENTO"))
+                .andExpect(jsonPath("$.cliente").doesNotExist());
+
+        verify(pedidoService, never()).findById(1);
+    }
+
+    @Test
+    void deveBuscarLoteDePedidos() throws Exception {
+        when(pedidoService.findLote(List.of(1, 99))).thenReturn(new LoteDTO<>(List.of(pedido), List.of(99)));
+
+        mockMvc.perform(post("/api/pedidos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(1))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(99));
+
+        verify(pedidoService, never()).findById(any());
+    }
+
+    @Test
+    void deveBuscarPedidoEmSmile() throws Exception {
+        when(pedidoService.findById(1)).thenReturn(pedido);
+
+        byte[] smile = mockMvc.perform(get("/api/pedidos/1").accept(FormatosBinarios.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FormatosBinarios.SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Pedido lido = formatosBinarios.mapper(FormatosBinarios.SMILE).readValue(smile, Pedido.class);
+        assertEquals("João Silva", lido.getCliente().getNome());
+        assertEquals("Produto 1", lido.getProdutos().get(0).getNome());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void deveExportarPedidos() throws Exception {
+        PedidoDTO dto = new PedidoDTO();
+        dto.setId(1);
+        dto.setCliente("João Silva");
+        dto.setProdutos(List.of("Produto 1"));
+        when(pedidoService.findAllParaExportacao()).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/api/pedidos/exportacao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cliente").value("João Silva"))
+                .andExpect(jsonPath("$[0].produtos[0]").value("Produto 1"));
+
+        verify(pedidoService, times(1)).findAllParaExportacao();
+    }
+
     @Test
     void deveBuscarPedidoPorId() throws Exception {
         when(pedidoService.findById(1)).thenReturn(pedido);
@@ -127,4 +210,19 @@ class PedidoControllerTest {
 
         verify(pedidoService, times(1)).delete(1);
     }
+
+    @Test
+    @WithMockUser(username = "joao@example.com", roles = {"USER"})
+    void deveListarMeusPedidos() throws Exception {
+        PedidoDTO dto = new PedidoDTO();
+        dto.setId(1);
+        dto.setCliente("João Silva");
+        when(userService.findByEmail("joao@example.com")).thenReturn(cliente);
+        when(pedidoService.findPaginaDoCliente(1L, null, 20)).thenReturn(new PaginaDTO<>(List.of(dto), null));
+
+        mockMvc.perform(get("/api/pedidos/meus"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].cliente").value("João Silva"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
 }
@@ -1,8 +1,17 @@
 package com.example.projeto.controller;
 
+import com.example.projeto.dto.CatalogoFacetadoDTO;
+import com.example.projeto.dto.ImportacaoDTO;
+import com.example.projeto.dto.ProdutoBuscaDTO;
+import com.example.projeto.dto.SugestaoDTO;
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
 import com.example.projeto.model.Categoria;
 import com.example.projeto.model.Produto;
+import com.example.projeto.search.FaixaPreco;
 import com.example.projeto.service.CategoriaService;
+import com.example.projeto.service.ProdutoBuscaService;
+import com.example.projeto.service.ProdutoImportacaoService;
 import com.example.projeto.service.ProdutoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,12 +19,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,14 +48,26 @@ class ProdutoControllerTest {
     @MockitoBean
     private CategoriaService categoriaService;
 
+    @MockitoBean
+    private ProdutoBuscaService produtoBuscaService;
+
+    @MockitoBean
+    private ProdutoImportacaoService produtoImportacaoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private Produto produto;
     private Categoria categoria;
 
     @BeforeEach
     void setup() {
+        //descarta o snapshot do catálogo montado com os mocks de outro teste
+        eventPublisher.publishEvent(CategoriaAlteradaEvent.removida(1));
+
         categoria = new Categoria();
         categoria.setId(1);
         categoria.setNome("Eletrônicos");
@@ -66,6 +92,139 @@ class ProdutoControllerTest {
         verify(produtoService, times(1)).findAll();
     }
 
+    @Test
+    void deveBuscarProdutosPorTexto() throws Exception {
+        ProdutoBuscaDTO dto = new ProdutoBuscaDTO();
+        dto.setId(1);
+        dto.setNome("Smartphone");
+        dto.setRelevancia(2.0);
+        when(produtoBuscaService.buscar("smart", 1, 100.0, 2000.0, 20)).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/api/produtos/busca")
+                        .param("q", "smart")
+                        .param("categoriaId", "1")
+                        .param("precoMin", "100")
+                        .param("precoMax", "2000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Smartphone"))
+                .andExpect(jsonPath("$[0].relevancia").value(2.0));
+
+        verify(produtoBuscaService, times(1)).buscar("smart", 1, 100.0, 2000.0, 20);
+    }
+
+    @Test
+    void deveSugerirNomesDeProdutos() throws Exception {
+        when(produtoBuscaService.sugerir("sma", 5)).thenReturn(List.of(new SugestaoDTO(1, "Smartphone")));
+
+        mockMvc.perform(get("/api/produtos/sugestoes")
+                        .param("prefixo", "sma")
+                        .param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Smartphone"));
+    }
+
+    @Test
+    void deveNavegarPeloCatalogoComFacetas() throws Exception {
+        CatalogoFacetadoDTO dto = new CatalogoFacetadoDTO();
+        dto.setItens(List.of());
+        dto.setTotal(0);
+        dto.setFaixasPreco(Map.of(FaixaPreco.ATE_50, 0));
+        when(produtoBuscaService.navegar(List.of(1, 2), List.of(FaixaPreco.ATE_50), true, null, 20)).thenReturn(dto);
+
+        mockMvc.perform(get("/api/produtos/navegacao")
+                        .param("categoriaId", "1", "2")
+                        .param("faixaPreco", "ATE_50")
+                        .param("emEstoque", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0))
+                .andExpect(jsonPath("$.faixasPreco.ATE_50").value(0));
+    }
+
+    @Test
+    void deveResponderNaoModificadoQuandoCatalogoNaoMudou() throws Exception {
+        when(produtoService.findAll()).thenReturn(List.of(produto));
+
+        String etag = mockMvc.perform(get("/api/produtos"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/produtos").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(produtoService, times(1)).findAll();
+    }
+
+    @Test
+    void deveConfirmarSoARepresentacaoDoETagEnviado() throws Exception {
+        when(produtoService.findAll()).thenReturn(List.of(produto));
+
+        String gzip = mockMvc.perform(get("/api/produtos").header("Accept-Encoding", "gzip"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getHeader("ETag");
+        String cbor = mockMvc.perform(get("/api/produtos").accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        String json = mockMvc.perform(get("/api/produtos"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertThat(gzip).endsWith("-gzip\"");
+        assertThat(cbor).endsWith("-cbor\"");
+        assertThat(List.of(gzip, cbor)).doesNotContain(json);
+        //um cache que guardou o gzip ou o CBOR não pode confirmá-lo para quem pede JSON puro
+        mockMvc.perform(get("/api/produtos").header("If-None-Match", gzip + ", " + cbor))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", json));
+        mockMvc.perform(get("/api/produtos").header("Accept-Encoding", "gzip").header("If-None-Match", gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzip));
+        mockMvc.perform(get("/api/produtos").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", json + ", " + cbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", cbor));
+    }
+
+    @Test
+    void deveUsarVersaoDoProdutoComoETag() throws Exception {
+        produto.setVersao(3L);
+        when(produtoService.findById(1)).thenReturn(produto);
+
+        mockMvc.perform(get("/api/produtos/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"produto-1-3\""));
+
+        mockMvc.perform(get("/api/produtos/1").header("If-None-Match", "\"produto-1-3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void deveSepararETagEVaryPorFormatoNegociado() throws Exception {
+        produto.setVersao(3L);
+        when(produtoService.findById(1)).thenReturn(produto);
+
+        MvcResult cbor = mockMvc.perform(get("/api/produtos/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"produto-1-3-cbor\""))
+                .andReturn();
+        MvcResult json = mockMvc.perform(get("/api/produtos/1"))
+                .andExpect(header().string("ETag", "\"produto-1-3\""))
+                .andReturn();
+
+        assertThat(cbor.getResponse().getHeaders("Vary")).contains("Accept");
+        assertThat(json.getResponse().getHeaders("Vary")).contains("Accept");
+        //o JSON guardado não confirma o CBOR, e vice-versa
+        mockMvc.perform(get("/api/produtos/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"produto-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/api/produtos/1").header("If-None-Match", "\"produto-1-3-cbor\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/produtos/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"produto-1-3-cbor\""))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void deveBuscarProdutoPorId() throws Exception {
         when(produtoService.findById(1)).thenReturn(produto);
@@ -117,4 +276,41 @@ class ProdutoControllerTest {
 
         verify(produtoService, times(1)).delete(1);
     }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void deveImportarCsvNoCharsetDoContentType() throws Exception {
+        when(produtoImportacaoService.importarCsv(any(), eq(StandardCharsets.ISO_8859_1)))
+                .thenReturn(new ImportacaoDTO(1, 1, 0, false, List.of()));
+
+        mockMvc.perform(post("/api/produtos/importacao")
+                        .contentType("text/csv;charset=ISO-8859-1")
+                        .content("nome,preco,categoriaId\nChaleira,89.9,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(1));
+
+        mockMvc.perform(post("/api/produtos/importacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk());
+        verify(produtoImportacaoService).importarJson(any());
+    }
+
+    @Test
+    void deveTransmitirAlteracoesDoCatalogoPorSse() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/produtos/alteracoes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        eventPublisher.publishEvent(new ProdutoAtualizadoEvent(1, Map.of("preco", 1399.9)));
+
+        //o envio sai da thread do feed
+        String corpo = "";
+        for (int tentativa = 0; tentativa < 50 && !corpo.contains("1399.9"); tentativa++) {
+            Thread.sleep(100);
+            corpo = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertThat(resultado.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(corpo).contains("event:produto").contains("\"tipo\":\"ALTERADO\"").contains("\"preco\":1399.9");
+    }
 }
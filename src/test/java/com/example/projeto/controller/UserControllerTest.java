@@ -1,7 +1,10 @@
     package com.example.projeto.controller;
 
+    import com.example.projeto.dto.PaginaDTO;
+    import com.example.projeto.dto.PedidoDTO;
     import com.example.projeto.model.User;
     import com.example.projeto.security.Role;
+    import com.example.projeto.service.PedidoService;
     import com.example.projeto.service.UserService;
     import com.fasterxml.jackson.databind.ObjectMapper;
     import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +33,9 @@
         @MockitoBean
         private UserService userService;
 
+        @MockitoBean
+        private PedidoService pedidoService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -117,4 +123,41 @@
                             .content(objectMapper.writeValueAsString(user)))
                     .andExpect(status().isBadRequest());
         }
+
+        @Test
+        @WithMockUser(username = "joao@example.com", roles = {"USER"})
+        void deveListarPedidosDoProprioUsuario() throws Exception {
+            PedidoDTO dto = new PedidoDTO();
+            dto.setId(10);
+            when(userService.findByEmail("joao@example.com")).thenReturn(user);
+            when(pedidoService.findPaginaDoCliente(1L, null, 20)).thenReturn(new PaginaDTO<>(List.of(dto), "abc"));
+
+            mockMvc.perform(get("/api/usuarios/1/pedidos"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens[0].id").value(10))
+                    .andExpect(jsonPath("$.proximoCursor").value("abc"));
+        }
+
+        @Test
+        @WithMockUser(username = "joao@example.com", roles = {"USER"})
+        void deveNegarPedidosDeOutroUsuario() throws Exception {
+            when(userService.findByEmail("joao@example.com")).thenReturn(user);
+
+            mockMvc.perform(get("/api/usuarios/2/pedidos"))
+                    .andExpect(status().isForbidden());
+
+            verify(pedidoService, never()).findPaginaDoCliente(anyLong(), any(), anyInt());
+        }
+
+        @Test
+        @WithMockUser(username = "admin", roles = {"ADMIN"})
+        void adminDeveListarPedidosDeQualquerUsuario() throws Exception {
+            when(pedidoService.findPaginaDoCliente(2L, "abc", 5)).thenReturn(new PaginaDTO<>(List.of(), null));
+
+            mockMvc.perform(get("/api/usuarios/2/pedidos").param("cursor", "abc").param("tamanho", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.itens").isEmpty());
+
+            verify(userService, never()).findByEmail(any());
+        }
     }
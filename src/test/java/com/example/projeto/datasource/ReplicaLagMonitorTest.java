@@ -0,0 +1,87 @@
+package com.example.projeto.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaLagMonitorTest {
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor monitor;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setMaxLagMs(1000);
+        registry = new SimpleMeterRegistry();
+        JdbcDataSource replicaDataSource = h2("monitor-replica");
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        JdbcDataSource primarioDataSource = h2("monitor-primario");
+        primario = new JdbcTemplate(primarioDataSource);
+        primario.execute("drop all objects");
+        //no primário a tabela vem da migração V7
+        primario.execute("create table replica_heartbeat (id int primary key, atualizado_em bigint not null)");
+        monitor = new ReplicaLagMonitor(primarioDataSource, replicaDataSource, properties, registry);
+    }
+
+    @Test
+    void deveComecarIndisponivel() {
+        assertFalse(monitor.isDisponivel());
+        assertEquals(0, registry.get("datasource.replica.disponivel").gauge().value());
+    }
+
+    @Test
+    void deveFicarIndisponivelSemHeartbeatNaReplica() {
+        monitor.verificar();
+
+        assertFalse(monitor.isDisponivel());
+        assertEquals(-1, monitor.getAtrasoMs());
+    }
+
+    @Test
+    void deveGravarHeartbeatNoPrimario() {
+        long antes = System.currentTimeMillis();
+
+        monitor.verificar();
+        monitor.verificar();
+
+        assertEquals(1, primario.queryForObject("select count(*) from replica_heartbeat", Integer.class));
+        assertTrue(primario.queryForObject("select atualizado_em from replica_heartbeat where id = 1", Long.class) >= antes);
+    }
+
+    @Test
+    void deveMedirAtrasoPeloHeartbeatReplicado() {
+        replica.execute("create table replica_heartbeat (id int primary key, atualizado_em bigint not null)");
+        replica.update("insert into replica_heartbeat values (1, ?)", System.currentTimeMillis() - 200);
+
+        monitor.verificar();
+
+        assertTrue(monitor.isDisponivel());
+        assertTrue(monitor.getAtrasoMs() >= 200);
+        assertEquals(1, registry.get("datasource.replica.disponivel").gauge().value());
+    }
+
+    @Test
+    void deveFicarIndisponivelComAtrasoAcimaDoLimite() {
+        replica.execute("create table replica_heartbeat (id int primary key, atualizado_em bigint not null)");
+        replica.update("insert into replica_heartbeat values (1, ?)", System.currentTimeMillis() - 60_000);
+
+        monitor.verificar();
+
+        assertFalse(monitor.isDisponivel());
+        assertTrue(registry.get("datasource.replica.lag").gauge().value() >= 60_000);
+    }
+
+    private static JdbcDataSource h2(String nome) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.projeto.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.security.Principal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+//primário e réplica são dois H2 separados; a categoria 9999 existe só na réplica e denuncia de onde veio a leitura.
+//a leitura usada é o resumo de categorias, que consulta o banco a cada requisição (a listagem de produtos sai do snapshot)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roteamento-primario;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:roteamento-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.pool-name=projeto-replica",
+        "app.datasource.routing.heartbeat=false",
+        "app.datasource.routing.check-interval-ms=3600000",
+        "app.datasource.routing.max-lag-ms=1000"
+})
+@AutoConfigureMockMvc(addFilters = false)
+class ReplicaRoutingTest {
+
+    private static final String SOMENTE_NA_REPLICA = "$[?(@.id == 9999)]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primario;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void setup() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("drop all objects");
+        new JdbcTemplate(primario).queryForList("script nodata", String.class).forEach(replicaJdbc::execute);
+        replicaJdbc.update("insert into categorias (id, nome) values (9999, 'Réplica')");
+        replicaJdbc.update("insert into produtos (id, nome, preco, estoque, categoria_id) values (9999, 'Só na réplica', 1.0, 1, 9999)");
+        monitor.verificar();
+    }
+
+    @Test
+    void deveLerProdutosDaReplica() throws Exception {
+        assertThat(monitor.isDisponivel()).isTrue();
+
+        mockMvc.perform(get("/api/categorias/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(SOMENTE_NA_REPLICA).isNotEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deveGravarNoPrimarioELerDoPrimarioDepoisDaEscrita() throws Exception {
+        Principal autor = new UsernamePasswordAuthenticationToken("autor@example.com", null);
+        Principal outro = new UsernamePasswordAuthenticationToken("outro@example.com", null);
+
+        mockMvc.perform(post("/api/categorias")
+                        .principal(autor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Gravada no primário\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(contarCategoria(primario)).isEqualTo(1);
+        assertThat(contarCategoria(replica)).isZero();
+
+        mockMvc.perform(get("/api/categorias/resumo").principal(autor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(SOMENTE_NA_REPLICA).isEmpty());
+        mockMvc.perform(get("/api/categorias/resumo").principal(outro))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(SOMENTE_NA_REPLICA).isNotEmpty());
+    }
+
+    @Test
+    void deveVoltarParaPrimarioComReplicaAtrasada() throws Exception {
+        monitor.registrar(5000);
+
+        assertThat(monitor.isDisponivel()).isFalse();
+        mockMvc.perform(get("/api/categorias/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(SOMENTE_NA_REPLICA).isEmpty());
+
+        monitor.verificar();
+
+        mockMvc.perform(get("/api/categorias/resumo"))
+                .andExpect(jsonPath(SOMENTE_NA_REPLICA).isNotEmpty());
+    }
+
+    private static Integer contarCategoria(DataSource dataSource) {
+        return new JdbcTemplate(dataSource)
+                .queryForObject("select count(*) from categorias where nome = 'Gravada no primário'", Integer.class);
+    }
+}
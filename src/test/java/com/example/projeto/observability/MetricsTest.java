@@ -0,0 +1,89 @@
+package com.example.projeto.observability;
+
+import com.example.projeto.model.Pedido;
+import com.example.projeto.security.AuthRequest;
+import com.example.projeto.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@WithMockUser(roles = "ADMIN")
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveExporMetricasNoFormatoPrometheus() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("jvm_memory_used_bytes")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hikaricp_connections_saturation{application=\"projeto-back-end\",pool=\"projeto-primary\"}")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket")))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total")))
+                .andExpect(content().string(containsString("jdbc_statements_total")))
+                .andExpect(content().string(containsString("pedidos_criados_total")));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void naoDeveExporMetricasSemAutenticacao() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void naoDeveExporMetricasParaQuemNaoEAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveContarFalhasDeLogin() throws Exception {
+        AuthRequest request = new AuthRequest();
+        request.setEmail("admin@example.com");
+        request.setPassword("senha-errada");
+
+        mockMvc.perform(post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(content().string(containsString("login_falhas_total{application=\"projeto-back-end\",motivo=\"senha_incorreta\"} 1.0")));
+    }
+
+    @Test
+    void deveRegistrarHistogramaPorMetodoDeService() throws Exception {
+        assertThrows(EntityNotFoundException.class, () -> pedidoService.findCupomById(-1));
+        pedidoService.findAll().forEach(Pedido::getId);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(content().string(containsString("cupons_rejeitados_total{application=\"projeto-back-end\",motivo=\"nao_encontrado\"} 1.0")))
+                .andExpect(content().string(containsString("servico_seconds_bucket{application=\"projeto-back-end\",class=\"com.example.projeto.service.PedidoService\"")));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.projeto.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//utilitário de teste: mede os comandos SQL executados por um trecho (na thread atual)
+//e falha se passar do orçamento. Funciona com MockMvc porque a requisição roda na mesma thread.
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Trecho {
+        void executar() throws Exception;
+    }
+
+    public static QueryStats medir(Trecho trecho) throws Exception {
+        QueryStats stats = QueryStats.iniciar();
+        try {
+            trecho.executar();
+        } finally {
+            stats.encerrar();
+        }
+        return stats;
+    }
+
+    public static QueryStats assertExatamente(int comandos, Trecho trecho) throws Exception {
+        QueryStats stats = medir(trecho);
+        assertThat(stats.getStatements())
+                .as("comandos SQL executados")
+                .isEqualTo(comandos);
+        return stats;
+    }
+
+    public static QueryStats assertNoMaximo(int comandos, Trecho trecho) throws Exception {
+        QueryStats stats = medir(trecho);
+        assertThat(stats.getStatements())
+                .as("comandos SQL executados")
+                .isLessThanOrEqualTo(comandos);
+        return stats;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.projeto.observability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "observability.sql.response-headers=true")
+@AutoConfigureMockMvc
+class QueryStatsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void deveInstrumentarDataSource() throws Exception {
+        QueryStats stats = QueryBudget.medir(() -> {
+            try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+                statement.execute("select 1");
+            }
+        });
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+    }
+
+    @Test
+    void deveContarEscoposAninhados() throws Exception {
+        QueryStats externo = QueryBudget.medir(() -> {
+            QueryStats interno = QueryBudget.medir(() -> {
+                try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+            });
+            assertThat(interno.getStatements()).isEqualTo(1);
+        });
+
+        assertThat(externo.getStatements()).isEqualTo(1);
+        assertThat(QueryStats.atual()).isNull();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void deveAdicionarHeadersDeConsultaNaResposta() throws Exception {
+        mockMvc.perform(get("/api/categorias/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryStatsFilter.HEADER_COUNT, "1"))
+                .andExpect(header().exists(QueryStatsFilter.HEADER_TIME));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void deveExporTotaisDeSql() throws Exception {
+        mockMvc.perform(get("/api/categorias/resumo"));
+
+        mockMvc.perform(get("/api/admin/sql"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalComandos").isNumber())
+                .andExpect(jsonPath("$.lentosRecentes").isArray());
+    }
+}
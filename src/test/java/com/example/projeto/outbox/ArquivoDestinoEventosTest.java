@@ -0,0 +1,43 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.EventoPedido;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArquivoDestinoEventosTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveAcrescentarUmaLinhaJsonPorEvento(@TempDir Path pasta) throws Exception {
+        Path arquivo = pasta.resolve("outbox/pedidos.jsonl");
+        ArquivoDestinoEventos destino = new ArquivoDestinoEventos(arquivo, objectMapper);
+
+        destino.enviar(List.of(evento(1L, 10), evento(2L, 11)));
+        destino.enviar(List.of(evento(3L, 12)));
+
+        List<String> linhas = Files.readAllLines(arquivo);
+        assertEquals(3, linhas.size());
+        JsonNode primeira = objectMapper.readTree(linhas.get(0));
+        assertEquals(1, primeira.get("id").asLong());
+        assertEquals(OutboxPedidos.PEDIDO_CRIADO, primeira.get("tipo").asText());
+        assertEquals(10, primeira.get("payload").get("pedidoId").asInt());
+        assertEquals(12, objectMapper.readTree(linhas.get(2)).get("pedidoId").asInt());
+    }
+
+    private static EventoPedido evento(Long id, int pedidoId) {
+        EventoPedido evento = new EventoPedido(pedidoId, OutboxPedidos.PEDIDO_CRIADO,
+                "{\"pedidoId\":" + pedidoId + "}", Instant.parse("2025-03-01T12:00:00Z"));
+        evento.setId(id);
+        return evento;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.projeto.outbox;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.EventoPedido;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.User;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.EventoPedidoRepository;
+import com.example.projeto.repository.PedidoRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import com.example.projeto.repository.UserRepository;
+import com.example.projeto.service.PedidoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+//outbox contra o banco de verdade: o evento entra na transação do pedido e o relay entrega em lotes.
+//O relay agendado roda uma vez na subida e depois só de hora em hora; os testes chamam drenar().
+@SpringBootTest(properties = {"app.outbox.destino=memoria", "app.outbox.lote=2", "app.outbox.intervalo-ms=3600000",
+        "app.outbox.maximo-tentativas=2"})
+class OutboxRelayTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @MockitoSpyBean
+    private MemoriaDestinoEventos destino;
+
+    @Autowired
+    private EventoPedidoRepository eventoPedidoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Outbox");
+        categoriaRepository.save(categoria);
+
+        produto = new Produto();
+        produto.setNome("Produto Outbox");
+        produto.setPreco(50.0);
+        produto.setCategoria(categoria);
+        produtoRepository.save(produto);
+
+        cliente = new User();
+        cliente.setNome("Cliente Outbox");
+        cliente.setEmail("outbox@example.com");
+        cliente.setPassword("123456");
+        userRepository.save(cliente);
+        destino.limpar();
+    }
+
+    //mesmo CacheManager do JCache para todos os contextos de teste, cada um com seu banco H2
+    @AfterEach
+    void limpar() {
+        eventoPedidoRepository.deleteAll();
+        pedidoRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        userRepository.delete(cliente);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void deveGravarOEventoComOPedidoEEntregarEmLotesNaOrdem() throws Exception {
+        List<Integer> pedidoIds = List.of(criarPedido().getId(), criarPedido().getId(), criarPedido().getId());
+
+        assertThat(eventoPedidoRepository.count()).isEqualTo(3);
+        assertThat(destino.recebidos()).isEmpty();
+
+        assertThat(relay.drenar()).isEqualTo(3);
+
+        assertThat(eventoPedidoRepository.count()).isZero();
+        assertThat(destino.recebidos()).extracting(EventoPedido::getPedidoId).containsExactlyElementsOf(pedidoIds);
+        EventoPedido evento = destino.recebidos().get(0);
+        assertThat(evento.getTipo()).isEqualTo(OutboxPedidos.PEDIDO_CRIADO);
+        JsonNode payload = objectMapper.readTree(evento.getPayload());
+        assertThat(payload.get("clienteId").asLong()).isEqualTo(cliente.getId());
+        assertThat(payload.get("produtoIds").get(0).asInt()).isEqualTo(produto.getId());
+        assertThat(payload.get("status").asText()).isEqualTo("EM_ANDAMENTO");
+        assertThat(relay.drenar()).isZero();
+    }
+
+    @Test
+    void deveGravarEEntregarEventoDePedidoComMuitosProdutos() throws Exception {
+        List<Produto> produtos = produtoRepository.saveAll(IntStream.range(0, 1000).mapToObj(i -> {
+            Produto outro = new Produto();
+            outro.setNome("Produto Outbox " + i);
+            outro.setPreco(1.0);
+            outro.setCategoria(produto.getCategoria());
+            return outro;
+        }).toList());
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setProdutos(produtos);
+        pedido.setData(LocalDate.now());
+        pedido.setStatus("EM_ANDAMENTO");
+
+        Integer pedidoId = pedidoService.save(pedido).getId();
+
+        assertThat(pedidoRepository.existsById(pedidoId)).isTrue();
+        assertThat(relay.drenar()).isEqualTo(1);
+        EventoPedido evento = destino.recebidos().get(0);
+        assertThat(evento.getPayload().length()).isGreaterThan(4000);
+        assertThat(objectMapper.readTree(evento.getPayload()).get("produtoIds")).hasSize(1000);
+    }
+
+    @Test
+    void naoDeveGravarEventoDePedidoDesfeito() {
+        transactionTemplate.executeWithoutResult(status -> {
+            criarPedido();
+            status.setRollbackOnly();
+        });
+
+        assertThat(eventoPedidoRepository.count()).isZero();
+        assertThat(pedidoRepository.count()).isZero();
+    }
+
+    @Test
+    void deveManterOLoteQuandoODestinoFalha() {
+        Integer pedidoId = criarPedido().getId();
+        doThrow(new IllegalStateException("destino fora do ar")).when(destino).enviar(any());
+
+        assertThat(relay.drenar()).isZero();
+
+        assertThat(eventoPedidoRepository.findAll()).singleElement()
+                .satisfies(evento -> assertThat(evento.getTentativas()).isEqualTo(1));
+        doCallRealMethod().when(destino).enviar(any());
+        assertThat(relay.drenar()).isEqualTo(1);
+        assertThat(destino.recebidos()).extracting(EventoPedido::getPedidoId).containsExactly(pedidoId);
+    }
+
+    @Test
+    void deveEstacionarEventoRecusadoSemTravarOsSeguintes() {
+        Integer recusado = criarPedido().getId();
+        List<Integer> seguintes = List.of(criarPedido().getId(), criarPedido().getId());
+        doAnswer(invocacao -> {
+            List<EventoPedido> eventos = invocacao.getArgument(0);
+            if (eventos.stream().anyMatch(evento -> evento.getPedidoId().equals(recusado))) {
+                throw new IllegalStateException("payload inválido");
+            }
+            return invocacao.callRealMethod();
+        }).when(destino).enviar(any());
+        double estacionadosAntes = meterRegistry.get("outbox.pedidos.estacionados").counter().count();
+
+        //o recusado está na frente: duas rodadas até chegar ao máximo, sem passar ninguém na frente dele
+        assertThat(relay.drenar()).isZero();
+        assertThat(relay.drenar()).isZero();
+        assertThat(destino.recebidos()).isEmpty();
+
+        assertThat(relay.drenar()).isEqualTo(2);
+
+        assertThat(destino.recebidos()).extracting(EventoPedido::getPedidoId).containsExactlyElementsOf(seguintes);
+        assertThat(eventoPedidoRepository.findAll()).singleElement().satisfies(evento -> {
+            assertThat(evento.getPedidoId()).isEqualTo(recusado);
+            assertThat(evento.getTentativas()).isEqualTo(2);
+        });
+        assertThat(meterRegistry.get("outbox.pedidos.estacionados").counter().count()).isEqualTo(estacionadosAntes + 1);
+        assertThat(relay.drenar()).isZero();
+    }
+
+    @Test
+    void deveEntregarOsAnterioresAoEventoRecusadoNoMesmoLote() {
+        Integer entregue = criarPedido().getId();
+        Integer recusado = criarPedido().getId();
+        doAnswer(invocacao -> {
+            List<EventoPedido> eventos = invocacao.getArgument(0);
+            if (eventos.stream().anyMatch(evento -> evento.getPedidoId().equals(recusado))) {
+                throw new IllegalStateException("payload inválido");
+            }
+            return invocacao.callRealMethod();
+        }).when(destino).enviar(any());
+
+        assertThat(relay.drenar()).isEqualTo(1);
+
+        assertThat(destino.recebidos()).extracting(EventoPedido::getPedidoId).containsExactly(entregue);
+        assertThat(eventoPedidoRepository.findAll()).singleElement().satisfies(evento -> {
+            assertThat(evento.getPedidoId()).isEqualTo(recusado);
+            assertThat(evento.getTentativas()).isEqualTo(1);
+        });
+    }
+
+    private Pedido criarPedido() {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setProdutos(List.of(produto));
+        pedido.setData(LocalDate.now());
+        pedido.setStatus("EM_ANDAMENTO");
+        return pedidoService.save(pedido);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.projeto.projection;
+
+import com.example.projeto.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CamposParciaisTest {
+
+    private static final Set<String> PERMITIDOS = Set.of("id", "nome", "preco", "categoria.id", "categoria.nome");
+
+    @Test
+    void deveManterOrdemPedidaSemRepeticao() {
+        CamposParciais campos = CamposParciais.de(" preco, id,,nome,id ", PERMITIDOS);
+
+        assertEquals(List.of("preco", "id", "nome"), campos.caminhos());
+    }
+
+    @Test
+    void associacaoSozinhaValeComoId() {
+        CamposParciais campos = CamposParciais.de("nome,categoria,categoria.nome", PERMITIDOS);
+
+        assertEquals(List.of("nome", "categoria.id", "categoria.nome"), campos.caminhos());
+    }
+
+    @Test
+    void deveRecusarCampoNaoDisponivel() {
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> CamposParciais.de("id,senha", PERMITIDOS));
+
+        assertEquals("CMP002", erro.getCodigo());
+        assertTrue(erro.getMessage().contains("senha"));
+        assertThrows(BusinessException.class, () -> CamposParciais.de("categoria.descricao", PERMITIDOS));
+    }
+
+    @Test
+    void deveExigirAoMenosUmCampo() {
+        assertEquals("CMP001", assertThrows(BusinessException.class, () -> CamposParciais.de(" , ", PERMITIDOS))
+                .getCodigo());
+        assertThrows(BusinessException.class, () -> CamposParciais.de("", PERMITIDOS));
+    }
+}
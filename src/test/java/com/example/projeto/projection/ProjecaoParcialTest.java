@@ -0,0 +1,212 @@
+package com.example.projeto.projection;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Cupom;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.User;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.CupomRepository;
+import com.example.projeto.repository.PedidoRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import com.example.projeto.repository.UserRepository;
+import com.example.projeto.service.CupomService;
+import com.example.projeto.service.PedidoService;
+import com.example.projeto.service.ProdutoService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//confere o SQL gerado: só as colunas pedidas, sem join para associações não pedidas
+@SpringBootTest
+class ProjecaoParcialTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private CupomService cupomService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CupomRepository cupomRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<String> comandos = new CopyOnWriteArrayList<>();
+    private final QueryExecutionListener captura = new Captura();
+    //só os comandos do teste, não os de tarefas agendadas em outras threads (ex.: OutboxRelay)
+    private volatile Thread threadTeste;
+
+    private Integer categoriaId;
+    private Integer mouseId;
+    private Integer tecladoId;
+    private Integer pedidoComCupomId;
+    private Integer pedidoSemCupomId;
+
+    @BeforeEach
+    void setup() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Periféricos");
+        categoriaId = categoriaRepository.save(categoria).getId();
+
+        Produto mouse = produto("Mouse", 50.0, categoria);
+        Produto teclado = produto("Teclado", 150.0, categoria);
+        mouseId = mouse.getId();
+        tecladoId = teclado.getId();
+
+        User cliente = new User();
+        cliente.setNome("Cliente Parcial");
+        cliente.setEmail("parcial@example.com");
+        cliente.setPassword("senha");
+        userRepository.save(cliente);
+
+        Cupom cupom = cupomRepository.save(new Cupom("PARCIAL10", 10.0, LocalDate.now().plusDays(10), 0.0));
+        cupomRepository.save(new Cupom("VENCIDO", 5.0, LocalDate.now().minusDays(1), 0.0));
+
+        pedidoComCupomId = pedido(cliente, cupom, List.of(teclado, mouse)).getId();
+        pedidoSemCupomId = pedido(cliente, null, List.of(mouse)).getId();
+
+        threadTeste = Thread.currentThread();
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(captura);
+    }
+
+    @AfterEach
+    void limpar() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(captura);
+        pedidoRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        cupomRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deveConsultarSoAsColunasPedidas() {
+        List<Map<String, Object>> produtos = produtoService.findAllParcial("id,nome,preco");
+
+        assertThat(produtos).containsExactly(
+                Map.of("id", mouseId, "nome", "Mouse", "preco", 50.0),
+                Map.of("id", tecladoId, "nome", "Teclado", "preco", 150.0));
+        assertThat(produtos.get(0).keySet()).containsExactly("id", "nome", "preco");
+        assertThat(comandos).hasSize(1);
+        assertThat(comandos.get(0)).doesNotContain("descricao", "estoque", "versao", "categoria_id", " join ");
+    }
+
+    @Test
+    void idDaAssociacaoVemDaChaveEstrangeiraSemJoin() {
+        Map<String, Object> produto = produtoService.findByIdParcial(mouseId, "nome,categoria");
+
+        assertThat(produto).isEqualTo(Map.of("nome", "Mouse", "categoria", Map.of("id", categoriaId)));
+        assertThat(comandos).hasSize(1);
+        assertThat(comandos.get(0)).doesNotContain(" join ", "categorias");
+    }
+
+    @Test
+    void pedidoSemAssociacoesNaoTocaOutrasTabelas() {
+        List<Map<String, Object>> pedidos = pedidoService.findAllParcial("id,status");
+
+        assertThat(pedidos).extracting(p -> p.get("id")).containsExactly(pedidoComCupomId, pedidoSemCupomId);
+        assertThat(comandos).hasSize(1);
+        assertThat(comandos.get(0)).doesNotContain(" join ", "users", "cupons", "produtos", "pedido_produto");
+    }
+
+    @Test
+    void associacoesPedidasVemComLeftJoinEColecaoNumaSegundaConsulta() {
+        List<Map<String, Object>> pedidos = pedidoService.findAllParcial("id,cliente.nome,cupom.codigo,produtos.nome");
+
+        assertThat(pedidos).hasSize(2);
+        Map<String, Object> comCupom = pedidos.get(0);
+        assertThat(comCupom.keySet()).containsExactly("id", "cliente", "cupom", "produtos");
+        assertThat(comCupom.get("cliente")).isEqualTo(Map.of("nome", "Cliente Parcial"));
+        assertThat(comCupom.get("cupom")).isEqualTo(Map.of("codigo", "PARCIAL10"));
+        assertThat(comCupom.get("produtos")).isEqualTo(List.of(Map.of("nome", "Mouse"), Map.of("nome", "Teclado")));
+        Map<String, Object> semCupom = pedidos.get(1);
+        assertThat(semCupom.get("cupom")).isNull();
+        assertThat(semCupom.get("produtos")).isEqualTo(List.of(Map.of("nome", "Mouse")));
+
+        assertThat(comandos).hasSize(2);
+        assertThat(comandos.get(0)).contains("left join").doesNotContain("password", "email", "valor");
+        assertThat(comandos.get(1)).doesNotContain("preco", "descricao");
+    }
+
+    @Test
+    void listagemParcialDeCuponsMantemOFiltroDeAtivos() {
+        List<Map<String, Object>> cupons = cupomService.findAllAtivosParcial("codigo");
+
+        assertThat(cupons).containsExactly(Map.of("codigo", "PARCIAL10"));
+        assertThat(comandos.get(0)).doesNotContain("minimo_compra");
+    }
+
+    @Test
+    void buscaParcialDeIdInexistenteVemVazia() {
+        assertThat(cupomService.findByIdParcial(-1, "codigo")).isEmpty();
+    }
+
+    private Produto produto(String nome, double preco, Categoria categoria) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(preco);
+        produto.setDescricao("descrição de " + nome);
+        produto.setEstoque(10);
+        produto.setCategoria(categoria);
+        return produtoRepository.save(produto);
+    }
+
+    private Pedido pedido(User cliente, Cupom cupom, List<Produto> produtos) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setCupom(cupom);
+        pedido.setStatus("EM_ANDAMENTO");
+        pedido.setData(LocalDate.now());
+        pedido.setProdutos(produtos);
+        return pedidoRepository.save(pedido);
+    }
+
+    private class Captura implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != threadTeste) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                comandos.add(queryInfo.getQuery().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.projeto.repository;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Cupom;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CupomRepository cupomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void limpar() {
+        cupomRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    @Test
+    void deveBuscarCategoriaPorIdNoCache() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Eletrônicos");
+        Integer id = categoriaRepository.save(categoria).getId();
+        categoriaRepository.findById(id);
+        statistics.clear();
+
+        categoriaRepository.findById(id);
+        categoriaRepository.findById(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("categorias").getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deveListarCategoriasPeloCacheDeConsulta() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Eletrônicos");
+        categoriaRepository.save(categoria);
+
+        categoriaRepository.findAll();
+        long consultas = statistics.getPrepareStatementCount();
+        categoriaRepository.findAll();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(consultas);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deveBuscarCupomPorCodigoPeloCacheDeConsulta() {
+        cupomRepository.save(new Cupom("CUPOM10", 10.0, LocalDate.now().plusDays(5), 50.0));
+
+        cupomRepository.findByCodigo("CUPOM10");
+        long consultas = statistics.getPrepareStatementCount();
+        assertThat(cupomRepository.findByCodigo("CUPOM10")).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(consultas);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
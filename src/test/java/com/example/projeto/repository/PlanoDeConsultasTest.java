@@ -0,0 +1,257 @@
+package com.example.projeto.repository;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Cupom;
+import com.example.projeto.model.Pedido;
+import com.example.projeto.model.Produto;
+import com.example.projeto.model.TokenRevogado;
+import com.example.projeto.model.User;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//roda EXPLAIN em cada comando gerado pelas consultas dos repositórios e falha se alguma tabela for varrida
+//por inteiro; só as listagens completas podem varrer a tabela principal delas.
+@SpringBootTest
+class PlanoDeConsultasTest {
+
+    //no plano do H2 cada tabela do FROM/JOIN é seguida do acesso escolhido: "/* PUBLIC.T.tableScan */",
+    //um índice percorrido inteiro ("/* PUBLIC.IDX */") ou uma busca no índice ("/* PUBLIC.IDX: COL = ?1 */")
+    private static final Pattern TABELA = Pattern.compile("(?:FROM|JOIN|UPDATE|DELETE FROM) \"PUBLIC\"\\.\"(\\w+)\"");
+    private static final Pattern ACESSO = Pattern.compile("/\\* PUBLIC\\.([^*]+)\\*/");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CupomRepository cupomRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    private final List<Comando> capturados = new CopyOnWriteArrayList<>();
+    //só os comandos da chamada medida, não os de tarefas agendadas em outras threads (ex.: OutboxRelay)
+    private volatile Thread threadMedida;
+    private final QueryExecutionListener captura = new Captura();
+
+    private Integer pedidoId;
+    private Integer produtoId;
+    private Integer categoriaId;
+    private Long clienteId;
+
+    @BeforeEach
+    void setup() {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Eletrônicos");
+        categoriaId = categoriaRepository.save(categoria).getId();
+
+        Produto produto = new Produto();
+        produto.setNome("Mouse");
+        produto.setPreco(50.0);
+        produto.setEstoque(10);
+        produto.setCategoria(categoria);
+        produtoId = produtoRepository.save(produto).getId();
+
+        User cliente = new User();
+        cliente.setNome("Cliente");
+        cliente.setEmail("plano@example.com");
+        cliente.setPassword("senha");
+        clienteId = userRepository.save(cliente).getId();
+
+        Cupom cupom = cupomRepository.save(new Cupom("PLANO10", 10.0, LocalDate.now().plusDays(10), 0.0));
+
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setCupom(cupom);
+        pedido.setStatus("EM_ANDAMENTO");
+        pedido.setData(LocalDate.now());
+        pedido.setProdutos(List.of(produto));
+        pedidoId = pedidoRepository.save(pedido).getId();
+
+        tokenRevogadoRepository.save(new TokenRevogado("jti-plano", Instant.now().plusSeconds(600)));
+
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(captura);
+    }
+
+    @AfterEach
+    void limpar() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(captura);
+        pedidoRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        cupomRepository.deleteAll();
+        userRepository.deleteAll();
+        tokenRevogadoRepository.deleteAll();
+    }
+
+    @Test
+    void consultasPorChaveNaoDevemVarrerTabelas() throws SQLException {
+        assertThat(varreduras(() -> produtoRepository.findById(produtoId))).isEmpty();
+        assertThat(varreduras(() -> produtoRepository.existsById(produtoId))).isEmpty();
+        assertThat(varreduras(() -> pedidoRepository.findById(pedidoId))).isEmpty();
+        assertThat(varreduras(() -> pedidoRepository.findByIdIn(List.of(pedidoId, -1)))).isEmpty();
+        assertThat(varreduras(() -> produtoRepository.findAllById(List.of(produtoId, -1)))).isEmpty();
+        assertThat(varreduras(() -> cupomRepository.findByCodigo("PLANO10"))).isEmpty();
+        assertThat(varreduras(() -> userRepository.findByEmail("plano@example.com"))).isEmpty();
+    }
+
+    @Test
+    void consultasPorFiltroDevemUsarIndices() throws SQLException {
+        assertThat(varreduras(() -> cupomRepository.findByAtivoTrueAndValidadeAfter(LocalDate.now()))).isEmpty();
+        assertThat(varreduras(() -> tokenRevogadoRepository.findByExpiracaoAfter(Instant.now()))).isEmpty();
+        assertThat(varreduras(() -> pedidoRepository.findPrimeiraPaginaDoCliente(clienteId, Limit.of(20)))).isEmpty();
+        assertThat(varreduras(() -> pedidoRepository.findPaginaDoClienteApos(
+                clienteId, LocalDate.now(), Integer.MAX_VALUE, Limit.of(20)))).isEmpty();
+        assertThat(varreduras(() -> produtoRepository.findByCategoriaIdAndIdGreaterThanOrderById(
+                categoriaId, 0, Limit.of(20)))).isEmpty();
+        assertThat(varreduras(() -> transactionTemplate.executeWithoutResult(
+                status -> tokenRevogadoRepository.deleteExpirados(Instant.now())))).isEmpty();
+    }
+
+    @Test
+    void listagensDevemVarrerApenasATabelaPrincipal() throws SQLException {
+        assertThat(varreduras(() -> pedidoRepository.findAll())).containsOnly("PEDIDOS");
+        assertThat(varreduras(() -> pedidoRepository.findAllParaExportacao())).containsOnly("PEDIDOS");
+        assertThat(varreduras(() -> produtoRepository.findAll())).containsOnly("PRODUTOS");
+        assertThat(varreduras(() -> cupomRepository.findAll())).containsOnly("CUPONS");
+        assertThat(varreduras(() -> transactionTemplate.executeWithoutResult(
+                status -> categoriaRepository.findAll().forEach(c -> c.getProdutos().size()))))
+                .containsOnly("CATEGORIAS");
+        assertThat(varreduras(() -> categoriaRepository.findResumos())).containsOnly("CATEGORIAS");
+    }
+
+    //executa a chamada sem cache de segundo nível e devolve as tabelas varridas nos planos dos comandos dela
+    private Set<String> varreduras(Runnable chamada) throws SQLException {
+        entityManagerFactory.getCache().evictAll();
+        capturados.clear();
+        threadMedida = Thread.currentThread();
+        try {
+            chamada.run();
+        } finally {
+            threadMedida = null;
+        }
+        assertThat(capturados).as("nenhum comando executado").isNotEmpty();
+
+        Set<String> tabelas = new TreeSet<>();
+        try (Connection connection = dataSource.unwrap(HikariDataSource.class).getConnection()) {
+            for (Comando comando : capturados) {
+                tabelas.addAll(tabelasVarridas(explain(connection, comando)));
+            }
+        }
+        return tabelas;
+    }
+
+    private static Set<String> tabelasVarridas(String plano) {
+        Set<String> tabelas = new TreeSet<>();
+        String tabela = null;
+        for (String linha : plano.split("\n")) {
+            Matcher nomeTabela = TABELA.matcher(linha);
+            if (nomeTabela.find()) {
+                tabela = nomeTabela.group(1);
+                continue;
+            }
+            Matcher acesso = ACESSO.matcher(linha);
+            if (tabela != null && acesso.find()) {
+                String indice = acesso.group(1);
+                if (indice.contains("tableScan") || !indice.contains(":")) {
+                    tabelas.add(tabela);
+                }
+                tabela = null;
+            }
+        }
+        return tabelas;
+    }
+
+    private static String explain(Connection connection, Comando comando) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("explain " + comando.sql())) {
+            for (int i = 0; i < comando.parametros().size(); i++) {
+                statement.setObject(i + 1, comando.parametros().get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plano = new StringBuilder();
+                while (rs.next()) {
+                    plano.append(rs.getString(1)).append('\n');
+                }
+                return plano.toString();
+            }
+        }
+    }
+
+    private record Comando(String sql, List<Object> parametros) {
+    }
+
+    private class Captura implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != threadMedida) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                String sql = queryInfo.getQuery().strip();
+                if (sql.regionMatches(true, 0, "insert", 0, 6)) {
+                    continue;
+                }
+                List<Object> parametros = new ArrayList<>();
+                if (!queryInfo.getParametersList().isEmpty()) {
+                    queryInfo.getParametersList().get(0).stream()
+                            .sorted(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]))
+                            .map(ParameterSetOperation::getArgs)
+                            .forEach(args -> parametros.add(args[1]));
+                }
+                capturados.add(new Comando(sql, parametros));
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.projeto.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteTrieTest {
+
+    private AutocompleteTrie trie;
+
+    @BeforeEach
+    void setup() {
+        trie = new AutocompleteTrie(3);
+        trie.inserir(1, "Notebook Gamer", 5);
+        trie.inserir(2, "Notebook Básico", 9);
+        trie.inserir(3, "Mochila para notebook", 2);
+        trie.inserir(4, "Nobreak 600VA", 7);
+        trie.inserir(5, "Câmera Fotográfica", 1);
+    }
+
+    @Test
+    void deveSugerirPorPrefixoOrdenandoPorPopularidade() {
+        assertEquals(List.of(2, 4, 1), ids(trie.sugerir("no", 10)));
+        assertEquals(List.of(2, 1, 3), ids(trie.sugerir("note", 10)));
+        assertEquals(List.of(1), ids(trie.sugerir("notebook g", 10)));
+    }
+
+    @Test
+    void deveIgnorarAcentosEMaiusculas() {
+        assertEquals(List.of(5), ids(trie.sugerir("CAME", 10)));
+        assertEquals(List.of(2), ids(trie.sugerir("notebook basi", 10)));
+    }
+
+    @Test
+    void deveCasarPrefixoNoMeioDeUmaAresta() {
+        assertEquals(List.of(2, 1, 3), ids(trie.sugerir("notebo", 10)));
+        assertEquals(List.of(), ids(trie.sugerir("notebox", 10)));
+        assertEquals(List.of(), ids(trie.sugerir("para", 10)));
+    }
+
+    @Test
+    void deveRespeitarLimite() {
+        assertEquals(List.of(2), ids(trie.sugerir("no", 1)));
+    }
+
+    @Test
+    void deveAtualizarTopKQuandoPopularidadeMuda() {
+        trie.somarPopularidade(3, 10);
+
+        assertEquals(List.of(3, 2, 4), ids(trie.sugerir("no", 10)));
+        assertEquals(12, trie.sugerir("mochila", 1).get(0).popularidade());
+    }
+
+    @Test
+    void deveRecuperarProdutoForaDoTopKAoRemoverOutro() {
+        trie.remover(2);
+
+        assertEquals(List.of(4, 1, 3), ids(trie.sugerir("no", 10)));
+        assertEquals(4, trie.tamanho());
+    }
+
+    @Test
+    void deveSubstituirNomeAoReinserir() {
+        trie.inserir(4, "Estabilizador", trie.popularidade(4));
+
+        assertEquals(List.of(2, 1, 3), ids(trie.sugerir("no", 10)));
+        assertEquals(List.of(4), ids(trie.sugerir("esta", 10)));
+        assertEquals(7, trie.popularidade(4));
+    }
+
+    @Test
+    void deveManterEstruturaConsistenteAposRemoverTudo() {
+        List.of(1, 2, 3, 4, 5).forEach(trie::remover);
+        assertEquals(List.of(), ids(trie.sugerir("n", 10)));
+
+        trie.inserir(6, "Notebook", 0);
+        assertEquals(List.of(6), ids(trie.sugerir("n", 10)));
+    }
+
+    @Test
+    void deveRemoverNomeComPalavraRepetida() {
+        //as chaves "vinho tinto vinho" e "vinho" ficam no mesmo ramo, uma ancestral da outra
+        trie.inserir(6, "Vinho tinto vinho", 3);
+
+        trie.remover(6);
+
+        assertEquals(List.of(), ids(trie.sugerir("v", 10)));
+        assertEquals(List.of(2, 4, 1), ids(trie.sugerir("no", 10)));
+        trie.inserir(7, "Vinho branco", 1);
+        assertEquals(List.of(7), ids(trie.sugerir("vinho", 10)));
+    }
+
+    @Test
+    void deveRenomearNomeComPalavraRepetida() {
+        trie.inserir(6, "Vinho tinto vinho", 3);
+
+        trie.inserir(6, "Vinho rosé", 3);
+
+        assertEquals(List.of(6), ids(trie.sugerir("vinho r", 10)));
+        assertEquals(List.of(), ids(trie.sugerir("vinho t", 10)));
+        assertEquals(List.of(), ids(trie.sugerir("tinto", 10)));
+        trie.inserir(6, "Vinho tinto vinho", 3);
+        assertEquals(List.of(6), ids(trie.sugerir("vinho t", 10)));
+        assertEquals(List.of(), ids(trie.sugerir("vinho r", 10)));
+    }
+
+    @Test
+    void deveCoincidirComBuscaExaustivaAposOperacoesAleatorias() {
+        String[] palavras = {"no", "note", "notebook", "nobreak", "mouse", "mochila", "cabo", "camera"};
+        Random random = new Random(7);
+        Map<Integer, String> nomes = new HashMap<>();
+        Map<Integer, Long> popularidades = new HashMap<>();
+        AutocompleteTrie aleatoria = new AutocompleteTrie(4);
+        for (int i = 0; i < 2000; i++) {
+            int id = random.nextInt(60);
+            int operacao = random.nextInt(4);
+            if (operacao == 0) {
+                aleatoria.remover(id);
+                nomes.remove(id);
+            } else if (operacao == 1 && nomes.containsKey(id)) {
+                long delta = random.nextInt(7) - 3;
+                aleatoria.somarPopularidade(id, delta);
+                popularidades.merge(id, delta, Long::sum);
+            } else {
+                String nome = palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)];
+                long popularidade = random.nextInt(20);
+                aleatoria.inserir(id, nome, popularidade);
+                nomes.put(id, nome);
+                popularidades.put(id, popularidade);
+            }
+        }
+
+        for (String prefixo : List.of("n", "no", "note", "notebook m", "mo", "c", "cabo no", "x")) {
+            List<Integer> esperado = nomes.keySet().stream()
+                    .filter(id -> AutocompleteTrie.chaves(nomes.get(id)).stream().anyMatch(c -> c.startsWith(prefixo)))
+                    .sorted(Comparator.comparing((Integer id) -> -popularidades.get(id))
+                            .thenComparing(nomes::get)
+                            .thenComparing(id -> id))
+                    .limit(4)
+                    .toList();
+            assertEquals(esperado, ids(aleatoria.sugerir(prefixo, 10)), prefixo);
+        }
+    }
+
+    @Test
+    void deveGerarChavesAPartirDeCadaPalavraExcetoPalavrasVazias() {
+        assertEquals(List.of("mochila para notebook", "notebook"), AutocompleteTrie.chaves("Mochila para Notebook"));
+    }
+
+    private static List<Integer> ids(List<AutocompleteTrie.Sugestao> sugestoes) {
+        return sugestoes.stream().map(AutocompleteTrie.Sugestao::id).toList();
+    }
+}
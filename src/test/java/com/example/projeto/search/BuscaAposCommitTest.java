@@ -0,0 +1,66 @@
+package com.example.projeto.search;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.service.ProdutoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//o índice só enxerga a alteração depois do commit, e não enxerga alterações desfeitas
+@SpringBootTest
+class BuscaAposCommitTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoSearchIndex index;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void deveIndexarProdutoSalvoERemovido() {
+        Produto produto = produtoService.save(novoProduto("Cafeteira Elétrica"));
+
+        assertThat(index.buscar("cafeteira eletrica", null, null, null, 10))
+                .extracting(r -> r.produto().id())
+                .containsExactly(produto.getId());
+
+        produtoService.delete(produto.getId());
+
+        assertThat(index.buscar("cafeteira", null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void naoDeveIndexarProdutoDeTransacaoDesfeita() {
+        transactionTemplate.executeWithoutResult(status -> {
+            produtoService.save(novoProduto("Liquidificador"));
+            assertThat(index.buscar("liquidificador", null, null, null, 10)).isEmpty();
+            status.setRollbackOnly();
+        });
+
+        assertThat(index.buscar("liquidificador", null, null, null, 10)).isEmpty();
+    }
+
+    private Produto novoProduto(String nome) {
+        Categoria categoria = new Categoria();
+        categoria.setNome("Eletroportáteis");
+        categoriaRepository.save(categoria);
+
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(199.0);
+        produto.setEstoque(4);
+        produto.setCategoria(categoria);
+        return produto;
+    }
+}
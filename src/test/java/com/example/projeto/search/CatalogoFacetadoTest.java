@@ -0,0 +1,122 @@
+package com.example.projeto.search;
+
+import com.example.projeto.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogoFacetadoTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private CatalogoFacetado catalogo;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        catalogo.reconstruir(List.of(
+                new ProdutoIndexado(1, "Câmera", null, 2500.0, 3, 1),
+                new ProdutoIndexado(2, "Notebook", null, 7000.0, 0, 2),
+                new ProdutoIndexado(3, "Mochila", null, 200.0, 10, 3),
+                new ProdutoIndexado(4, "Suporte", null, 150.0, 8, 3),
+                new ProdutoIndexado(5, "Cabo", null, 20.0, 0, 3)
+        ));
+    }
+
+    @Test
+    void deveContarFacetasSemFiltros() {
+        CatalogoFacetado.Resultado resultado = navegar(null, null, null);
+
+        assertEquals(5, resultado.total());
+        assertEquals(Map.of(1, 1, 2, 1, 3, 3), resultado.categorias());
+        assertEquals(1, resultado.faixas().get(FaixaPreco.ATE_50));
+        assertEquals(2, resultado.faixas().get(FaixaPreco.DE_100_A_500));
+        assertEquals(0, resultado.faixas().get(FaixaPreco.DE_50_A_100));
+        assertEquals(3, resultado.emEstoque());
+        assertEquals(2, resultado.semEstoque());
+    }
+
+    @Test
+    void deveFiltrarCombinandoFacetas() {
+        CatalogoFacetado.Resultado resultado = navegar(List.of(3), List.of(FaixaPreco.DE_100_A_500), true);
+
+        assertEquals(List.of(3, 4), ids(resultado));
+        assertEquals(2, resultado.total());
+    }
+
+    @Test
+    void deveContarCadaFacetaIgnorandoOProprioFiltro() {
+        CatalogoFacetado.Resultado resultado = navegar(List.of(3), null, true);
+
+        assertEquals(List.of(3, 4), ids(resultado));
+        //categorias contam só os produtos em estoque, inclusive das categorias não escolhidas
+        assertEquals(Map.of(1, 1, 3, 2), resultado.categorias());
+        assertEquals(2, resultado.faixas().get(FaixaPreco.DE_100_A_500));
+        assertEquals(0, resultado.faixas().get(FaixaPreco.ATE_50));
+        //estoque conta dentro da categoria escolhida
+        assertEquals(2, resultado.emEstoque());
+        assertEquals(1, resultado.semEstoque());
+    }
+
+    @Test
+    void deveSomarValoresDaMesmaFaceta() {
+        CatalogoFacetado.Resultado resultado = navegar(List.of(1, 2), null, null);
+
+        assertEquals(List.of(1, 2), ids(resultado));
+    }
+
+    @Test
+    void devePaginarPorId() {
+        CatalogoFacetado.Filtro filtro = new CatalogoFacetado.Filtro(null, null, null);
+
+        CatalogoFacetado.Resultado primeira = catalogo.navegar(filtro, null, 2);
+        assertEquals(List.of(1, 2), ids(primeira));
+        assertEquals(2, primeira.proximoAposId());
+
+        CatalogoFacetado.Resultado ultima = catalogo.navegar(filtro, 4, 2);
+        assertEquals(List.of(5), ids(ultima));
+        assertNull(ultima.proximoAposId());
+    }
+
+    @Test
+    void deveAtualizarContagensIncrementalmente() {
+        catalogo.indexar(new ProdutoIndexado(2, "Notebook", null, 4000.0, 5, 2));
+        catalogo.remover(1);
+        catalogo.indexar(new ProdutoIndexado(6, "Tripé", null, 80.0, 1, 4));
+
+        CatalogoFacetado.Resultado resultado = navegar(null, null, null);
+        assertEquals(5, resultado.total());
+        assertEquals(Map.of(2, 1, 3, 3, 4, 1), resultado.categorias());
+        assertEquals(1, resultado.faixas().get(FaixaPreco.DE_1000_A_5000));
+        assertEquals(0, resultado.faixas().get(FaixaPreco.ACIMA_DE_5000));
+        assertEquals(1, resultado.faixas().get(FaixaPreco.DE_50_A_100));
+        assertEquals(4, resultado.emEstoque());
+        assertEquals(1, resultado.semEstoque());
+        assertEquals(5, catalogo.tamanho());
+    }
+
+    @Test
+    void deveClassificarPrecoNasFaixas() {
+        assertEquals(FaixaPreco.ATE_50, FaixaPreco.de(49.99));
+        assertEquals(FaixaPreco.DE_50_A_100, FaixaPreco.de(50.0));
+        assertEquals(FaixaPreco.ACIMA_DE_5000, FaixaPreco.de(5000.0));
+        assertNull(FaixaPreco.de(null));
+    }
+
+    private CatalogoFacetado.Resultado navegar(List<Integer> categorias, List<FaixaPreco> faixas, Boolean emEstoque) {
+        return catalogo.navegar(new CatalogoFacetado.Filtro(categorias, faixas, emEstoque), null, 20);
+    }
+
+    private static List<Integer> ids(CatalogoFacetado.Resultado resultado) {
+        return resultado.itens().stream().map(ProdutoIndexado::id).toList();
+    }
+}
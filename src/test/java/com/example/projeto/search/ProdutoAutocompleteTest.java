@@ -0,0 +1,94 @@
+package com.example.projeto.search;
+
+import com.example.projeto.event.PedidoCriadoEvent;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.PedidoRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProdutoAutocompleteTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @InjectMocks
+    private ProdutoAutocomplete autocomplete;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(produtoRepository.findAll()).thenReturn(List.of(produto(1, "Notebook Gamer"), produto(2, "Nobreak")));
+        when(pedidoRepository.contarPedidosPorProduto()).thenReturn(List.of(popularidade(2, 3L)));
+        autocomplete.carregar();
+    }
+
+    @Test
+    void deveCarregarComPopularidadeDosPedidos() {
+        assertEquals(List.of(2, 1), ids(autocomplete.sugerir("no", 10)));
+        assertEquals(2, autocomplete.tamanho());
+    }
+
+    @Test
+    void deveSomarPopularidadeUmaVezPorPedido() {
+        autocomplete.aoCriarPedido(new PedidoCriadoEvent(10, List.of(1, 1)));
+        autocomplete.aoCriarPedido(new PedidoCriadoEvent(11, List.of(1)));
+        autocomplete.aoCriarPedido(new PedidoCriadoEvent(12, List.of(1)));
+        assertEquals(List.of(2, 1), ids(autocomplete.sugerir("no", 10)));
+
+        autocomplete.aoCriarPedido(new PedidoCriadoEvent(13, List.of(1)));
+        assertEquals(List.of(1, 2), ids(autocomplete.sugerir("no", 10)));
+    }
+
+    @Test
+    void deveAtualizarComAlteracoesDoCatalogo() {
+        autocomplete.aoAlterarProduto(ProdutoAlteradoEvent.salvo(produto(2, "Estabilizador")));
+        autocomplete.aoAlterarProduto(ProdutoAlteradoEvent.salvo(produto(3, "Nobreak 1200VA")));
+        autocomplete.aoAlterarProduto(ProdutoAlteradoEvent.removido(1));
+
+        assertEquals(List.of(3), ids(autocomplete.sugerir("no", 10)));
+        assertEquals(3, autocomplete.sugerir("esta", 10).get(0).popularidade());
+    }
+
+    @Test
+    void deveIgnorarPrefixoVazio() {
+        assertTrue(autocomplete.sugerir(" ", 10).isEmpty());
+    }
+
+    private static Produto produto(Integer id, String nome) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome(nome);
+        return produto;
+    }
+
+    private static PedidoRepository.PedidosPorProduto popularidade(Integer produtoId, Long pedidos) {
+        return new PedidoRepository.PedidosPorProduto() {
+            @Override
+            public Integer getProdutoId() {
+                return produtoId;
+            }
+
+            @Override
+            public Long getPedidos() {
+                return pedidos;
+            }
+        };
+    }
+
+    private static List<Integer> ids(List<AutocompleteTrie.Sugestao> sugestoes) {
+        return sugestoes.stream().map(AutocompleteTrie.Sugestao::id).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.projeto.search;
+
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProdutoSearchIndexTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @InjectMocks
+    private ProdutoSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        index.reconstruir(List.of(
+                new ProdutoIndexado(1, "Câmera Fotográfica", "Lente intercambiável e bateria", 2500.0, 3, 1),
+                new ProdutoIndexado(2, "Notebook Gamer", "Placa de vídeo dedicada", 7000.0, 2, 2),
+                new ProdutoIndexado(3, "Mochila para notebook", "Compartimento acolchoado", 200.0, 10, 3),
+                new ProdutoIndexado(4, "Suporte de mesa", "Apoio ajustável para notebook e câmera", 150.0, 8, 3)
+        ));
+    }
+
+    @Test
+    void deveBuscarIgnorandoAcentosEMaiusculas() {
+        assertEquals(List.of(1), ids(index.buscar("CAMERA fotografica", null, null, null, 10)));
+        assertEquals(List.of(2), ids(index.buscar("vídeo", null, null, null, 10)));
+    }
+
+    @Test
+    void deveCasarPorPrefixo() {
+        assertEquals(List.of(1), ids(index.buscar("fotog", null, null, null, 10)));
+        assertTrue(ids(index.buscar("note", null, null, null, 10)).containsAll(List.of(2, 3, 4)));
+    }
+
+    @Test
+    void deveOrdenarPorRelevancia() {
+        //nome pesa mais que descrição: os dois com "notebook" no nome vêm antes do suporte
+        List<Integer> resultado = ids(index.buscar("notebook", null, null, null, 10));
+        assertEquals(4, resultado.get(2));
+
+        //termo exato vale mais que prefixo
+        index.indexar(new ProdutoIndexado(5, "Cabo note", null, 10.0, 1, 2));
+        assertEquals(5, ids(index.buscar("note", null, null, null, 10)).get(0));
+    }
+
+    @Test
+    void deveExigirTodosOsTermos() {
+        assertEquals(List.of(3), ids(index.buscar("mochila notebook", null, null, null, 10)));
+        assertTrue(index.buscar("mochila gamer", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void deveIgnorarPalavrasVazias() {
+        assertEquals(List.of(3), ids(index.buscar("mochila para o notebook", null, null, null, 10)));
+    }
+
+    @Test
+    void deveFiltrarPorCategoriaEPreco() {
+        assertEquals(List.of(3, 4), ids(index.buscar("notebook", 3, null, null, 10)).stream().sorted().toList());
+        assertEquals(List.of(4), ids(index.buscar("notebook", null, null, 180.0, 10)));
+        assertEquals(List.of(2), ids(index.buscar("notebook", null, 1000.0, null, 10)));
+        //sem texto, devolve o que passa nos filtros em ordem de nome
+        assertEquals(List.of(3, 4), ids(index.buscar("", 3, null, null, 10)));
+    }
+
+    @Test
+    void deveLimitarResultados() {
+        assertEquals(2, index.buscar("notebook", null, null, null, 2).size());
+    }
+
+    @Test
+    void deveAtualizarIncrementalmente() {
+        index.indexar(new ProdutoIndexado(2, "Ultrabook", "Tela de 14 polegadas", 6500.0, 2, 2));
+
+        assertFalse(ids(index.buscar("gamer", null, null, null, 10)).contains(2));
+        assertEquals(List.of(2), ids(index.buscar("ultrabook", null, null, null, 10)));
+
+        index.remover(2);
+
+        assertTrue(index.buscar("ultrabook", null, null, null, 10).isEmpty());
+        assertEquals(3, index.tamanho());
+    }
+
+    @Test
+    void deveAplicarEventosDeProduto() {
+        Categoria categoria = new Categoria();
+        categoria.setId(2);
+        Produto produto = new Produto();
+        produto.setId(9);
+        produto.setNome("Teclado mecânico");
+        produto.setPreco(300.0);
+        produto.setCategoria(categoria);
+
+        index.aoAlterarProduto(ProdutoAlteradoEvent.salvo(produto));
+        assertEquals(List.of(9), ids(index.buscar("mecanico", 2, null, null, 10)));
+
+        index.aoAlterarProduto(ProdutoAlteradoEvent.removido(9));
+        assertTrue(index.buscar("mecanico", null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void deveAplicarSoOsCamposDeUmaAtualizacaoParcial() {
+        Categoria categoria = new Categoria();
+        categoria.setId(2);
+        Produto produto = new Produto();
+        produto.setId(9);
+        produto.setNome("Teclado mecânico");
+        produto.setDescricao("Switches azuis");
+        produto.setPreco(300.0);
+        produto.setCategoria(categoria);
+        index.aoAlterarProduto(ProdutoAlteradoEvent.salvo(produto));
+
+        index.aoAtualizarProduto(new ProdutoAtualizadoEvent(9, Map.of("nome", "Teclado sem fio", "preco", 250.0)));
+
+        assertTrue(index.buscar("mecanico", null, null, null, 10).isEmpty());
+        assertEquals(List.of(9), ids(index.buscar("sem fio", 2, 200.0, 260.0, 10)));
+        assertEquals(List.of(9), ids(index.buscar("azuis", null, null, null, 10)));
+    }
+
+    @Test
+    void deveCarregarProdutosDoRepositorio() {
+        Produto produto = new Produto();
+        produto.setId(1);
+        produto.setNome("Monitor");
+        produto.setPreco(900.0);
+        when(produtoRepository.findAll()).thenReturn(List.of(produto));
+
+        index.carregar();
+
+        assertEquals(1, index.tamanho());
+        assertEquals(List.of(1), ids(index.buscar("monitor", null, null, null, 10)));
+    }
+
+    private static List<Integer> ids(List<ProdutoSearchIndex.Resultado> resultados) {
+        return resultados.stream().map(r -> r.produto().id()).toList();
+    }
+}
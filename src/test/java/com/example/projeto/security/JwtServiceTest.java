@@ -0,0 +1,73 @@
+package com.example.projeto.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String CHAVE_1 = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String CHAVE_2 = "c2VncmVkby1kZS10ZXN0ZS1jb20tbWFpcy1kZS0zMi1ieXRlcy0xMjM0NTY3ODk=";
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setup() {
+        userDetails = new User("joao@example.com", "123456", List.of(() -> "ROLE_USER"));
+    }
+
+    @Test
+    void deveGerarTokenComKidEJti() {
+        JwtService service = new JwtService(new JwtKeyRing(properties("k1", "k1", CHAVE_1)));
+
+        String token = service.generateToken(userDetails, "USER");
+        Claims claims = service.extractAllClaims(token);
+
+        assertEquals("joao@example.com", claims.getSubject());
+        assertEquals("USER", claims.get("role", String.class));
+        assertNotNull(claims.getId());
+        assertTrue(service.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    void deveValidarTokenAntigoAposRotacao() {
+        JwtService antes = new JwtService(new JwtKeyRing(properties("k1", "k1", CHAVE_1)));
+        String token = antes.generateToken(userDetails, "USER");
+
+        JwtProperties rotacionada = properties("k2", "k1", CHAVE_1);
+        rotacionada.getKeys().put("k2", CHAVE_2);
+        JwtService depois = new JwtService(new JwtKeyRing(rotacionada));
+
+        assertEquals("joao@example.com", depois.extractUsername(token));
+        assertEquals("joao@example.com", depois.extractUsername(depois.generateToken(userDetails, "USER")));
+    }
+
+    @Test
+    void deveRejeitarTokenDeChaveRemovida() {
+        String token = new JwtService(new JwtKeyRing(properties("k1", "k1", CHAVE_1)))
+                .generateToken(userDetails, "USER");
+
+        JwtService semChaveAntiga = new JwtService(new JwtKeyRing(properties("k2", "k2", CHAVE_2)));
+
+        assertThrows(JwtException.class, () -> semChaveAntiga.extractAllClaims(token));
+    }
+
+    @Test
+    void deveFalharSemChaveAtivaConfigurada() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(properties("k9", "k1", CHAVE_1)));
+    }
+
+    private static JwtProperties properties(String activeKid, String kid, String segredo) {
+        JwtProperties properties = new JwtProperties();
+        properties.setActiveKid(activeKid);
+        properties.getKeys().put(kid, segredo);
+        return properties;
+    }
+}
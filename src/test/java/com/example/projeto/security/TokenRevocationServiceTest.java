@@ -0,0 +1,68 @@
+package com.example.projeto.security;
+
+import com.example.projeto.model.TokenRevogado;
+import com.example.projeto.repository.TokenRevogadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevogadoRepository repository;
+
+    @InjectMocks
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void deveRevogarToken() {
+        service.revoke("jti-1", Instant.now().plusSeconds(600));
+
+        assertTrue(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked("jti-2"));
+        assertFalse(service.isRevoked(null));
+        verify(repository, times(1)).save(any(TokenRevogado.class));
+    }
+
+    @Test
+    void naoDeveRevogarTokenJaExpirado() {
+        service.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        assertFalse(service.isRevoked("jti-1"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void deveDescartarRevogacoesExpiradas() {
+        service.revoke("jti-1", Instant.now().plusSeconds(600));
+
+        service.prune(Instant.now().plusSeconds(601).toEpochMilli());
+
+        assertFalse(service.isRevoked("jti-1"));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void deveRecarregarRevogacoesDoBanco() {
+        when(repository.findByExpiracaoAfter(any(Instant.class)))
+                .thenReturn(List.of(new TokenRevogado("jti-outra-instancia", Instant.now().plusSeconds(600))));
+
+        service.reload();
+
+        assertTrue(service.isRevoked("jti-outra-instancia"));
+        verify(repository, times(1)).deleteExpirados(any(Instant.class));
+    }
+}
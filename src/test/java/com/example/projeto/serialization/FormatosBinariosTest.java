@@ -0,0 +1,62 @@
+package com.example.projeto.serialization;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatosBinariosTest {
+
+    private final FormatosBinarios formatos = new FormatosBinarios(Jackson2ObjectMapperBuilder.json());
+
+    @Test
+    void deveNegociarFormatoPeloAccept() {
+        assertEquals(FormatosBinarios.CBOR, FormatosBinarios.negociar("application/cbor"));
+        assertEquals(FormatosBinarios.SMILE, FormatosBinarios.negociar("application/x-jackson-smile"));
+        assertEquals(FormatosBinarios.SMILE,
+                FormatosBinarios.negociar("application/json;q=0.5, application/x-jackson-smile"));
+        assertNull(FormatosBinarios.negociar("application/json, application/cbor"));
+        assertNull(FormatosBinarios.negociar("*/*"));
+        assertNull(FormatosBinarios.negociar("application/cbor;q=0"));
+        assertNull(FormatosBinarios.negociar("text/html"));
+        assertNull(FormatosBinarios.negociar("não é um tipo"));
+        assertNull(FormatosBinarios.negociar(null));
+    }
+
+    @Test
+    void deveDistinguirETagPeloFormatoNegociado() {
+        assertEquals("produto-1-3", FormatosBinarios.etag("produto-1-3", null));
+        assertEquals("produto-1-3", FormatosBinarios.etag("produto-1-3", "application/json, application/cbor"));
+        assertEquals("produto-1-3-cbor", FormatosBinarios.etag("produto-1-3", "application/cbor"));
+        assertEquals("produto-1-3-smile", FormatosBinarios.etag("produto-1-3", FormatosBinarios.SMILE_VALUE));
+    }
+
+    @Test
+    void deveLerOQueEscreveEmCborESmile() throws Exception {
+        Categoria categoria = new Categoria();
+        categoria.setId(3);
+        Produto produto = new Produto();
+        produto.setId(7);
+        produto.setNome("Teclado mecânico");
+        produto.setPreco(349.9);
+        produto.setEstoque(12);
+        produto.setCategoria(categoria);
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(produto);
+        for (MediaType formato : new MediaType[]{FormatosBinarios.CBOR, FormatosBinarios.SMILE}) {
+            ObjectMapper mapper = formatos.mapper(formato);
+            byte[] binario = mapper.writeValueAsBytes(produto);
+            Produto lido = mapper.readValue(binario, Produto.class);
+
+            assertTrue(binario.length < json.length, formato.toString());
+            assertEquals("Teclado mecânico", lido.getNome());
+            assertEquals(349.9, lido.getPreco());
+            assertEquals(3, lido.getCategoria().getId());
+        }
+        assertThrows(IllegalArgumentException.class, () -> formatos.mapper(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.projeto.service;
+
+import com.example.projeto.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlteracaoParcialTest {
+
+    private static final Set<String> PERMITIDOS = Set.of("nome", "preco", "descricao", "estoque", "data");
+
+    @Test
+    void deveConverterSoOsCamposEnviadosNaOrdemDeclarada() {
+        Map<String, Object> corpo = new LinkedHashMap<>();
+        corpo.put("versao", 3);
+        corpo.put("estoque", 7);
+        corpo.put("preco", "19.9");
+        corpo.put("descricao", null);
+
+        AlteracaoParcial alteracao = AlteracaoParcial.de(corpo, PERMITIDOS)
+                .texto("nome", "nome", true, 255)
+                .numero("preco", "preco", true)
+                .texto("descricao", "descricao", false, 255)
+                .inteiro("estoque", "estoque_atual", false);
+
+        assertEquals(List.of("preco", "descricao", "estoque_atual"), List.copyOf(alteracao.colunas().keySet()));
+        assertEquals(19.9, alteracao.valores().get("preco"));
+        assertEquals(7, alteracao.valores().get("estoque"));
+        assertTrue(alteracao.valores().containsKey("descricao"));
+        assertNull(alteracao.valores().get("descricao"));
+    }
+
+    @Test
+    void deveRecusarCampoNaoAlteravelOuCorpoVazio() {
+        BusinessException desconhecido = assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.de(Map.of("id", 2), PERMITIDOS));
+        assertEquals("PAT002", desconhecido.getCodigo());
+
+        BusinessException vazio = assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.de(Map.of("versao", 1), PERMITIDOS));
+        assertEquals("PAT001", vazio.getCodigo());
+    }
+
+    @Test
+    void deveRecusarValorInvalidoOuNuloEmCampoObrigatorio() {
+        Map<String, Object> nulo = new HashMap<>();
+        nulo.put("nome", null);
+        assertEquals("PAT004", assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.de(nulo, PERMITIDOS).texto("nome", "nome", true, 255)).getCodigo());
+        assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.de(Map.of("preco", -1), PERMITIDOS).numero("preco", "preco", true));
+        assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.de(Map.of("estoque", 2.5), PERMITIDOS).inteiro("estoque", "estoque", false));
+        assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.de(Map.of("data", "31/01/2025"), PERMITIDOS).data("data", "data", true));
+        assertEquals(LocalDate.of(2025, 1, 31), AlteracaoParcial.de(Map.of("data", "2025-01-31"), PERMITIDOS)
+                .data("data", "data", true).valores().get("data"));
+    }
+
+    @Test
+    void deveLerAVersaoDoIfMatchOuDoCorpo() {
+        assertEquals(3, AlteracaoParcial.versao("\"produto-12-3\"", Map.of("versao", 9)));
+        assertEquals(4, AlteracaoParcial.versao("W/\"4\"", null));
+        assertEquals(9, AlteracaoParcial.versao(null, Map.of("versao", 9)));
+        assertEquals("PAT003", assertThrows(BusinessException.class,
+                () -> AlteracaoParcial.versao(null, Map.of("nome", "x"))).getCodigo());
+        assertThrows(BusinessException.class, () -> AlteracaoParcial.versao("\"*\"", null));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.projeto.service;
+
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.event.ProdutoAtualizadoEvent;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogoAlteracoesTest {
+
+    //envio na própria thread do teste
+    private final CatalogoAlteracoes feed = new CatalogoAlteracoes(3, 0, Runnable::run);
+
+    @Test
+    void deveEntregarAlteracoesAoVivoNaOrdemDaSequencia() {
+        Emissor emissor = new Emissor();
+        feed.assinar(null, emissor);
+
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.salvo(produto(7)));
+        feed.aoAtualizarProduto(new ProdutoAtualizadoEvent(7, Map.of("estoque", 3)));
+        feed.aoAlterarCategoria(CategoriaAlteradaEvent.removida(2));
+
+        assertEquals(List.of("produto", "produto", "categoria"), emissor.nomes);
+        assertEquals(List.of(1L, 2L, 3L), emissor.alteracoes.stream().map(CatalogoAlteracoes.Alteracao::sequencia).toList());
+        CatalogoAlteracoes.Alteracao salvo = emissor.alteracoes.get(0);
+        assertEquals(CatalogoAlteracoes.Tipo.ALTERADO, salvo.tipo());
+        assertEquals(7, salvo.id());
+        assertEquals(1, salvo.campos().get("categoriaId"));
+        assertEquals(Map.of("estoque", 3), emissor.alteracoes.get(1).campos());
+        assertEquals(CatalogoAlteracoes.Tipo.REMOVIDO, emissor.alteracoes.get(2).tipo());
+        assertNull(emissor.alteracoes.get(2).campos());
+    }
+
+    @Test
+    void deveReenviarSoAsPerdidasAPartirDoLastEventId() {
+        Emissor primeiro = new Emissor();
+        feed.assinar(null, primeiro);
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(1));
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(2));
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(3));
+
+        Emissor reconectado = new Emissor();
+        feed.assinar(primeiro.ids.get(0), reconectado);
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(4));
+
+        assertEquals(List.of(2, 3, 4), reconectado.alteracoes.stream().map(CatalogoAlteracoes.Alteracao::id).toList());
+        assertEquals(primeiro.ids.subList(1, 4), reconectado.ids);
+    }
+
+    @Test
+    void deveMandarResetQuandoOBufferJaDescartouOuOIdEDeOutraInstancia() {
+        Emissor primeiro = new Emissor();
+        feed.assinar(null, primeiro);
+        for (int id = 1; id <= 5; id++) {
+            feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(id));
+        }
+
+        Emissor atrasado = new Emissor();
+        feed.assinar(primeiro.ids.get(0), atrasado);
+        Emissor reiniciado = new Emissor();
+        feed.assinar("outra-3", reiniciado);
+
+        assertEquals(List.of("reset"), atrasado.nomes);
+        assertTrue(atrasado.alteracoes.isEmpty());
+        assertEquals(List.of(primeiro.ids.get(4)), atrasado.ids);
+        assertEquals(List.of("reset"), reiniciado.nomes);
+
+        //depois do reset segue ao vivo normalmente
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(6));
+        assertEquals(List.of(6), atrasado.alteracoes.stream().map(CatalogoAlteracoes.Alteracao::id).toList());
+    }
+
+    @Test
+    void deveRetirarAssinanteQueDesconectou() {
+        Emissor desconectado = new Emissor();
+        feed.assinar(null, desconectado);
+        desconectado.falhar = true;
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(1));
+
+        desconectado.falhar = false;
+        feed.aoAlterarProduto(ProdutoAlteradoEvent.removido(2));
+
+        assertTrue(desconectado.alteracoes.isEmpty());
+    }
+
+    @Test
+    void clienteLentoNaoSeguraOsOutrosEEDesconectadoAoPassarDoBuffer() throws Exception {
+        ExecutorService envio = Executors.newCachedThreadPool();
+        try {
+            CatalogoAlteracoes comThreads = new CatalogoAlteracoes(3, 0, envio);
+            Emissor lento = new Emissor();
+            lento.travado = new CountDownLatch(1);
+            Emissor rapido = new Emissor();
+            comThreads.assinar(null, lento);
+            comThreads.assinar(null, rapido);
+
+            //o lento está preso no envio do comentário inicial; o rápido recebe tudo mesmo assim
+            for (int id = 1; id <= 5; id++) {
+                comThreads.aoAlterarProduto(ProdutoAlteradoEvent.removido(id));
+                int recebidas = id;
+                aguardar(() -> rapido.alteracoes.size() == recebidas);
+            }
+            assertEquals(List.of(1, 2, 3, 4, 5), rapido.alteracoes.stream().map(CatalogoAlteracoes.Alteracao::id).toList());
+
+            //passou de 3 pendentes: ao voltar do envio preso a conexão é encerrada, sem mandar o resto
+            lento.travado.countDown();
+            aguardar(() -> lento.completo);
+            assertTrue(lento.alteracoes.isEmpty());
+            comThreads.aoAlterarProduto(ProdutoAlteradoEvent.removido(6));
+            aguardar(() -> rapido.alteracoes.size() == 6);
+            assertTrue(lento.alteracoes.isEmpty());
+        } finally {
+            envio.shutdownNow();
+        }
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        for (int tentativa = 0; tentativa < 100 && !condicao.getAsBoolean(); tentativa++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condicao.getAsBoolean(), "condição não atingida em 5 s");
+    }
+
+    private static Produto produto(int id) {
+        Categoria categoria = new Categoria();
+        categoria.setId(1);
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome("Cafeteira");
+        produto.setPreco(199.9);
+        produto.setEstoque(4);
+        produto.setCategoria(categoria);
+        return produto;
+    }
+
+    //guarda id, nome e dados de cada evento SSE em vez de escrever numa resposta
+    private static class Emissor extends SseEmitter {
+
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        final List<String> nomes = new CopyOnWriteArrayList<>();
+        final List<CatalogoAlteracoes.Alteracao> alteracoes = new CopyOnWriteArrayList<>();
+        volatile boolean falhar;
+        volatile boolean completo;
+        //simula um cliente que parou de ler: o envio fica preso até liberar
+        volatile CountDownLatch travado;
+
+        @Override
+        public void complete() {
+            completo = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            if (falhar) {
+                throw new IOException("conexão fechada");
+            }
+            if (travado != null) {
+                try {
+                    travado.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder texto = new StringBuilder();
+            for (var parte : evento.build()) {
+                if (parte.getData() instanceof CatalogoAlteracoes.Alteracao alteracao) {
+                    alteracoes.add(alteracao);
+                } else {
+                    texto.append(parte.getData());
+                }
+            }
+            for (String linha : texto.toString().split("\n")) {
+                if (linha.startsWith("id:")) {
+                    ids.add(linha.substring(3));
+                } else if (linha.startsWith("event:")) {
+                    nomes.add(linha.substring(6));
+                }
+            }
+        }
+    }
+}
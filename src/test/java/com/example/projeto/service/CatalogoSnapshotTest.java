@@ -0,0 +1,141 @@
+package com.example.projeto.service;
+
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.serialization.FormatosBinarios;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogoSnapshotTest {
+
+    @Mock
+    private ProdutoService produtoService;
+
+    @Mock
+    private CategoriaService categoriaService;
+
+    private CatalogoVersao catalogoVersao;
+    private CatalogoSnapshot snapshot;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        Categoria categoria = new Categoria();
+        categoria.setId(1);
+        categoria.setNome("Eletrônicos");
+        Produto produto = new Produto();
+        produto.setId(1);
+        produto.setNome("Smartphone");
+        produto.setPreco(1500.0);
+        produto.setCategoria(categoria);
+        when(produtoService.findAll()).thenReturn(List.of(produto));
+        when(categoriaService.findAll()).thenReturn(List.of(categoria));
+
+        catalogoVersao = new CatalogoVersao(0);
+        snapshot = new CatalogoSnapshot(produtoService, categoriaService, catalogoVersao, new ObjectMapper(),
+                new FormatosBinarios(Jackson2ObjectMapperBuilder.json()));
+    }
+
+    @Test
+    void deveSerializarUmaVezPorVersaoDoCatalogo() {
+        CatalogoSnapshot.Corpo primeiro = snapshot.produtos();
+        CatalogoSnapshot.Corpo segundo = snapshot.produtos();
+        snapshot.categorias();
+
+        assertSame(primeiro, segundo);
+        verify(produtoService, times(1)).findAll();
+        verify(categoriaService, times(1)).findAll();
+
+        catalogoVersao.incrementar();
+        assertNotSame(primeiro, snapshot.produtos());
+        verify(produtoService, times(2)).findAll();
+    }
+
+    @Test
+    void deveGerarJsonEGzipEquivalentes() throws IOException {
+        CatalogoSnapshot.Corpo corpo = snapshot.produtos();
+
+        String json = new String(corpo.json());
+        assertTrue(json.contains("\"nome\":\"Smartphone\""));
+        assertTrue(json.contains("\"categoria\":{\"id\":1}"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(corpo.gzip()))) {
+            assertArrayEquals(corpo.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void deveEscolherCorpoPeloAcceptEncoding() {
+        CatalogoSnapshot.Corpo corpo = snapshot.categorias();
+        CatalogoVersao.Versao versao = catalogoVersao.atual();
+
+        ResponseEntity<byte[]> comGzip = corpo.responder(versao, "deflate, gzip;q=0.8");
+        assertEquals("gzip", comGzip.getHeaders().getFirst("Content-Encoding"));
+        assertSame(corpo.gzip(), comGzip.getBody());
+
+        ResponseEntity<byte[]> semGzip = corpo.responder(versao, null);
+        assertNull(semGzip.getHeaders().getFirst("Content-Encoding"));
+        assertSame(corpo.json(), semGzip.getBody());
+        assertEquals("Accept-Encoding", semGzip.getHeaders().getFirst("Vary"));
+        assertEquals("\"" + versao.etag() + "\"", semGzip.getHeaders().getETag());
+        assertEquals("\"" + versao.etag() + "-gzip\"", comGzip.getHeaders().getETag());
+    }
+
+    @Test
+    void deveResponderEmFormatoBinarioPeloAccept() throws IOException {
+        CatalogoSnapshot.Corpo corpo = snapshot.produtos();
+        CatalogoVersao.Versao versao = catalogoVersao.atual();
+
+        ResponseEntity<byte[]> cbor = corpo.responder(versao, "application/cbor, application/json;q=0.5", "gzip");
+        assertEquals(FormatosBinarios.CBOR, cbor.getHeaders().getContentType());
+        assertNull(cbor.getHeaders().getFirst("Content-Encoding"));
+        assertSame(cbor.getBody(), corpo.binario(FormatosBinarios.CBOR));
+        assertEquals(new ObjectMapper().readTree(corpo.json()),
+                new ObjectMapper(new CBORFactory()).readTree(cbor.getBody()));
+        assertTrue(cbor.getHeaders().getVary().contains("Accept"));
+        assertEquals("\"" + versao.etag() + "-cbor\"", cbor.getHeaders().getETag());
+        assertEquals("\"" + versao.etag() + "-smile\"",
+                corpo.responder(versao, FormatosBinarios.SMILE_VALUE, null).getHeaders().getETag());
+
+        ResponseEntity<byte[]> json = corpo.responder(versao, "application/json, application/cbor", null);
+        assertSame(corpo.json(), json.getBody());
+        assertEquals("\"" + versao.etag() + "\"", json.getHeaders().getETag());
+    }
+
+    @Test
+    void deveInterpretarAcceptEncoding() {
+        assertTrue(CatalogoSnapshot.aceitaGzip("gzip"));
+        assertTrue(CatalogoSnapshot.aceitaGzip("br, GZIP"));
+        assertTrue(CatalogoSnapshot.aceitaGzip("*"));
+        assertFalse(CatalogoSnapshot.aceitaGzip("gzip;q=0"));
+        assertFalse(CatalogoSnapshot.aceitaGzip("identity, gzip; q=0.0"));
+        assertFalse(CatalogoSnapshot.aceitaGzip("br"));
+        assertFalse(CatalogoSnapshot.aceitaGzip(null));
+    }
+
+    @Test
+    void naoDeveGuardarSnapshotDentroDaJanelaDaReplica() {
+        CatalogoVersao comJanela = new CatalogoVersao(60_000);
+        comJanela.incrementar();
+        CatalogoSnapshot naJanela = new CatalogoSnapshot(produtoService, categoriaService, comJanela, new ObjectMapper(),
+                new FormatosBinarios(Jackson2ObjectMapperBuilder.json()));
+
+        naJanela.produtos();
+        naJanela.produtos();
+
+        verify(produtoService, times(2)).findAll();
+    }
+}
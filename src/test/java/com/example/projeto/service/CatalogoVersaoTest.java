@@ -0,0 +1,69 @@
+package com.example.projeto.service;
+
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogoVersaoTest {
+
+    @Test
+    void deveMudarETagACadaAlteracaoDoCatalogo() {
+        CatalogoVersao catalogoVersao = new CatalogoVersao(0);
+        CatalogoVersao.Versao inicial = catalogoVersao.atual();
+
+        catalogoVersao.aoAlterarProduto(ProdutoAlteradoEvent.removido(1));
+        CatalogoVersao.Versao depoisDoProduto = catalogoVersao.atual();
+        catalogoVersao.aoAlterarCategoria(CategoriaAlteradaEvent.removida(1));
+        CatalogoVersao.Versao depoisDaCategoria = catalogoVersao.atual();
+
+        assertNotEquals(inicial.etag(), depoisDoProduto.etag());
+        assertNotEquals(depoisDoProduto.etag(), depoisDaCategoria.etag());
+        assertEquals(depoisDaCategoria, catalogoVersao.atual());
+    }
+
+    @Test
+    void deveAvancarLastModifiedPeloMenosUmSegundoPorAlteracao() {
+        CatalogoVersao catalogoVersao = new CatalogoVersao(0);
+        long inicial = catalogoVersao.atual().ultimaAlteracao();
+
+        catalogoVersao.incrementar();
+        catalogoVersao.incrementar();
+
+        assertEquals(0, inicial % 1000);
+        assertTrue(catalogoVersao.atual().ultimaAlteracao() >= inicial + 2000);
+    }
+
+    @Test
+    void deveResponderNaoModificadoSoComETagAtual() {
+        CatalogoVersao catalogoVersao = new CatalogoVersao(0);
+        String etag = "\"" + catalogoVersao.atual().etag() + "\"";
+
+        assertTrue(catalogoVersao.atual().naoModificado(requisicao(etag)));
+        catalogoVersao.incrementar();
+        assertFalse(catalogoVersao.atual().naoModificado(requisicao(etag)));
+    }
+
+    @Test
+    void naoDevePublicarValidadorDentroDaJanelaDaReplica() {
+        CatalogoVersao catalogoVersao = new CatalogoVersao(60_000);
+        assertNotNull(catalogoVersao.atual().etag());
+
+        catalogoVersao.incrementar();
+
+        CatalogoVersao.Versao versao = catalogoVersao.atual();
+        assertNull(versao.etag());
+        assertFalse(versao.naoModificado(requisicao("*")));
+        assertNull(versao.ok().build().getHeaders().getETag());
+    }
+
+    private static ServletWebRequest requisicao(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/produtos");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
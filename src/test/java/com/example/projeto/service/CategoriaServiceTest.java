@@ -1,18 +1,27 @@
 package com.example.projeto.service;
 
+import com.example.projeto.dto.CategoriaResumoDTO;
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.ProdutoResumoDTO;
+import com.example.projeto.event.CategoriaAlteradaEvent;
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
 import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.ProdutoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class CategoriaServiceTest {
@@ -20,6 +29,12 @@ class CategoriaServiceTest {
     @Mock
     private CategoriaRepository categoriaRepository;
 
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -60,6 +75,7 @@ class CategoriaServiceTest {
         Categoria result = categoriaService.save(categoria);
         assertEquals("Eletrônicos", result.getNome());
         verify(categoriaRepository, times(1)).save(categoria);
+        verify(eventPublisher, times(1)).publishEvent(CategoriaAlteradaEvent.salva(categoria));
     }
 
     @Test
@@ -74,6 +90,7 @@ class CategoriaServiceTest {
         Categoria result = categoriaService.update(1, novaCategoria);
         assertEquals("Eletrodomésticos", result.getNome());
         verify(categoriaRepository, times(1)).save(categoria);
+        verify(eventPublisher, times(1)).publishEvent(CategoriaAlteradaEvent.salva(categoria));
     }
 
     @Test
@@ -83,5 +100,58 @@ class CategoriaServiceTest {
 
         categoriaService.delete(1);
         verify(categoriaRepository, times(1)).deleteById(1);
+        verify(eventPublisher, times(1)).publishEvent(CategoriaAlteradaEvent.removida(1));
+    }
+
+    @Test
+    void deveListarResumosDasCategorias() {
+        when(categoriaRepository.findResumos())
+                .thenReturn(List.of(new CategoriaResumoDTO(1, "Eletrônicos", "Categoria de eletrônicos", 3)));
+
+        List<CategoriaResumoDTO> result = categoriaService.findResumos();
+        assertEquals(3, result.get(0).getQuantidadeProdutos());
+    }
+
+    @Test
+    void devePaginarProdutosDaCategoria() {
+        when(categoriaRepository.existsById(1)).thenReturn(true);
+        when(produtoRepository.findByCategoriaIdAndIdGreaterThanOrderById(1, 0, Limit.of(3)))
+                .thenReturn(List.of(produto(4), produto(7), produto(9)));
+
+        PaginaDTO<ProdutoResumoDTO> pagina = categoriaService.findProdutos(1, null, 2);
+
+        assertEquals(List.of(4, 7), pagina.getItens().stream().map(ProdutoResumoDTO::getId).toList());
+        assertEquals("7", pagina.getProximoCursor());
+
+        when(produtoRepository.findByCategoriaIdAndIdGreaterThanOrderById(1, 7, Limit.of(3)))
+                .thenReturn(List.of(produto(9)));
+        PaginaDTO<ProdutoResumoDTO> ultima = categoriaService.findProdutos(1, "7", 2);
+
+        assertEquals(1, ultima.getItens().size());
+        assertNull(ultima.getProximoCursor());
+    }
+
+    @Test
+    void deveLancarExcecaoAoPaginarProdutosDeCategoriaInexistente() {
+        when(categoriaRepository.existsById(99)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> categoriaService.findProdutos(99, null, 20));
+        verifyNoInteractions(produtoRepository);
+    }
+
+    @Test
+    void deveRejeitarCursorInvalido() {
+        when(categoriaRepository.existsById(1)).thenReturn(true);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> categoriaService.findProdutos(1, "x", 20));
+        assertEquals("CAT002", ex.getCodigo());
+    }
+
+    private static Produto produto(Integer id) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome("Produto " + id);
+        produto.setPreco(10.0);
+        return produto;
     }
 }
@@ -54,13 +54,13 @@ class CupomServiceTest {
     @Test
     void deveListarCuponsAtivos() {
         cupom.setAtivo(true);
-        when(repository.findAll()).thenReturn(List.of(cupom));
+        when(repository.findByAtivoTrueAndValidadeAfter(LocalDate.now())).thenReturn(List.of(cupom));
 
         List<CupomDTO> result = service.findAllAtivos();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getCodigo()).isEqualTo("CUPOM10");
-        verify(repository, times(1)).findAll();
+        verify(repository, times(1)).findByAtivoTrueAndValidadeAfter(LocalDate.now());
     }
 
     @Test
@@ -74,6 +74,17 @@ class CupomServiceTest {
         verify(repository, times(1)).findById(1);
     }
 
+    @Test
+    void deveBuscarCupomPorCodigo() {
+        when(repository.findByCodigo("CUPOM10")).thenReturn(Optional.of(cupom));
+
+        Optional<CupomDTO> result = service.findByCodigo("CUPOM10");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(1);
+        verify(repository, times(1)).findByCodigo("CUPOM10");
+    }
+
     @Test
     void deveAtualizarCupom() {
         when(repository.findById(1)).thenReturn(Optional.of(cupom));
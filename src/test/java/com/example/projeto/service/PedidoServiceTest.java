@@ -1,8 +1,14 @@
 package com.example.projeto.service;
 
+import com.example.projeto.dto.PaginaDTO;
+import com.example.projeto.dto.PedidoDTO;
+import com.example.projeto.event.PedidoCriadoEvent;
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Pedido;
 import com.example.projeto.model.Produto;
 import com.example.projeto.model.User;
+import com.example.projeto.observability.BusinessMetrics;
+import com.example.projeto.outbox.OutboxPedidos;
 import com.example.projeto.repository.PedidoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class PedidoServiceTest {
@@ -24,6 +31,15 @@ class PedidoServiceTest {
     @Mock
     private PedidoRepository pedidoRepository;
 
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxPedidos outboxPedidos;
+
     @InjectMocks
     private PedidoService pedidoService;
 
@@ -60,6 +76,16 @@ class PedidoServiceTest {
         verify(pedidoRepository, times(1)).findAll();
     }
 
+    @Test
+    void deveExportarPedidos() {
+        when(pedidoRepository.findAllParaExportacao()).thenReturn(List.of(pedido));
+
+        List<PedidoDTO> result = pedidoService.findAllParaExportacao();
+        assertEquals("João Silva", result.get(0).getCliente());
+        assertEquals(List.of("Produto 1"), result.get(0).getProdutos());
+        verify(pedidoRepository, times(1)).findAllParaExportacao();
+    }
+
     @Test
     void deveBuscarPedidoPorId() {
         when(pedidoRepository.findById(1)).thenReturn(Optional.of(pedido));
@@ -76,6 +102,9 @@ class PedidoServiceTest {
         Pedido result = pedidoService.save(pedido);
         assertEquals("João Silva", result.getCliente().getNome());
         verify(pedidoRepository, times(1)).save(pedido);
+        verify(businessMetrics, times(1)).pedidoCriado();
+        verify(outboxPedidos, times(1)).pedidoCriado(pedido);
+        verify(eventPublisher, times(1)).publishEvent(new PedidoCriadoEvent(1, List.of(1)));
     }
 
     @Test
@@ -108,4 +137,40 @@ class PedidoServiceTest {
         when(pedidoRepository.findById(2)).thenReturn(Optional.empty());
         assertThrows(EntityNotFoundException.class, () -> pedidoService.findById(2));
     }
+
+    @Test
+    void deveListarPrimeiraPaginaDoClienteComCursor() {
+        Pedido anterior = new Pedido();
+        anterior.setId(2);
+        anterior.setCliente(cliente);
+        anterior.setProdutos(List.of(produto));
+        anterior.setData(LocalDate.of(2026, 1, 10));
+        when(pedidoRepository.findPrimeiraPaginaDoCliente(1L, Limit.of(2))).thenReturn(List.of(pedido, anterior));
+
+        PaginaDTO<PedidoDTO> pagina = pedidoService.findPaginaDoCliente(1L, null, 1);
+
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(1, pagina.getItens().get(0).getId());
+        assertNotNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void deveContinuarAPartirDoCursor() {
+        String cursor = new PedidoService.CursorPedido(LocalDate.of(2026, 1, 10), 7).codificar();
+        when(pedidoRepository.findPaginaDoClienteApos(1L, LocalDate.of(2026, 1, 10), 7, Limit.of(21)))
+                .thenReturn(List.of(pedido));
+
+        PaginaDTO<PedidoDTO> pagina = pedidoService.findPaginaDoCliente(1L, cursor, 20);
+
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+        verify(pedidoRepository, never()).findPrimeiraPaginaDoCliente(anyLong(), any());
+    }
+
+    @Test
+    void deveRejeitarCursorInvalido() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> pedidoService.findPaginaDoCliente(1L, "nao-e-um-cursor", 20));
+        assertEquals("PED003", ex.getCodigo());
+    }
 }
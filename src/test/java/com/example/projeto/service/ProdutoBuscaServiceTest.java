@@ -0,0 +1,108 @@
+package com.example.projeto.service;
+
+import com.example.projeto.dto.CatalogoFacetadoDTO;
+import com.example.projeto.dto.ProdutoBuscaDTO;
+import com.example.projeto.dto.SugestaoDTO;
+import com.example.projeto.exception.BusinessException;
+import com.example.projeto.search.AutocompleteTrie;
+import com.example.projeto.search.CatalogoFacetado;
+import com.example.projeto.search.FaixaPreco;
+import com.example.projeto.search.ProdutoAutocomplete;
+import com.example.projeto.search.ProdutoIndexado;
+import com.example.projeto.search.ProdutoSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ProdutoBuscaServiceTest {
+
+    @Mock
+    private ProdutoSearchIndex searchIndex;
+
+    @Mock
+    private ProdutoAutocomplete autocomplete;
+
+    @Mock
+    private CatalogoFacetado catalogoFacetado;
+
+    @InjectMocks
+    private ProdutoBuscaService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void deveConverterResultadosDoIndice() {
+        ProdutoIndexado produto = new ProdutoIndexado(1, "Notebook", "Leve", 4000.0, 5, 2);
+        when(searchIndex.buscar("note", 2, null, null, 20))
+                .thenReturn(List.of(new ProdutoSearchIndex.Resultado(produto, 1.5)));
+
+        List<ProdutoBuscaDTO> result = service.buscar("note", 2, null, null, 20);
+
+        assertEquals(1, result.size());
+        assertEquals("Notebook", result.get(0).getNome());
+        assertEquals(2, result.get(0).getCategoriaId());
+        assertEquals(1.5, result.get(0).getRelevancia());
+    }
+
+    @Test
+    void deveLimitarQuantidadeDeResultados() {
+        service.buscar("note", null, null, null, 5000);
+
+        verify(searchIndex, times(1)).buscar("note", null, null, null, 100);
+    }
+
+    @Test
+    void deveRejeitarFaixaDePrecoInvertida() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.buscar("note", null, 500.0, 100.0, 20));
+
+        assertEquals("PROD002", ex.getCodigo());
+        verify(searchIndex, never()).buscar(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveConverterSugestoesDoAutocomplete() {
+        when(autocomplete.sugerir("note", 5))
+                .thenReturn(List.of(new AutocompleteTrie.Sugestao(2, "Notebook Gamer", 7)));
+
+        List<SugestaoDTO> result = service.sugerir("note", 5);
+
+        assertEquals(List.of(new SugestaoDTO(2, "Notebook Gamer")), result);
+    }
+
+    @Test
+    void deveNavegarPeloCatalogoComCursor() {
+        ProdutoIndexado produto = new ProdutoIndexado(7, "Mochila", null, 200.0, 10, 3);
+        when(catalogoFacetado.navegar(new CatalogoFacetado.Filtro(List.of(3), null, true), 5, 1))
+                .thenReturn(new CatalogoFacetado.Resultado(List.of(produto), 7, 2, Map.of(3, 2),
+                        Map.of(FaixaPreco.DE_100_A_500, 2), 2, 0));
+
+        CatalogoFacetadoDTO result = service.navegar(List.of(3), null, true, "5", 1);
+
+        assertEquals("Mochila", result.getItens().get(0).getNome());
+        assertEquals("7", result.getProximoCursor());
+        assertEquals(2, result.getTotal());
+        assertEquals(Map.of(3, 2), result.getCategorias());
+    }
+
+    @Test
+    void deveRejeitarCursorDeNavegacaoInvalido() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.navegar(null, null, null, "abc", 20));
+
+        assertEquals("PROD003", ex.getCodigo());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.projeto.service;
+
+import com.example.projeto.dto.ImportacaoDTO;
+import com.example.projeto.exception.BusinessException;
+import com.example.projeto.model.Categoria;
+import com.example.projeto.model.Produto;
+import com.example.projeto.repository.CategoriaRepository;
+import com.example.projeto.repository.ProdutoRepository;
+import com.example.projeto.search.ProdutoSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//importação contra o banco de verdade: INSERT em lote com os ids gerados, blocos em transações próprias
+//e os índices de busca atualizados depois do commit
+@SpringBootTest
+class ProdutoImportacaoServiceTest {
+
+    @Autowired
+    private ProdutoImportacaoService importacaoService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ProdutoSearchIndex index;
+
+    @Autowired
+    private CatalogoVersao catalogoVersao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Categoria categoria;
+
+    @BeforeEach
+    void setup() {
+        categoria = new Categoria();
+        categoria.setNome("Importados");
+        categoria = categoriaRepository.save(categoria);
+    }
+
+    //o CacheManager do JCache é o mesmo para todos os contextos de teste, cada um com seu banco H2:
+    //os produtos lidos aqui não podem ficar no cache com ids que outro contexto vai reutilizar
+    @AfterEach
+    void limparCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void deveImportarJsonEListarErrosPorLinha() {
+        String corpo = """
+                [
+                  {"nome": "Chaleira Importada", "preco": 89.9, "estoque": 5, "categoriaId": %1$d},
+                  {"preco": 10, "categoriaId": %1$d},
+                  {"nome": "Torradeira Importada", "preco": "abc", "categoriaId": %1$d},
+                  {"nome": "Sanduicheira Importada", "preco": 120, "categoria": {"id": %1$d}},
+                  {"nome": "Fritadeira Importada", "preco": 300, "categoriaId": 999999},
+                  42
+                ]
+                """.formatted(categoria.getId());
+
+        ImportacaoDTO resultado = importacaoService.importarJson(corpo(corpo));
+
+        assertThat(resultado.getLinhas()).isEqualTo(6);
+        assertThat(resultado.getImportados()).isEqualTo(2);
+        assertThat(resultado.getRejeitados()).isEqualTo(4);
+        assertThat(resultado.isInterrompida()).isFalse();
+        assertThat(resultado.getErros()).extracting(ImportacaoDTO.ErroLinha::getLinha).containsExactly(2, 3, 5, 6);
+        assertThat(resultado.getErros().get(2).getMensagem()).contains("999999");
+
+        List<Produto> gravados = produtoRepository.findAll().stream()
+                .filter(p -> p.getCategoria().getId().equals(categoria.getId()))
+                .toList();
+        assertThat(gravados).extracting(Produto::getNome)
+                .containsExactlyInAnyOrder("Chaleira Importada", "Sanduicheira Importada");
+        assertThat(gravados).allSatisfy(p -> assertThat(p.getVersao()).isZero());
+        assertThat(index.buscar("chaleira importada", null, null, null, 10)).hasSize(1);
+    }
+
+    @Test
+    void deveImportarCsvComPontoEVirgulaAspasEVirgulaDecimal() {
+        String corpo = "\uFEFFnome;preco;descricao;estoque;categoria_id\r\n"
+                + "Panela Importada;149,90;\"Inox; 5 litros\ncom tampa\";3;" + categoria.getId() + "\r\n"
+                + "\r\n"
+                + "\"Frigideira \"\"Pro\"\" Importada\";59.5;;;" + categoria.getId() + "\r\n"
+                + "Wok Importada;;;;" + categoria.getId() + "\r\n";
+
+        ImportacaoDTO resultado = importacaoService.importarCsv(corpo(corpo), StandardCharsets.UTF_8);
+
+        assertThat(resultado.getImportados()).isEqualTo(2);
+        assertThat(resultado.getErros()).extracting(ImportacaoDTO.ErroLinha::getLinha).containsExactly(6);
+        Produto panela = produtoRepository.findAll().stream()
+                .filter(p -> p.getNome().equals("Panela Importada"))
+                .findFirst().orElseThrow();
+        assertThat(panela.getPreco()).isEqualTo(149.90);
+        assertThat(panela.getDescricao()).isEqualTo("Inox; 5 litros\ncom tampa");
+        assertThat(index.buscar("frigideira pro", null, null, null, 10))
+                .extracting(r -> r.produto().nome())
+                .containsExactly("Frigideira \"Pro\" Importada");
+    }
+
+    @Test
+    void deveGravarEmBlocosComUmaVersaoDoCatalogoPorBloco() {
+        int quantidade = ProdutoImportacaoService.TAMANHO_BLOCO * 2 + 500;
+        String corpo = IntStream.range(0, quantidade)
+                .mapToObj(i -> "Item Bloco " + i + "," + (i + 1) + ",," + i % 7 + "," + categoria.getId())
+                .collect(Collectors.joining("\n", "nome,preco,descricao,estoque,categoriaId\n", "\n"));
+        long versaoAntes = catalogoVersao.numero();
+
+        ImportacaoDTO resultado = importacaoService.importarCsv(corpo(corpo), StandardCharsets.UTF_8);
+
+        assertThat(resultado.getImportados()).isEqualTo(quantidade);
+        assertThat(resultado.getErros()).isEmpty();
+        assertThat(catalogoVersao.numero() - versaoAntes).isEqualTo(3);
+        assertThat(produtoRepository.findAll().stream()
+                .filter(p -> p.getCategoria().getId().equals(categoria.getId()))
+                .map(Produto::getId)
+                .distinct()
+                .count()).isEqualTo(quantidade);
+    }
+
+    @Test
+    void deveInterromperNoJsonMalformadoMantendoOQueFoiLido() {
+        String corpo = """
+                [{"nome": "Ventilador Importado", "preco": 199, "categoriaId": %1$d},
+                 {"nome": "Aquecedor Importado", "preco": 2
+                """.formatted(categoria.getId());
+
+        ImportacaoDTO resultado = importacaoService.importarJson(corpo(corpo));
+
+        assertThat(resultado.isInterrompida()).isTrue();
+        assertThat(resultado.getImportados()).isEqualTo(1);
+        assertThat(resultado.getErros()).singleElement()
+                .satisfies(erro -> assertThat(erro.getLinha()).isEqualTo(2));
+    }
+
+    @Test
+    void deveRejeitarCorpoSemArrayOuCsvSemColunasObrigatorias() {
+        assertThatThrownBy(() -> importacaoService.importarJson(corpo("{\"nome\": \"x\"}")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("array");
+        assertThatThrownBy(() -> importacaoService.importarCsv(corpo("nome,descricao\nx,y\n"), StandardCharsets.UTF_8))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("preco");
+    }
+
+    @Test
+    void deveLerCsvNoCharsetInformado() {
+        Charset latin1 = StandardCharsets.ISO_8859_1;
+        String corpo = "nome,preco,categoriaId\nCafeteira Elétrica Importada,250," + categoria.getId() + "\n";
+
+        ImportacaoDTO resultado = importacaoService.importarCsv(new ByteArrayInputStream(corpo.getBytes(latin1)), latin1);
+
+        assertThat(resultado.getImportados()).isEqualTo(1);
+        assertThat(index.buscar("cafeteira eletrica importada", null, null, null, 10))
+                .extracting(r -> r.produto().nome())
+                .containsExactly("Cafeteira Elétrica Importada");
+    }
+
+    private static InputStream corpo(String corpo) {
+        return new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.projeto.service;
 
+import com.example.projeto.dto.LoteDTO;
+import com.example.projeto.event.ProdutoAlteradoEvent;
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.Categoria;
 import com.example.projeto.model.Produto;
 import com.example.projeto.repository.ProdutoRepository;
@@ -9,11 +12,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class ProdutoServiceTest {
@@ -21,6 +28,9 @@ class ProdutoServiceTest {
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProdutoService produtoService;
 
@@ -69,6 +79,7 @@ class ProdutoServiceTest {
         Produto result = produtoService.save(produto);
         assertEquals("Smartphone", result.getNome());
         verify(produtoRepository, times(1)).save(produto);
+        verify(eventPublisher, times(1)).publishEvent(ProdutoAlteradoEvent.salvo(produto));
     }
 
     @Test
@@ -86,6 +97,7 @@ class ProdutoServiceTest {
         Produto result = produtoService.update(1, novoProduto);
         assertEquals("Smartphone Atualizado", result.getNome());
         verify(produtoRepository, times(1)).save(produto);
+        verify(eventPublisher, times(1)).publishEvent(ProdutoAlteradoEvent.salvo(produto));
     }
 
     @Test
@@ -95,5 +107,42 @@ class ProdutoServiceTest {
 
         produtoService.delete(1);
         verify(produtoRepository, times(1)).deleteById(1);
+        verify(eventPublisher, times(1)).publishEvent(ProdutoAlteradoEvent.removido(1));
+    }
+
+    @Test
+    void deveBuscarLoteNaOrdemPedidaComOsIdsNaoEncontrados() {
+        Produto outro = new Produto();
+        outro.setId(3);
+        when(produtoRepository.findAllById(List.of(3, 1, 2))).thenReturn(List.of(produto, outro));
+
+        LoteDTO<Produto> lote = produtoService.findLote(Arrays.asList(3, 1, null, 3, 2));
+
+        assertEquals(List.of(outro, produto), lote.getItens());
+        assertEquals(List.of(2), lote.getNaoEncontrados());
+        verify(produtoRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void deveDividirLoteGrandeEmBlocos() {
+        List<Integer> ids = IntStream.rangeClosed(1, 1_200).boxed().toList();
+        when(produtoRepository.findAllById(any())).thenReturn(List.of());
+
+        LoteDTO<Produto> lote = produtoService.findLote(ids);
+
+        assertEquals(ids, lote.getNaoEncontrados());
+        verify(produtoRepository).findAllById(ids.subList(0, 500));
+        verify(produtoRepository).findAllById(ids.subList(500, 1_000));
+        verify(produtoRepository).findAllById(ids.subList(1_000, 1_200));
+    }
+
+    @Test
+    void deveRecusarLoteVazioOuGrandeDemais() {
+        assertEquals("LOTE001", assertThrows(BusinessException.class, () -> produtoService.findLote(List.of()))
+                .getCodigo());
+        List<Integer> demais = IntStream.rangeClosed(1, BuscaEmLote.MAXIMO_IDS + 1).boxed().toList();
+        assertEquals("LOTE002", assertThrows(BusinessException.class, () -> produtoService.findLote(demais))
+                .getCodigo());
+        verifyNoInteractions(produtoRepository);
     }
 }
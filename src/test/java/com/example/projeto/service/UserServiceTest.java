@@ -1,6 +1,8 @@
 package com.example.projeto.service;
 
+import com.example.projeto.exception.BusinessException;
 import com.example.projeto.model.User;
+import com.example.projeto.repository.AtualizacaoParcialRepository;
 import com.example.projeto.repository.UserRepository;
 import com.example.projeto.security.Role;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,8 +11,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +26,9 @@ class UserServiceTest {
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private AtualizacaoParcialRepository atualizacaoParcialRepository;
+
     @InjectMocks
     private UserService service;
 
@@ -96,4 +103,18 @@ class UserServiceTest {
         assertEquals("Maria", encontrado.getNome());
         verify(repository, times(1)).findById(1L);
     }
+
+    @Test
+    void deveAlterarSoOsCamposEnviadosERecusarEmailRepetido() {
+        when(atualizacaoParcialRepository.atualizar(User.class, 1L, 2L, Map.of("nome", "Maria Souza")))
+                .thenReturn(AtualizacaoParcialRepository.Resultado.ATUALIZADO);
+        when(atualizacaoParcialRepository.atualizar(User.class, 1L, 3L, Map.of("email", "joao@example.com")))
+                .thenThrow(new DataIntegrityViolationException("uk_users_email"));
+
+        assertEquals(3L, service.patch(1L, "\"usuario-1-2\"", Map.of("nome", "Maria Souza")));
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> service.patch(1L, null, Map.of("versao", 3, "email", "joao@example.com")));
+        assertEquals("USR003", erro.getCodigo());
+        verify(repository, never()).findById(any());
+    }
 }